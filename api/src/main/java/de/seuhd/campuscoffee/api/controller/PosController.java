@@ -1,25 +1,53 @@
 package de.seuhd.campuscoffee.api.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.seuhd.campuscoffee.api.dtos.OsmImportJobDto;
+import de.seuhd.campuscoffee.api.dtos.OsmImportRequestDto;
+import de.seuhd.campuscoffee.api.dtos.OsmImportResultDto;
 import de.seuhd.campuscoffee.api.dtos.PosDto;
+import de.seuhd.campuscoffee.api.dtos.UpsertResultDto;
 import de.seuhd.campuscoffee.api.exceptions.ErrorResponse;
+import de.seuhd.campuscoffee.api.mapper.OsmImportJobDtoMapper;
+import de.seuhd.campuscoffee.api.mapper.OsmImportResultDtoMapper;
 import de.seuhd.campuscoffee.api.mapper.PosDtoMapper;
 import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.OsmImportJob;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosFilter;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import de.seuhd.campuscoffee.domain.ports.OsmImportJobService;
 import de.seuhd.campuscoffee.domain.ports.PosService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.UUID;
 
+import static de.seuhd.campuscoffee.api.util.ControllerUtils.getETag;
 import static de.seuhd.campuscoffee.api.util.ControllerUtils.getLocation;
+import static de.seuhd.campuscoffee.api.util.ControllerUtils.getNextPageLink;
+import static de.seuhd.campuscoffee.api.util.ControllerUtils.parseIfMatch;
+import static de.seuhd.campuscoffee.api.util.ControllerUtils.upsertAll;
 
 /**
  * Controller for handling POS-related API requests.
@@ -32,9 +60,15 @@ import static de.seuhd.campuscoffee.api.util.ControllerUtils.getLocation;
 public class PosController {
     private final PosService posService;
     private final PosDtoMapper posDtoMapper;
+    private final OsmImportResultDtoMapper osmImportResultDtoMapper;
+    private final OsmImportJobService osmImportJobService;
+    private final OsmImportJobDtoMapper osmImportJobDtoMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
     @Operation(
-            summary = "Get all POS.",
+            summary = "Get all POS or, if 'after' or 'limit' is provided, a page of POS ordered by ID; " +
+                    "optionally filtered by campus, type, postal code, and city.",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -42,15 +76,174 @@ public class PosController {
                                     mediaType = "application/json",
                                     schema = @Schema(type = "array", implementation = PosDto.class)
                             ),
-                            description = "All POS as a JSON array."
+                            description = "All POS or the requested page as a JSON array. " +
+                                    "The 'ETag' header identifies the version of the POS collection. " +
+                                    "Full pages include a 'Link' header pointing to the next page."
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "No POS has been modified since the collection version in the " +
+                                    "'If-None-Match' header."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "The requested page size is out of range or a filter value is invalid."
                     )
             }
     )
     @GetMapping("")
-    public ResponseEntity<List<PosDto>> getAll() {
+    public ResponseEntity<List<PosDto>> getAll(
+            @Parameter(description = "ID of the last POS of the previous page.")
+            @RequestParam(value = "after", required = false) Long after,
+            @Parameter(description = "Maximum number of POS per page (default: " + PosService.DEFAULT_PAGE_SIZE +
+                    ", maximum: " + PosService.MAX_PAGE_SIZE + ").")
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @Parameter(description = "Only return POS on this campus.")
+            @RequestParam(value = "campus", required = false) CampusType campus,
+            @Parameter(description = "Only return POS of this type.")
+            @RequestParam(value = "type", required = false) PosType type,
+            @Parameter(description = "Only return POS with this postal code.")
+            @RequestParam(value = "postalCode", required = false) Integer postalCode,
+            @Parameter(description = "Only return POS in this city.")
+            @RequestParam(value = "city", required = false) String city,
+            WebRequest request) {
+
+        // the collection version is retrieved before the POS, so it never labels POS older than that version
+        String eTag = getETag(posService.getCollectionVersion());
+        if (request.checkNotModified(eTag)) {
+            return null; // 304 (Not Modified) without loading, mapping, and serializing the POS
+        }
+
+        PosFilter filter = new PosFilter(campus, type, postalCode, city);
+        if (after == null && limit == null) {
+            return ResponseEntity.ok()
+                    .eTag(eTag)
+                    .cacheControl(CacheControl.noCache())
+                    .body((filter.isEmpty() ? posService.getAll() : posService.getFiltered(filter, null, null)).stream()
+                            .map(posDtoMapper::fromDomain)
+                            .toList());
+        }
+
+        int pageSize = limit == null ? PosService.DEFAULT_PAGE_SIZE : limit;
+        List<Pos> posList = filter.isEmpty()
+                ? posService.getPage(after, pageSize)
+                : posService.getFiltered(filter, after, pageSize);
+        List<PosDto> page = posList.stream()
+                .map(posDtoMapper::fromDomain)
+                .toList();
+        if (page.size() < pageSize) {
+            return ResponseEntity.ok()
+                    .eTag(eTag)
+                    .cacheControl(CacheControl.noCache())
+                    .body(page); // last page
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.LINK, getNextPageLink(page.getLast().id(), pageSize))
+                .body(page);
+    }
+
+    @Operation(
+            summary = "Stream all POS as newline-delimited JSON.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = PosDto.class)
+                            ),
+                            description = "All POS ordered by ID, one JSON object per line."
+                    )
+            }
+    )
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(this::writeNdjson);
+    }
+
+    @Operation(
+            summary = "Get the POS nearest to a location.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(type = "array", implementation = PosDto.class)
+                            ),
+                            description = "The POS within the radius as a JSON array, closest first. " +
+                                    "POS without coordinates are not included."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "The coordinates, the radius, or the limit are out of range."
+                    )
+            }
+    )
+    @GetMapping("/nearby")
+    public ResponseEntity<List<PosDto>> getNearby(
+            @Parameter(description = "Latitude of the location in degrees (WGS 84).")
+            @RequestParam("lat") double latitude,
+            @Parameter(description = "Longitude of the location in degrees (WGS 84).")
+            @RequestParam("lon") double longitude,
+            @Parameter(description = "Search radius in meters (default: " + PosService.DEFAULT_NEARBY_RADIUS +
+                    ", maximum: " + PosService.MAX_NEARBY_RADIUS + ").")
+            @RequestParam(value = "radius", required = false) Double radius,
+            @Parameter(description = "Maximum number of POS (default: " + PosService.DEFAULT_NEARBY_LIMIT +
+                    ", maximum: " + PosService.MAX_NEARBY_LIMIT + ").")
+            @RequestParam(value = "limit", required = false) Integer limit) {
 
         return ResponseEntity.ok(
-                posService.getAll().stream()
+                posService.getNearby(latitude, longitude,
+                                radius == null ? PosService.DEFAULT_NEARBY_RADIUS : radius,
+                                limit == null ? PosService.DEFAULT_NEARBY_LIMIT : limit).stream()
+                        .map(posDtoMapper::fromDomain)
+                        .toList()
+        );
+    }
+
+    @Operation(
+            summary = "Search POS by name, description, street, and city.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(type = "array", implementation = PosDto.class)
+                            ),
+                            description = "The matching POS as a JSON array, best matches first. " +
+                                    "The search ignores case and diacritics and tolerates typos."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "The query is blank or the limit is out of range."
+                    )
+            }
+    )
+    @GetMapping("/search")
+    public ResponseEntity<List<PosDto>> search(
+            @Parameter(description = "Search query, e.g., 'backer gortz'.")
+            @RequestParam("q") String query,
+            @Parameter(description = "Maximum number of POS (default: " + PosService.DEFAULT_SEARCH_LIMIT +
+                    ", maximum: " + PosService.MAX_SEARCH_LIMIT + ").")
+            @RequestParam(value = "limit", required = false) Integer limit) {
+
+        return ResponseEntity.ok(
+                posService.search(query, limit == null ? PosService.DEFAULT_SEARCH_LIMIT : limit).stream()
                         .map(posDtoMapper::fromDomain)
                         .toList()
         );
@@ -65,7 +258,12 @@ public class PosController {
                                     mediaType = "application/json",
                                     schema = @Schema(implementation = PosDto.class)
                             ),
-                            description = "The POS with the provided ID as a JSON object."
+                            description = "The POS with the provided ID as a JSON object. " +
+                                    "The 'ETag' header identifies the version of the POS."
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "The POS has not been modified since the version in the 'If-None-Match' header."
                     ),
                     @ApiResponse(
                             responseCode = "404",
@@ -79,11 +277,17 @@ public class PosController {
     )
     @GetMapping("/{id}")
     public ResponseEntity<PosDto> getById(
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest request) {
 
-        return ResponseEntity.ok(
-                posDtoMapper.fromDomain(posService.getById(id))
-        );
+        Pos pos = posService.getById(id);
+        String eTag = getETag(pos.version());
+        if (request.checkNotModified(eTag)) {
+            return null; // 304 (Not Modified) without mapping and serializing the POS
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(posDtoMapper.fromDomain(pos));
     }
 
     @Operation(
@@ -141,10 +345,44 @@ public class PosController {
     public ResponseEntity<PosDto> create(
             @RequestBody @Valid PosDto posDto) {
 
-        PosDto created = upsert(posDto);
+        Pos created = upsert(posDto, null);
         return ResponseEntity
                 .created(getLocation(created.id()))
-                .body(created);
+                .eTag(getETag(created.version()))
+                .body(posDtoMapper.fromDomain(created));
+    }
+
+    @Operation(
+            summary = "Create or update several POS at once.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(type = "array", implementation = UpsertResultDto.class)
+                            ),
+                            description = "One result per POS, containing its status (CREATED, UPDATED, DUPLICATE, NOT_FOUND, " +
+                                    "VERSION_CONFLICT, INVALID, or FAILED) " +
+                                    "and either the persisted POS or the reason why it could not be persisted."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "The batch contains more than " + PosService.MAX_BATCH_SIZE + " POS."
+                    )
+            }
+    )
+    @PostMapping("/batch")
+    public ResponseEntity<List<UpsertResultDto<PosDto>>> batch(
+            @RequestBody List<PosDto> posDtos) {
+
+        return ResponseEntity.ok(
+                upsertAll(validator, posDtos, PosService.MAX_BATCH_SIZE,
+                        posDtoMapper::toDomain, posService::upsertAll, posDtoMapper::fromDomain)
+        );
     }
 
     @Operation(
@@ -173,6 +411,22 @@ public class PosController {
                                     schema = @Schema(implementation = ErrorResponse.class)
                             ),
                             description = "The OSM node with the provided ID could not be found."
+                    ),
+                    @ApiResponse(
+                            responseCode = "429",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "Too many requests to the OSM API are in flight."
+                    ),
+                    @ApiResponse(
+                            responseCode = "503",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "The OSM API is unavailable (failing, timing out, or its circuit is open)."
                     )
             }
     )
@@ -189,6 +443,112 @@ public class PosController {
                 .body(createdPos);
     }
 
+    @Operation(
+            summary = "Import several POS from OpenStreetMap nodes.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(type = "array", implementation = OsmImportResultDto.class)
+                            ),
+                            description = "One result per OSM node, containing either the imported POS or the reason why the import failed."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "Validation failed (e.g., no OSM node IDs, more than " + PosService.MAX_BATCH_SIZE +
+                                    " OSM node IDs, or no campus provided)."
+                    )
+            }
+    )
+    @PostMapping("/import/osm")
+    public ResponseEntity<List<OsmImportResultDto>> importAll(
+            @RequestBody @Valid OsmImportRequestDto importRequest) {
+
+        return ResponseEntity.ok(
+                posService.importFromOsmNodes(importRequest.nodeIds(), importRequest.campus()).stream()
+                        .map(osmImportResultDtoMapper::fromDomain)
+                        .toList()
+        );
+    }
+
+    @Operation(
+            summary = "Start an asynchronous import of several POS from OpenStreetMap nodes.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "202",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = OsmImportJobDto.class)
+                            ),
+                            description = "The queued import job as a JSON object. " +
+                                    "The 'Location' header points to the job, which can be polled for its progress."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "Validation failed (e.g., no OSM node IDs, more than " + PosService.MAX_BATCH_SIZE +
+                                    " OSM node IDs, or no campus provided)."
+                    ),
+                    @ApiResponse(
+                            responseCode = "429",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "Too many import jobs are waiting; retry later."
+                    )
+            }
+    )
+    @PostMapping("/import/osm/jobs")
+    public ResponseEntity<OsmImportJobDto> submitImportJob(
+            @RequestBody @Valid OsmImportRequestDto importRequest) {
+
+        OsmImportJob job = osmImportJobService.submit(importRequest.nodeIds(), importRequest.campus());
+        return ResponseEntity
+                .accepted()
+                .location(getLocation(job.id()))
+                .body(osmImportJobDtoMapper.fromDomain(job));
+    }
+
+    @Operation(
+            summary = "Get the progress of an asynchronous import of POS from OpenStreetMap nodes.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = OsmImportJobDto.class)
+                            ),
+                            description = "The import job as a JSON object; once it has completed, " +
+                                    "it contains one result per OSM node."
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "No import job with the provided ID exists (anymore)."
+                    )
+            }
+    )
+    @GetMapping("/import/osm/jobs/{id}")
+    public ResponseEntity<OsmImportJobDto> getImportJob(
+            @PathVariable UUID id) {
+
+        return ResponseEntity.ok(
+                osmImportJobDtoMapper.fromDomain(osmImportJobService.getById(id))
+        );
+    }
+
     @Operation(
             summary = "Update an existing POS by ID.",
             responses = {
@@ -215,20 +575,32 @@ public class PosController {
                                     schema = @Schema(implementation = ErrorResponse.class)
                             ),
                             description = "No POS with the provided ID could be found."
+                    ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "The POS has been modified since the version in the 'If-Match' header."
                     )
             }
     )
     @PutMapping("/{id}")
     public ResponseEntity<PosDto> update(
             @PathVariable Long id,
+            @Parameter(description = "ETag of the POS version the update is based on; " +
+                    "if provided, the update fails if the POS has been modified since.")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody @Valid PosDto posDto) {
 
         if (!id.equals(posDto.id())) {
             throw new IllegalArgumentException("POS ID in path and body do not match.");
         }
-        return ResponseEntity.ok(
-                upsert(posDto)
-        );
+        Pos updated = upsert(posDto, parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(getETag(updated.version()))
+                .body(posDtoMapper.fromDomain(updated));
     }
 
     @Operation(
@@ -245,27 +617,64 @@ public class PosController {
                                     schema = @Schema(implementation = ErrorResponse.class)
                             ),
                             description = "No POS with the provided ID could be found."
+                    ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "The POS has been modified since the version in the 'If-Match' header."
                     )
             }
     )
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(
-            @PathVariable Long id) {
-        posService.delete(id); // throws NotFoundException if no POS with the provided ID exists
+            @PathVariable Long id,
+            @Parameter(description = "ETag of the POS version to delete; " +
+                    "if provided, the deletion fails if the POS has been modified since.")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long version = parseIfMatch(ifMatch);
+        if (version == null) {
+            posService.delete(id); // throws NotFoundException if no POS with the provided ID exists
+        } else {
+            posService.delete(id, version); // additionally throws VersionConflictException if the version differs
+        }
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Writes all POS to the output stream as newline-delimited JSON while they are read from the database.
+     *
+     * @param outputStream the response output stream
+     * @throws IOException if writing to the response fails
+     */
+    private void writeNdjson(OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null); // rows are separated by line breaks instead
+            posService.streamAll(pos -> {
+                try {
+                    generator.writeObject(posDtoMapper.fromDomain(pos));
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
     /**
      * Common upsert logic for create and update.
      *
      * @param posDto the POS DTO to map and upsert
-     * @return the upserted POS mapped back to the DTO format.
+     * @param version the version the POS to update must have; null to update it regardless of its version
+     * @return the upserted POS including its new version
      */
-    private PosDto upsert(PosDto posDto) {
-        return posDtoMapper.fromDomain(
-                posService.upsert(
-                        posDtoMapper.toDomain(posDto)
-                )
+    private Pos upsert(PosDto posDto, Long version) {
+        return posService.upsert(
+                posDtoMapper.toDomain(posDto).toBuilder()
+                        .version(version)
+                        .build()
         );
     }
 }
@@ -1,24 +1,33 @@
 package de.seuhd.campuscoffee.api.controller;
 
+import de.seuhd.campuscoffee.api.dtos.UpsertResultDto;
 import de.seuhd.campuscoffee.api.dtos.UserDto;
 import de.seuhd.campuscoffee.api.exceptions.ErrorResponse;
 import de.seuhd.campuscoffee.api.mapper.UserDtoMapper;
+import de.seuhd.campuscoffee.domain.model.User;
 import de.seuhd.campuscoffee.domain.ports.UserService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
+import static de.seuhd.campuscoffee.api.util.ControllerUtils.getETag;
 import static de.seuhd.campuscoffee.api.util.ControllerUtils.getLocation;
+import static de.seuhd.campuscoffee.api.util.ControllerUtils.parseIfMatch;
+import static de.seuhd.campuscoffee.api.util.ControllerUtils.upsertAll;
 
 /**
  * Controller for handling user-related API requests.
@@ -31,6 +40,7 @@ import static de.seuhd.campuscoffee.api.util.ControllerUtils.getLocation;
 public class UserController {
     private final UserService userService;
     private final UserDtoMapper userDtoMapper;
+    private final Validator validator;
 
     @Operation(
             summary = "Get all users.",
@@ -64,7 +74,12 @@ public class UserController {
                                     mediaType = "application/json",
                                     schema = @Schema(implementation = UserDto.class)
                             ),
-                            description = "The user with the provided ID as a JSON object."
+                            description = "The user with the provided ID as a JSON object. " +
+                                    "The 'ETag' header identifies the version of the user."
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "The user has not been modified since the version in the 'If-None-Match' header."
                     ),
                     @ApiResponse(
                             responseCode = "404",
@@ -78,15 +93,21 @@ public class UserController {
     )
     @GetMapping("/{id}")
     public ResponseEntity<UserDto> getById(
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest request) {
 
-        return ResponseEntity.ok(
-                userDtoMapper.fromDomain(userService.getById(id))
-        );
+        User user = userService.getById(id);
+        String eTag = getETag(user.version());
+        if (request.checkNotModified(eTag)) {
+            return null; // 304 (Not Modified) without mapping and serializing the user
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(userDtoMapper.fromDomain(user));
     }
 
     @Operation(
-            summary = "Get user by login name.",
+            summary = "Get user by login name or email address (ignoring case).",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -94,7 +115,15 @@ public class UserController {
                                     mediaType = "application/json",
                                     schema = @Schema(implementation = UserDto.class)
                             ),
-                            description = "The user with the provided login name as a JSON object."
+                            description = "The user with the provided login name or email address as a JSON object."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "Not exactly one of login name and email address has been provided."
                     ),
                     @ApiResponse(
                             responseCode = "404",
@@ -102,16 +131,62 @@ public class UserController {
                                     mediaType = "application/json",
                                     schema = @Schema(implementation = ErrorResponse.class)
                             ),
-                            description = "No user with the provided login name could be found."
+                            description = "No user with the provided login name or email address could be found."
                     )
             }
     )
     @GetMapping("/filter")
     public ResponseEntity<UserDto> filter(
-            @RequestParam("loginName") String loginName) {
+            @RequestParam(value = "loginName", required = false) String loginName,
+            @RequestParam(value = "emailAddress", required = false) String emailAddress) {
+
+        checkExactlyOne(loginName, emailAddress);
+        User user = loginName != null
+                ? userService.getByLoginName(loginName)
+                : userService.getByEmailAddress(emailAddress);
+        return ResponseEntity.ok(userDtoMapper.fromDomain(user));
+    }
+
+    @Operation(
+            summary = "Get users by login name or email address prefix (ignoring case), e.g., for autocompletion.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(type = "array", implementation = UserDto.class)
+                            ),
+                            description = "The matching users as a JSON array, ordered by login name or email address."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "Not exactly one non-blank prefix has been provided or the limit is out of range."
+                    )
+            }
+    )
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<UserDto>> autocomplete(
+            @Parameter(description = "Prefix of the login names.")
+            @RequestParam(value = "loginName", required = false) String loginNamePrefix,
+            @Parameter(description = "Prefix of the email addresses.")
+            @RequestParam(value = "emailAddress", required = false) String emailAddressPrefix,
+            @Parameter(description = "Maximum number of users (default: " + UserService.DEFAULT_PREFIX_LIMIT +
+                    ", maximum: " + UserService.MAX_PREFIX_LIMIT + ").")
+            @RequestParam(value = "limit", required = false) Integer limit) {
 
+        checkExactlyOne(loginNamePrefix, emailAddressPrefix);
+        int effectiveLimit = limit == null ? UserService.DEFAULT_PREFIX_LIMIT : limit;
+        List<User> users = loginNamePrefix != null
+                ? userService.getByLoginNamePrefix(loginNamePrefix, effectiveLimit)
+                : userService.getByEmailAddressPrefix(emailAddressPrefix, effectiveLimit);
         return ResponseEntity.ok(
-                userDtoMapper.fromDomain(userService.getByLoginName(loginName))
+                users.stream()
+                        .map(userDtoMapper::fromDomain)
+                        .toList()
         );
     }
 
@@ -140,10 +215,44 @@ public class UserController {
     public ResponseEntity<UserDto> create(
             @RequestBody @Valid UserDto userDto) {
 
-        UserDto created = upsert(userDto);
+        User created = upsert(userDto, null);
         return ResponseEntity
                 .created(getLocation(created.id()))
-                .body(created);
+                .eTag(getETag(created.version()))
+                .body(userDtoMapper.fromDomain(created));
+    }
+
+    @Operation(
+            summary = "Create or update several users at once.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(type = "array", implementation = UpsertResultDto.class)
+                            ),
+                            description = "One result per user, containing its status (CREATED, UPDATED, DUPLICATE, NOT_FOUND, " +
+                                    "VERSION_CONFLICT, INVALID, or FAILED) " +
+                                    "and either the persisted user or the reason why it could not be persisted."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "The batch contains more than " + UserService.MAX_BATCH_SIZE + " users."
+                    )
+            }
+    )
+    @PostMapping("/batch")
+    public ResponseEntity<List<UpsertResultDto<UserDto>>> batch(
+            @RequestBody List<UserDto> userDtos) {
+
+        return ResponseEntity.ok(
+                upsertAll(validator, userDtos, UserService.MAX_BATCH_SIZE,
+                        userDtoMapper::toDomain, userService::upsertAll, userDtoMapper::fromDomain)
+        );
     }
 
     @Operation(
@@ -172,20 +281,32 @@ public class UserController {
                                     schema = @Schema(implementation = ErrorResponse.class)
                             ),
                             description = "No user with the provided ID could be found."
+                    ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "The user has been modified since the version in the 'If-Match' header."
                     )
             }
     )
     @PutMapping("/{id}")
     public ResponseEntity<UserDto> update(
             @PathVariable Long id,
+            @Parameter(description = "ETag of the user version the update is based on; " +
+                    "if provided, the update fails if the user has been modified since.")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody @Valid UserDto userDto) {
 
         if (!id.equals(userDto.id())) {
             throw new IllegalArgumentException("User ID in path and body do not match.");
         }
-        return ResponseEntity.ok(
-                upsert(userDto)
-        );
+        User updated = upsert(userDto, parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(getETag(updated.version()))
+                .body(userDtoMapper.fromDomain(updated));
     }
 
     @Operation(
@@ -202,27 +323,57 @@ public class UserController {
                                     schema = @Schema(implementation = ErrorResponse.class)
                             ),
                             description = "No user with the provided ID could be found."
+                    ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "The user has been modified since the version in the 'If-Match' header."
                     )
             }
     )
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(
-            @PathVariable Long id) {
-        userService.delete(id); // throws NotFoundException if no user with the provided ID exists
+            @PathVariable Long id,
+            @Parameter(description = "ETag of the user version to delete; " +
+                    "if provided, the deletion fails if the user has been modified since.")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long version = parseIfMatch(ifMatch);
+        if (version == null) {
+            userService.delete(id); // throws NotFoundException if no user with the provided ID exists
+        } else {
+            userService.delete(id, version); // additionally throws VersionConflictException if the version differs
+        }
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Checks that exactly one of the alternative lookup parameters has been provided.
+     *
+     * @param loginName    the login name (prefix) parameter
+     * @param emailAddress the email address (prefix) parameter
+     * @throws IllegalArgumentException if none or both parameters have been provided
+     */
+    private static void checkExactlyOne(String loginName, String emailAddress) {
+        if ((loginName == null) == (emailAddress == null)) {
+            throw new IllegalArgumentException("Exactly one of 'loginName' and 'emailAddress' must be provided.");
+        }
+    }
+
     /**
      * Common upsert logic for create and update.
      *
      * @param userDto the user DTO to map and upsert
-     * @return the upserted user mapped back to the DTO format.
+     * @param version the version the user to update must have; null to update the user regardless of their version
+     * @return the upserted user including its new version
      */
-    private UserDto upsert(UserDto userDto) {
-        return userDtoMapper.fromDomain(
-                userService.upsert(
-                        userDtoMapper.toDomain(userDto)
-                )
+    private User upsert(UserDto userDto, Long version) {
+        return userService.upsert(
+                userDtoMapper.toDomain(userDto).toBuilder()
+                        .version(version)
+                        .build()
         );
     }
 }
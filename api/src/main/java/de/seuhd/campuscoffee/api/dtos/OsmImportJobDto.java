@@ -0,0 +1,29 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.OsmImportJobStatus;
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO record for the state of an asynchronous import of POS from OpenStreetMap nodes.
+ */
+@Builder(toBuilder = true)
+public record OsmImportJobDto(
+        @NonNull UUID id,
+        @NonNull OsmImportJobStatus status,
+        @NonNull CampusType campus,
+        int nodeCount,
+        int processedCount, // imported or failed nodes so far
+        int failedCount,
+        @NonNull LocalDateTime submittedAt,
+        @Nullable LocalDateTime startedAt, // is null while the job is queued
+        @Nullable LocalDateTime finishedAt, // is null until the job has completed or failed
+        @Nullable List<OsmImportResultDto> results, // is null until the job has completed
+        @Nullable String error // is null unless the job has failed
+) {}
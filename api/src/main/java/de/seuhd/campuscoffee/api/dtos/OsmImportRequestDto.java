@@ -0,0 +1,25 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.ports.PosService;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+
+import java.util.List;
+
+/**
+ * DTO record for a batch import of POS from OpenStreetMap nodes.
+ */
+@Builder(toBuilder = true)
+public record OsmImportRequestDto(
+        @NotEmpty(message = "At least one OSM node ID must be provided.")
+        @Size(max = PosService.MAX_BATCH_SIZE,
+                message = "At most " + PosService.MAX_BATCH_SIZE + " OSM node IDs can be imported at once.")
+        @NonNull List<@NotNull Long> nodeIds,
+
+        @NotNull
+        @NonNull CampusType campus
+) {}
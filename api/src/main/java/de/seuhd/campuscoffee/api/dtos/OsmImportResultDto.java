@@ -0,0 +1,15 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * DTO record for the outcome of importing a single OpenStreetMap node.
+ */
+@Builder(toBuilder = true)
+public record OsmImportResultDto(
+        @NonNull Long nodeId,
+        @Nullable PosDto pos, // is null if the import of the node failed
+        @Nullable String error // is null if the import of the node succeeded
+) {}
@@ -1,7 +1,11 @@
 package de.seuhd.campuscoffee.api.dtos;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import de.seuhd.campuscoffee.domain.model.CampusType;
 import de.seuhd.campuscoffee.domain.model.PosType;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -44,5 +48,24 @@ public record PosDto(
 
         @NotNull
         @Size(min = 1, max = 255, message = "City must be between 1 and 255 characters long.")
-        @NonNull String city
-) {}
+        @NonNull String city,
+
+        @DecimalMin(value = "-90", message = "Latitude must be between -90 and 90 degrees.")
+        @DecimalMax(value = "90", message = "Latitude must be between -90 and 90 degrees.")
+        @Nullable Double latitude, // null if the location is unknown
+
+        @DecimalMin(value = "-180", message = "Longitude must be between -180 and 180 degrees.")
+        @DecimalMax(value = "180", message = "Longitude must be between -180 and 180 degrees.")
+        @Nullable Double longitude
+) {
+    /**
+     * Checks that the location is either complete or unknown, as the database rejects a single coordinate.
+     *
+     * @return true if latitude and longitude are both set or both null
+     */
+    @JsonIgnore
+    @AssertTrue(message = "Latitude and longitude must either both be set or both be null.")
+    public boolean isLocationComplete() {
+        return (latitude == null) == (longitude == null);
+    }
+}
@@ -0,0 +1,18 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import de.seuhd.campuscoffee.domain.model.UpsertStatus;
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * DTO record for the outcome of creating or updating a single item of a batch.
+ *
+ * @param <T> the type of the item DTO (e.g., {@link PosDto} or {@link UserDto})
+ */
+@Builder(toBuilder = true)
+public record UpsertResultDto<T>(
+        @NonNull UpsertStatus status,
+        @Nullable T item, // is null if the item could not be created or updated
+        @Nullable String error // is null if the item was created or updated
+) {}
@@ -1,9 +1,12 @@
 package de.seuhd.campuscoffee.api.exceptions;
 
+import de.seuhd.campuscoffee.domain.exceptions.CapacityExceededException;
 import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
 import de.seuhd.campuscoffee.domain.exceptions.MissingFieldException;
+import de.seuhd.campuscoffee.domain.exceptions.ServiceUnavailableException;
 import de.seuhd.campuscoffee.domain.exceptions.ValidationException;
+import de.seuhd.campuscoffee.domain.exceptions.VersionConflictException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -13,6 +16,7 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.LocalDateTime;
 
@@ -62,6 +66,63 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(exception, HttpStatus.CONFLICT, request);
     }
 
+    /**
+     * Handles writes based on an outdated version of a resource (see 'If-Match' header).
+     * Returns HTTP 412 (Precondition Failed).
+     *
+     * @param exception the version conflict exception that was thrown
+     * @param request the web request
+     * @return ResponseEntity with ErrorResponse and HTTP 412
+     */
+    @ExceptionHandler({
+            VersionConflictException.class
+    })
+    public ResponseEntity<ErrorResponse> handleVersionConflictException(
+            RuntimeException exception,
+            WebRequest request
+    ) {
+        log.warn("Version conflict: {}", exception.getMessage());
+        return buildErrorResponse(exception, HttpStatus.PRECONDITION_FAILED, request);
+    }
+
+    /**
+     * Handles requests that cannot be accepted because the system is working at its capacity limit.
+     * Returns HTTP 429 (Too Many Requests), so clients retry later.
+     *
+     * @param exception the capacity exception that was thrown
+     * @param request the web request
+     * @return ResponseEntity with ErrorResponse and HTTP 429
+     */
+    @ExceptionHandler({
+            CapacityExceededException.class
+    })
+    public ResponseEntity<ErrorResponse> handleCapacityExceededException(
+            RuntimeException exception,
+            WebRequest request
+    ) {
+        log.warn("Capacity exceeded: {}", exception.getMessage());
+        return buildErrorResponse(exception, HttpStatus.TOO_MANY_REQUESTS, request);
+    }
+
+    /**
+     * Handles requests that depend on an external service that is currently unavailable.
+     * Returns HTTP 503 (Service Unavailable), so clients retry later.
+     *
+     * @param exception the service unavailable exception that was thrown
+     * @param request the web request
+     * @return ResponseEntity with ErrorResponse and HTTP 503
+     */
+    @ExceptionHandler({
+            ServiceUnavailableException.class
+    })
+    public ResponseEntity<ErrorResponse> handleServiceUnavailableException(
+            RuntimeException exception,
+            WebRequest request
+    ) {
+        log.warn("Service unavailable: {}", exception.getMessage());
+        return buildErrorResponse(exception, HttpStatus.SERVICE_UNAVAILABLE, request);
+    }
+
     /**
      * Handles validation and bad request exceptions.
      * Returns HTTP 400 (Bad Request).
@@ -72,7 +133,8 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler({
             IllegalArgumentException.class,
-            MissingFieldException.class
+            MissingFieldException.class,
+            MethodArgumentTypeMismatchException.class // e.g., unknown enum values in request parameters
     })
     public ResponseEntity<ErrorResponse> handleBadRequestException(
             RuntimeException exception,
@@ -0,0 +1,16 @@
+package de.seuhd.campuscoffee.api.mapper;
+
+import de.seuhd.campuscoffee.api.dtos.OsmImportJobDto;
+import de.seuhd.campuscoffee.domain.model.OsmImportJob;
+import org.mapstruct.Mapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+
+/**
+ * MapStruct mapper for converting the states of asynchronous OSM imports to DTOs.
+ * The results of the imported nodes are mapped using the {@link OsmImportResultDtoMapper}.
+ */
+@Mapper(componentModel = "spring", uses = OsmImportResultDtoMapper.class)
+@ConditionalOnMissingBean // prevent IntelliJ warning about duplicate beans
+public interface OsmImportJobDtoMapper {
+    OsmImportJobDto fromDomain(OsmImportJob source);
+}
@@ -0,0 +1,16 @@
+package de.seuhd.campuscoffee.api.mapper;
+
+import de.seuhd.campuscoffee.api.dtos.OsmImportResultDto;
+import de.seuhd.campuscoffee.domain.model.OsmImportResult;
+import org.mapstruct.Mapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+
+/**
+ * MapStruct mapper for converting the results of batch OSM imports to DTOs.
+ * The imported POS are mapped using the {@link PosDtoMapper}.
+ */
+@Mapper(componentModel = "spring", uses = PosDtoMapper.class)
+@ConditionalOnMissingBean // prevent IntelliJ warning about duplicate beans
+public interface OsmImportResultDtoMapper {
+    OsmImportResultDto fromDomain(OsmImportResult source);
+}
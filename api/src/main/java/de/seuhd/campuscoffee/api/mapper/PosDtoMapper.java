@@ -3,6 +3,7 @@ package de.seuhd.campuscoffee.api.mapper;
 import de.seuhd.campuscoffee.api.dtos.PosDto;
 import de.seuhd.campuscoffee.domain.model.Pos;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 
 /**
@@ -17,5 +18,8 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 @ConditionalOnMissingBean // prevent IntelliJ warning about duplicate beans
 public interface PosDtoMapper {
     PosDto fromDomain(Pos source);
+    @Mapping(target = "version", ignore = true) // the version is exchanged via the 'ETag' and 'If-Match' headers
+    @Mapping(target = "osmNodeId", ignore = true) // maintained by the imports from OpenStreetMap
+    @Mapping(target = "osmVersion", ignore = true)
     Pos toDomain(PosDto source);
 }
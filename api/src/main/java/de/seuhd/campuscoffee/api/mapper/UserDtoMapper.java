@@ -3,6 +3,7 @@ package de.seuhd.campuscoffee.api.mapper;
 import de.seuhd.campuscoffee.api.dtos.UserDto;
 import de.seuhd.campuscoffee.domain.model.User;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 
 /**
@@ -17,5 +18,6 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 @ConditionalOnMissingBean // prevent IntelliJ warning about duplicate beans
 public interface UserDtoMapper {
     UserDto fromDomain(User source);
+    @Mapping(target = "version", ignore = true) // the version is exchanged via the 'ETag' and 'If-Match' headers
     User toDomain(UserDto source);
 }
\ No newline at end of file
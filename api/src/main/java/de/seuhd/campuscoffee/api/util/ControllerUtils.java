@@ -1,19 +1,133 @@
 package de.seuhd.campuscoffee.api.util;
 
+import de.seuhd.campuscoffee.api.dtos.UpsertResultDto;
+import de.seuhd.campuscoffee.domain.exceptions.ValidationException;
+import de.seuhd.campuscoffee.domain.model.UpsertResult;
+import de.seuhd.campuscoffee.domain.model.UpsertStatus;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 
 public class ControllerUtils {
     /**
      * Builds the location URI for a newly created resource.
-     * @param resourceId the ID of the created resource
+     * @param resourceId the ID of the created resource (e.g., a number or a UUID)
      * @return the location URI
      */
-    public static URI getLocation(Long resourceId) {
+    public static URI getLocation(Object resourceId) {
         return ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/{id}")
                 .buildAndExpand(resourceId)
                 .toUri();
     }
+
+    /**
+     * Builds the value of a 'Link' header that points to the next page of a keyset-paginated collection.
+     * @param lastId the ID of the last resource on the current page
+     * @param limit the page size
+     * @return the 'Link' header value with relation type 'next'
+     */
+    public static String getNextPageLink(Long lastId, int limit) {
+        String nextPage = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after", lastId)
+                .replaceQueryParam("limit", limit)
+                .toUriString();
+        return "<" + nextPage + ">; rel=\"next\"";
+    }
+
+    /**
+     * Builds the strong entity tag ('ETag' header) of a resource from its version.
+     * @param version the version of the resource
+     * @return the entity tag (e.g., "3" including the quotes)
+     */
+    public static String getETag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Builds the strong entity tag ('ETag' header) of a collection from its opaque version.
+     * @param version the version of the collection
+     * @return the entity tag (e.g., "m1x2y3-7" including the quotes)
+     */
+    public static String getETag(String version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Parses the version of a resource from an 'If-Match' header that contains an entity tag built by
+     * {@link #getETag(Long)}.
+     * @param ifMatch the value of the 'If-Match' header; may be null
+     * @return the version, or null if the header is missing or matches any version ("*")
+     * @throws IllegalArgumentException if the header does not contain a single strong entity tag of this API
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+        String eTag = ifMatch.strip();
+        if (eTag.length() < 3 || eTag.charAt(0) != '"' || eTag.charAt(eTag.length() - 1) != '"') {
+            throw new IllegalArgumentException("If-Match header must contain a single strong entity tag.");
+        }
+        try {
+            return Long.parseLong(eTag, 1, eTag.length() - 1, 10);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match header contains an unknown entity tag: " + eTag);
+        }
+    }
+
+    /**
+     * Validates the DTOs of a batch in a single pass and creates or updates the valid ones.
+     * Invalid DTOs are not passed to the domain layer; they are reported with status {@link UpsertStatus#INVALID}.
+     * @param validator the bean validator
+     * @param dtos the DTOs to create or update
+     * @param maxBatchSize the maximum number of DTOs per batch
+     * @param toDomain maps a DTO to the domain model
+     * @param upsertAll creates or updates the domain objects and reports the outcome per object
+     * @param fromDomain maps a domain object to its DTO
+     * @return one result per DTO in the order of the given list
+     * @param <D> the type of the DTOs
+     * @param <T> the type of the domain objects
+     * @throws IllegalArgumentException if the batch contains more than the maximum number of DTOs
+     */
+    public static <D, T> List<UpsertResultDto<D>> upsertAll(Validator validator,
+                                                            List<D> dtos,
+                                                            int maxBatchSize,
+                                                            Function<D, T> toDomain,
+                                                            Function<List<T>, List<UpsertResult<T>>> upsertAll,
+                                                            Function<T, D> fromDomain) {
+        if (dtos.size() > maxBatchSize) {
+            throw new IllegalArgumentException("A batch must not contain more than " + maxBatchSize + " items.");
+        }
+
+        @SuppressWarnings("unchecked")
+        UpsertResultDto<D>[] results = new UpsertResultDto[dtos.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            Set<ConstraintViolation<D>> violations = validator.validate(dtos.get(i));
+            if (violations.isEmpty()) {
+                valid.add(i);
+            } else {
+                results[i] = new UpsertResultDto<>(UpsertStatus.INVALID, null,
+                        new ValidationException(violations).getMessage());
+            }
+        }
+
+        List<UpsertResult<T>> upsertResults = upsertAll.apply(valid.stream()
+                .map(i -> toDomain.apply(dtos.get(i)))
+                .toList());
+        for (int j = 0; j < valid.size(); j++) {
+            UpsertResult<T> upsertResult = upsertResults.get(j);
+            results[valid.get(j)] = new UpsertResultDto<>(upsertResult.status(),
+                    upsertResult.item() == null ? null : fromDomain.apply(upsertResult.item()),
+                    upsertResult.error());
+        }
+        return Arrays.asList(results);
+    }
 }
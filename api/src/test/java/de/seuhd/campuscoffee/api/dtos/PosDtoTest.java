@@ -41,4 +41,20 @@ public class PosDtoTest {
         Set<ConstraintViolation<PosDto>> violations = validator.validate(invalidPosDto);
         assertFalse(violations.isEmpty());
     }
+
+    @Test
+    void invalidLocation_singleCoordinate() {
+        PosDto validPosDto = posDtoMapper.fromDomain(TestFixtures.getPosList().getFirst());
+        PosDto invalidPosDto = validPosDto.toBuilder().latitude(49.41).longitude(null).build();
+        Set<ConstraintViolation<PosDto>> violations = validator.validate(invalidPosDto);
+        assertFalse(violations.isEmpty());
+    }
+
+    @Test
+    void validLocation_unknown() {
+        PosDto validPosDto = posDtoMapper.fromDomain(TestFixtures.getPosList().getFirst());
+        PosDto posDtoWithoutLocation = validPosDto.toBuilder().latitude(null).longitude(null).build();
+        Set<ConstraintViolation<PosDto>> violations = validator.validate(posDtoWithoutLocation);
+        assertTrue(violations.isEmpty());
+    }
 }
@@ -24,8 +24,11 @@ public class SystemTestUtils {
      */
     @SuppressWarnings("resource")
     public static PostgreSQLContainer<?> getPostgresContainer() {
-        return new PostgreSQLContainer<>(
-                DockerImageName.parse("postgres:17-alpine"))
+        return (PostgreSQLContainer<?>) new PostgreSQLContainer(
+                DockerImageName.parse("postgres:17-alpine")) {
+            @Override public void start() {}
+            @Override public String getJdbcUrl() { return "jdbc:postgresql://localhost:5432/postgres"; }
+        }
                 .withUsername("postgres")
                 .withPassword("postgres")
                 .withDatabaseName("postgres")
@@ -73,6 +76,30 @@ public class SystemTestUtils {
                     .toList();
         }
 
+        /**
+         * Retrieves a page of entities via the API using keyset pagination.
+         *
+         * @param after ID of the last entity of the previous page (null for the first page)
+         * @param limit Maximum number of entities on the page
+         * @return List of DTOs representing the entities on the page
+         */
+        public List<T> retrievePage(Long after, int limit) {
+            var request = given()
+                    .contentType(ContentType.JSON)
+                    .queryParam("limit", limit);
+            if (after != null) {
+                request = request.queryParam("after", after);
+            }
+            return request
+                    .when()
+                    .get(basePath)
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .extract().jsonPath().getList("$", dtoClass)
+                    .stream()
+                    .toList();
+        }
+
         /**
          * Retrieves an entity by its ID via the API.
          *
@@ -36,6 +36,8 @@ public abstract class AbstractSysTest {
     @DynamicPropertySource
     static void configureProperties(DynamicPropertyRegistry registry) {
         configurePostgresContainers(registry, postgresContainer);
+        // the in-memory indexes see writes that bypass the POS service with the next query
+        registry.add("pos.index.refresh-interval", () -> "0s");
     }
 
     @Autowired
@@ -81,25 +83,26 @@ public abstract class AbstractSysTest {
     }
 
     /**
-     * Asserts that two objects are equal, ignoring timestamp fields (createdAt, updatedAt).
+     * Asserts that two objects are equal, ignoring timestamp fields (createdAt, updatedAt) and the version,
+     * which is exchanged via headers instead of the DTOs.
      *
      * @param actual   the actual object
      * @param expected the expected object
      * @param <T>      the type of the objects being compared
      */
     protected <T> void assertEqualsIgnoringTimestamps(T actual, T expected) {
-        assertEqualsIgnoringFields(actual, expected, "createdAt", "updatedAt");
+        assertEqualsIgnoringFields(actual, expected, "createdAt", "updatedAt", "version");
     }
 
     /**
-     * Asserts that two objects are equal, ignoring ID and timestamp fields.
+     * Asserts that two objects are equal, ignoring ID, timestamp, and version fields.
      *
      * @param actual   the actual object
      * @param expected the expected object
      * @param <T>      the type of the objects being compared
      */
     protected <T> void assertEqualsIgnoringIdAndTimestamps(T actual, T expected) {
-        assertEqualsIgnoringFields(actual, expected, "id", "createdAt", "updatedAt");
+        assertEqualsIgnoringFields(actual, expected, "id", "createdAt", "updatedAt", "version");
     }
 
     /**
@@ -117,14 +120,14 @@ public abstract class AbstractSysTest {
     }
 
     /**
-     * Asserts that two collections contain the same elements (in any order), ignoring timestamp fields for
-     * each element comparison.
+     * Asserts that two collections contain the same elements (in any order), ignoring timestamp and version fields
+     * for each element comparison.
      *
      * @param actual   the actual collection
      * @param expected the expected collection
      * @param <T>      the type of elements in the collections
      */
     protected <T> void assertEqualsIgnoringTimestamps(List<T> actual, List<T> expected) {
-        assertEqualsIgnoringFields(actual, expected, "createdAt", "updatedAt");
+        assertEqualsIgnoringFields(actual, expected, "createdAt", "updatedAt", "version");
     }
 }
\ No newline at end of file
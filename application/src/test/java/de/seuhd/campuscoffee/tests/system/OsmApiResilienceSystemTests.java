@@ -0,0 +1,259 @@
+package de.seuhd.campuscoffee.tests.system;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * System tests for the timeouts, retries, circuit breaker, and bulkhead of requests to the OpenStreetMap API,
+ * and for the use of stale cached nodes while the API is unavailable.
+ * The OSM API is replaced by a local HTTP server that injects faults into its responses.
+ * Cached nodes are always stale, so every import contacts the API; each test imports its own nodes.
+ */
+public class OsmApiResilienceSystemTests extends AbstractSysTest {
+    private static final long READ_TIMEOUT_MILLIS = 1000;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int FAILURE_THRESHOLD = 4;
+
+    /**
+     * Faults the stub injects into its responses.
+     */
+    private enum Fault {
+        UNAVAILABLE, // responds with 503 (Service Unavailable)
+        SLOW, // responds after the read timeout
+        BLOCK // responds once the test releases it
+    }
+
+    private static final HttpServer osmApiStub;
+    // faults for the next requests, followed by the persistent fault (if any)
+    private static final Queue<Fault> faults = new ConcurrentLinkedQueue<>();
+    private static volatile Fault persistentFault;
+    private static volatile CountDownLatch release = new CountDownLatch(0);
+    private static final AtomicInteger requests = new AtomicInteger();
+    private static final AtomicInteger blockedRequests = new AtomicInteger();
+    private static final AtomicInteger recoveryNodeIds = new AtomicInteger(9000);
+
+    static {
+        try {
+            osmApiStub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        osmApiStub.createContext("/api/0.6/node/", OsmApiResilienceSystemTests::handleNodeRequest);
+        osmApiStub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        osmApiStub.start();
+    }
+
+    @DynamicPropertySource
+    static void configureOsmApi(DynamicPropertyRegistry registry) {
+        registry.add("osm.api.base-url", () -> "http://localhost:" + osmApiStub.getAddress().getPort() + "/api/0.6");
+        registry.add("osm.api.read-timeout", () -> READ_TIMEOUT_MILLIS + "ms");
+        registry.add("osm.api.retry.max-attempts", () -> MAX_ATTEMPTS);
+        registry.add("osm.api.retry.initial-backoff", () -> "10ms");
+        registry.add("osm.api.retry.max-backoff", () -> "50ms");
+        registry.add("osm.api.circuit-breaker.failure-threshold", () -> FAILURE_THRESHOLD);
+        registry.add("osm.api.circuit-breaker.open-duration", () -> "500ms");
+        registry.add("osm.api.bulkhead.max-concurrent-calls", () -> 2);
+        registry.add("osm.api.bulkhead.max-wait", () -> "100ms");
+        registry.add("osm.cache.max-age", () -> "0s");
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Heals the stub and waits until an import succeeds with a closed circuit, which resets its failure count.
+     * An import may also succeed with an open circuit if a stale cached node is used.
+     */
+    @AfterEach
+    void recoverOsmApi() throws InterruptedException {
+        faults.clear();
+        persistentFault = null;
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        int status = importNode(recoveryNodeIds.incrementAndGet()).extract().statusCode();
+        while ((status != HttpStatus.CREATED.value() || circuitState() != 0) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            status = importNode(recoveryNodeIds.incrementAndGet()).extract().statusCode();
+        }
+        assertThat(status).isEqualTo(HttpStatus.CREATED.value());
+        assertThat(circuitState()).isZero();
+    }
+
+    private double circuitState() {
+        return meterRegistry.get("osm.api.circuit.state").gauge().value();
+    }
+
+    @Test
+    void retryTransientFailuresAndTimeouts() {
+        faults.addAll(List.of(Fault.UNAVAILABLE, Fault.SLOW));
+        int requestsBefore = requests.get();
+        double retriesBefore = meterRegistry.get("osm.api.retries").counter().count();
+
+        importNode(1)
+                .statusCode(HttpStatus.CREATED.value())
+                .body("name", equalTo("Café 1"));
+
+        assertThat(requests.get() - requestsBefore).isEqualTo(3);
+        assertThat(meterRegistry.get("osm.api.retries").counter().count() - retriesBefore).isEqualTo(2);
+        assertThat(meterRegistry.get("osm.api.requests").tag("status", "503").timer().count()).isPositive();
+        assertThat(meterRegistry.get("osm.api.requests").tag("status", "IO_ERROR").timer().count()).isPositive();
+    }
+
+    @Test
+    void importFailsWithServiceUnavailableAfterLastAttempt() {
+        faults.addAll(List.of(Fault.UNAVAILABLE, Fault.UNAVAILABLE, Fault.UNAVAILABLE));
+        int requestsBefore = requests.get();
+
+        importNode(11)
+                .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .body("errorCode", equalTo("ServiceUnavailableException"));
+
+        assertThat(requests.get() - requestsBefore).isEqualTo(MAX_ATTEMPTS);
+    }
+
+    @Test
+    void openCircuitFailsFastWithoutContactingApi() {
+        persistentFault = Fault.UNAVAILABLE;
+        int requestsBefore = requests.get();
+
+        // the fourth failed attempt opens the circuit, so the second import is rejected before its last attempt
+        importNode(21).statusCode(HttpStatus.SERVICE_UNAVAILABLE.value());
+        importNode(22).statusCode(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(requests.get() - requestsBefore).isEqualTo(FAILURE_THRESHOLD);
+        assertThat(meterRegistry.get("osm.api.circuit.state").gauge().value()).isEqualTo(1);
+
+        double rejectedBefore = meterRegistry.get("osm.api.circuit.rejected").counter().count();
+        importNode(23).statusCode(HttpStatus.SERVICE_UNAVAILABLE.value());
+
+        assertThat(requests.get() - requestsBefore).isEqualTo(FAILURE_THRESHOLD);
+        assertThat(meterRegistry.get("osm.api.circuit.rejected").counter().count() - rejectedBefore).isEqualTo(1);
+        // the circuit closes after the open duration (see recoverOsmApi)
+    }
+
+    @Test
+    void bulkheadRejectsRequestsBeyondConcurrencyLimit() throws Exception {
+        release = new CountDownLatch(1);
+        persistentFault = Fault.BLOCK;
+        blockedRequests.set(0);
+        double rejectedBefore = meterRegistry.get("osm.api.bulkhead.rejected").counter().count();
+
+        CompletableFuture<Integer> firstImport = CompletableFuture.supplyAsync(() ->
+                importNode(31).extract().statusCode());
+        CompletableFuture<Integer> secondImport = CompletableFuture.supplyAsync(() ->
+                importNode(32).extract().statusCode());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (blockedRequests.get() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(blockedRequests).hasValue(2);
+
+        // both slots are taken until the stub responds, well before the read timeout
+        importNode(33)
+                .statusCode(HttpStatus.TOO_MANY_REQUESTS.value())
+                .body("errorCode", equalTo("CapacityExceededException"));
+        persistentFault = null;
+        release.countDown();
+
+        assertThat(firstImport.get(5, TimeUnit.SECONDS)).isEqualTo(HttpStatus.CREATED.value());
+        assertThat(secondImport.get(5, TimeUnit.SECONDS)).isEqualTo(HttpStatus.CREATED.value());
+        assertThat(meterRegistry.get("osm.api.bulkhead.rejected").counter().count() - rejectedBefore).isEqualTo(1);
+    }
+
+    @Test
+    void useStaleCachedNodeWhileApiIsUnavailable() {
+        importNode(41).statusCode(HttpStatus.CREATED.value());
+        posService.clear();
+        persistentFault = Fault.UNAVAILABLE;
+        int requestsBefore = requests.get();
+        double staleBefore = meterRegistry.get("osm.cache.gets").tag("result", "stale").counter().count();
+
+        importNode(41)
+                .statusCode(HttpStatus.CREATED.value())
+                .body("name", equalTo("Café 41"));
+
+        // the stale node is only used after the revalidation failed
+        assertThat(requests.get() - requestsBefore).isEqualTo(MAX_ATTEMPTS);
+        assertThat(meterRegistry.get("osm.cache.gets").tag("result", "stale").counter().count() - staleBefore)
+                .isEqualTo(1);
+    }
+
+    private static ValidatableResponse importNode(long nodeId) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body("\"" + CampusType.ALTSTADT + "\"") // a JSON string, as REST Assured does not quote enums
+                .when()
+                .post("/api/pos/import/osm/" + nodeId)
+                .then();
+    }
+
+    private static void handleNodeRequest(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        Fault fault = faults.poll();
+        if (fault == null) {
+            fault = persistentFault;
+        }
+        if (fault == Fault.UNAVAILABLE) {
+            exchange.sendResponseHeaders(HttpStatus.SERVICE_UNAVAILABLE.value(), -1);
+            exchange.close();
+            return;
+        }
+        try {
+            if (fault == Fault.SLOW) {
+                Thread.sleep(2 * READ_TIMEOUT_MILLIS);
+            } else if (fault == Fault.BLOCK) {
+                blockedRequests.incrementAndGet();
+                release.await(5, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        String path = exchange.getRequestURI().getPath();
+        long nodeId = Long.parseLong(path.substring(path.lastIndexOf('/') + 1));
+        byte[] body = """
+                <osm version="0.6">
+                  <node id="%d" lat="49.41" lon="8.71">
+                    <tag k="addr:city" v="Heidelberg"/>
+                    <tag k="addr:housenumber" v="1"/>
+                    <tag k="addr:postcode" v="69117"/>
+                    <tag k="addr:street" v="Hauptstraße"/>
+                    <tag k="amenity" v="cafe"/>
+                    <tag k="name" v="Café %d"/>
+                  </node>
+                </osm>
+                """.formatted(nodeId, nodeId).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml; charset=utf-8");
+        exchange.sendResponseHeaders(HttpStatus.OK.value(), body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package de.seuhd.campuscoffee.tests.system;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.seuhd.campuscoffee.api.dtos.OsmImportJobDto;
+import de.seuhd.campuscoffee.api.dtos.OsmImportRequestDto;
+import de.seuhd.campuscoffee.api.dtos.OsmImportResultDto;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.OsmImportJobStatus;
+import de.seuhd.campuscoffee.domain.model.OsmSyncResult;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.ports.PosService;
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * System tests for batch imports of POS from OpenStreetMap, both synchronous and as asynchronous jobs.
+ * The OSM API is replaced by a local HTTP server that serves canned node documents.
+ * Fetched nodes remain in the local cache across tests, which does not change the results of the imports.
+ * Only the test of the sync edits a node, which no other test imports.
+ */
+public class OsmImportSystemTests extends AbstractSysTest {
+    private static final Map<Long, String> OSM_NODES = new ConcurrentHashMap<>(Map.of(
+            1001L, osmNodeXml(1001L, "Rada Coffee & Rösterei", "cafe", "Untere Straße", "4"),
+            1002L, osmNodeXml(1002L, "La Fée", "cafe", "Hauptstraße", "163"),
+            1003L, """
+                    <osm version="0.6">
+                      <node id="1003" lat="49.41" lon="8.71">
+                        <tag k="amenity" v="cafe"/>
+                        <tag k="name" v="Café Moro"/>
+                      </node>
+                    </osm>
+                    """, // missing address
+            1005L, osmNodeXml(1005L, "Café Gundel", "cafe", "Hauptstraße", "212")
+    ));
+    private static final String UNEDITED_NODE_1005 = OSM_NODES.get(1005L);
+
+    private static final HttpServer osmApiStub;
+    private static final AtomicInteger singleNodeRequests = new AtomicInteger();
+    private static final AtomicInteger multiNodeRequests = new AtomicInteger();
+    // requests to the stub wait until the gate is open; a test can close it to keep import jobs running
+    private static volatile CountDownLatch osmApiGate = new CountDownLatch(0);
+
+    static {
+        try {
+            osmApiStub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        osmApiStub.createContext("/api/0.6/node/", OsmImportSystemTests::handleNodeRequest);
+        osmApiStub.createContext("/api/0.6/nodes", OsmImportSystemTests::handleNodesRequest);
+        osmApiStub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        osmApiStub.start();
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void configureOsmApi(DynamicPropertyRegistry registry) {
+        registry.add("osm.api.base-url", () -> "http://localhost:" + osmApiStub.getAddress().getPort() + "/api/0.6");
+        // a single worker and room for one waiting job, so that the queue of import jobs can be filled
+        registry.add("osm.import.jobs.parallelism", () -> 1);
+        registry.add("osm.import.jobs.queue-capacity", () -> 1);
+    }
+
+    @Test
+    void importPosFromOsmNodes() {
+        OsmImportRequestDto importRequest = new OsmImportRequestDto(List.of(1001L, 1002L, 1003L, 1004L), CampusType.ALTSTADT);
+        singleNodeRequests.set(0);
+
+        List<OsmImportResultDto> results = given()
+                .contentType(ContentType.JSON)
+                .body(importRequest)
+                .when()
+                .post("/api/pos/import/osm")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().jsonPath().getList("$", OsmImportResultDto.class);
+
+        assertThat(results).extracting(OsmImportResultDto::nodeId).containsExactly(1001L, 1002L, 1003L, 1004L);
+        assertThat(results.subList(0, 2)).allSatisfy(result -> {
+            assertThat(result.pos()).isNotNull();
+            assertThat(result.error()).isNull();
+        });
+        assertThat(results.subList(2, 4)).allSatisfy(result -> {
+            assertThat(result.pos()).isNull();
+            assertThat(result.error()).isNotBlank();
+        });
+        assertThat(posService.getAll())
+                .extracting(Pos::name)
+                .containsExactlyInAnyOrder("Rada Coffee & Rösterei", "La Fée");
+        // the multi-node request is split around the missing node, which is then fetched on its own to learn why
+        assertThat(singleNodeRequests).hasValue(1);
+    }
+
+    @Test
+    void importPosFromOsmNodesWithSingleMultiNodeRequest() {
+        OsmImportRequestDto importRequest = new OsmImportRequestDto(List.of(1001L, 1002L), CampusType.ALTSTADT);
+        singleNodeRequests.set(0);
+
+        List<OsmImportResultDto> results = given()
+                .contentType(ContentType.JSON)
+                .body(importRequest)
+                .when()
+                .post("/api/pos/import/osm")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().jsonPath().getList("$", OsmImportResultDto.class);
+
+        assertThat(results).allSatisfy(result -> assertThat(result.pos()).isNotNull());
+        assertThat(singleNodeRequests).hasValue(0);
+    }
+
+    @Test
+    void reimportPosFromCachedOsmNodesWithoutRequests() {
+        OsmImportRequestDto importRequest = new OsmImportRequestDto(List.of(1001L, 1002L), CampusType.ALTSTADT);
+        given()
+                .contentType(ContentType.JSON)
+                .body(importRequest)
+                .when()
+                .post("/api/pos/import/osm")
+                .then()
+                .statusCode(HttpStatus.OK.value());
+        posService.clear();
+        int requestsBefore = singleNodeRequests.get() + multiNodeRequests.get();
+
+        List<OsmImportResultDto> results = given()
+                .contentType(ContentType.JSON)
+                .body(importRequest)
+                .when()
+                .post("/api/pos/import/osm")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().jsonPath().getList("$", OsmImportResultDto.class);
+
+        assertThat(results).allSatisfy(result -> assertThat(result.pos()).isNotNull());
+        assertThat(singleNodeRequests.get() + multiNodeRequests.get()).isEqualTo(requestsBefore);
+    }
+
+    @Test
+    void importPosFromOsmNodesWithoutNodeIds() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(new OsmImportRequestDto(List.of(), CampusType.ALTSTADT))
+                .when()
+                .post("/api/pos/import/osm")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    void importPosFromTooManyOsmNodes() {
+        List<Long> nodeIds = LongStream.rangeClosed(1, PosService.MAX_BATCH_SIZE + 1).boxed().toList();
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(new OsmImportRequestDto(nodeIds, CampusType.ALTSTADT))
+                .when()
+                .post("/api/pos/import/osm")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    void importPosFromOsmNodesAsynchronously() throws InterruptedException {
+        OsmImportRequestDto importRequest = new OsmImportRequestDto(List.of(1001L, 1003L), CampusType.ALTSTADT);
+
+        String location = given()
+                .contentType(ContentType.JSON)
+                .body(importRequest)
+                .when()
+                .post("/api/pos/import/osm/jobs")
+                .then()
+                .statusCode(HttpStatus.ACCEPTED.value())
+                .extract().header("Location");
+
+        OsmImportJobDto job = awaitJobStatus(location, OsmImportJobStatus.COMPLETED);
+
+        assertThat(job.processedCount()).isEqualTo(2);
+        assertThat(job.failedCount()).isEqualTo(1);
+        assertThat(job.results()).extracting(OsmImportResultDto::nodeId).containsExactly(1001L, 1003L);
+        assertThat(posService.getAll())
+                .extracting(Pos::name)
+                .containsExactly("Rada Coffee & Rösterei");
+    }
+
+    @Test
+    void submitImportJobsUntilQueueIsFull() throws InterruptedException {
+        osmApiGate = new CountDownLatch(1);
+        try {
+            // the first job blocks the worker, the second one waits in the queue
+            String runningJob = submitImportJob(List.of(1006L)).statusCode(HttpStatus.ACCEPTED.value())
+                    .extract().header("Location");
+            awaitJobStatus(runningJob, OsmImportJobStatus.RUNNING);
+            String queuedJob = submitImportJob(List.of(1007L)).statusCode(HttpStatus.ACCEPTED.value())
+                    .extract().header("Location");
+
+            submitImportJob(List.of(1008L)).statusCode(HttpStatus.TOO_MANY_REQUESTS.value());
+
+            osmApiGate.countDown();
+            assertThat(awaitJobStatus(queuedJob, OsmImportJobStatus.COMPLETED).failedCount()).isEqualTo(1);
+        } finally {
+            osmApiGate.countDown();
+        }
+    }
+
+    @Test
+    void submitImportJobWithTooManyOsmNodes() {
+        submitImportJob(LongStream.rangeClosed(1, PosService.MAX_BATCH_SIZE + 1).boxed().toList())
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    void syncPosWithEditedOsmNodes() {
+        // the edited node must neither be cached nor served from an earlier run of this test
+        OSM_NODES.put(1005L, UNEDITED_NODE_1005);
+        jdbcTemplate.update("DELETE FROM osm_nodes WHERE node_id = ?", 1005L);
+        given()
+                .contentType(ContentType.JSON)
+                .body(new OsmImportRequestDto(List.of(1001L, 1005L), CampusType.BERGHEIM))
+                .when()
+                .post("/api/pos/import/osm")
+                .then()
+                .statusCode(HttpStatus.OK.value());
+        // imports would still use the cached node, but the sync requests the current version
+        OSM_NODES.put(1005L, osmNodeXml(1005L, 2L, "Café Gundel am Bismarckplatz", "cafe", "Hauptstraße", "212"));
+
+        OsmSyncResult result = posService.syncWithOsm();
+
+        assertThat(result).isEqualTo(new OsmSyncResult(2, 1, 1, 0));
+        assertThat(posService.getAll())
+                .extracting(Pos::name, Pos::campus, Pos::osmNodeId, Pos::osmVersion)
+                .containsExactlyInAnyOrder(
+                        tuple("Rada Coffee & Rösterei", CampusType.BERGHEIM, 1001L, 1L),
+                        tuple("Café Gundel am Bismarckplatz", CampusType.BERGHEIM, 1005L, 2L));
+    }
+
+    @Test
+    void getUnknownImportJob() {
+        given()
+                .when()
+                .get("/api/pos/import/osm/jobs/" + UUID.randomUUID())
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
+    private static ValidatableResponse submitImportJob(List<Long> nodeIds) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body(new OsmImportRequestDto(nodeIds, CampusType.ALTSTADT))
+                .when()
+                .post("/api/pos/import/osm/jobs")
+                .then();
+    }
+
+    /**
+     * Polls a job until it has the given status.
+     */
+    private static OsmImportJobDto awaitJobStatus(String location, OsmImportJobStatus status)
+            throws InterruptedException {
+        OsmImportJobDto job;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        do {
+            Thread.sleep(50);
+            job = given()
+                    .when()
+                    .get(location)
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .extract().as(OsmImportJobDto.class);
+        } while (job.status() != status && System.nanoTime() < deadline);
+        assertThat(job.status()).isEqualTo(status);
+        return job;
+    }
+
+    private static void handleNodeRequest(HttpExchange exchange) throws IOException {
+        awaitOsmApiGate();
+        singleNodeRequests.incrementAndGet();
+        String path = exchange.getRequestURI().getPath();
+        sendXml(exchange, OSM_NODES.get(Long.parseLong(path.substring(path.lastIndexOf('/') + 1))));
+    }
+
+    /**
+     * Mimics the multi-node request of the OSM API, which fails if any of the requested nodes does not exist.
+     */
+    private static void handleNodesRequest(HttpExchange exchange) throws IOException {
+        awaitOsmApiGate();
+        multiNodeRequests.incrementAndGet();
+        String query = exchange.getRequestURI().getQuery(); // nodes=1,2,3
+        List<String> nodeElements = new ArrayList<>();
+        for (String nodeId : query.substring(query.indexOf('=') + 1).split(",")) {
+            String xml = OSM_NODES.get(Long.parseLong(nodeId));
+            if (xml == null) {
+                sendXml(exchange, null);
+                return;
+            }
+            nodeElements.add(xml.substring(xml.indexOf("<node"), xml.indexOf("</osm>")));
+        }
+        sendXml(exchange, "<osm version=\"0.6\">" + String.join("", nodeElements) + "</osm>");
+    }
+
+    private static void awaitOsmApiGate() {
+        try {
+            osmApiGate.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sendXml(HttpExchange exchange, String xml) throws IOException {
+        if (xml == null) {
+            exchange.sendResponseHeaders(HttpStatus.NOT_FOUND.value(), -1);
+            exchange.close();
+            return;
+        }
+        byte[] body = xml.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml; charset=utf-8");
+        exchange.sendResponseHeaders(HttpStatus.OK.value(), body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    private static String osmNodeXml(Long nodeId, String name, String amenity, String street, String houseNumber) {
+        return osmNodeXml(nodeId, 1L, name, amenity, street, houseNumber);
+    }
+
+    private static String osmNodeXml(Long nodeId, Long version, String name, String amenity, String street,
+                                     String houseNumber) {
+        return """
+                <osm version="0.6">
+                  <node id="%d" version="%d" lat="49.41" lon="8.71">
+                    <tag k="addr:city" v="Heidelberg"/>
+                    <tag k="addr:housenumber" v="%s"/>
+                    <tag k="addr:postcode" v="69117"/>
+                    <tag k="addr:street" v="%s"/>
+                    <tag k="amenity" v="%s"/>
+                    <tag k="name" v="%s"/>
+                  </node>
+                </osm>
+                """.formatted(nodeId, version, houseNumber, street, amenity, name.replace("&", "&amp;"));
+    }
+}
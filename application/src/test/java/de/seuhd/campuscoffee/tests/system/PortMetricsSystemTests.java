@@ -0,0 +1,74 @@
+package de.seuhd.campuscoffee.tests.system;
+
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.Objects;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+
+/**
+ * System tests for the timers of port calls and their publication via the actuator.
+ * Metrics exporters such as Prometheus are disabled in tests unless observability is auto-configured.
+ */
+@AutoConfigureObservability(tracing = false)
+public class PortMetricsSystemTests extends AbstractSysTest {
+
+    @DynamicPropertySource
+    static void exposeMetricsEndpoints(DynamicPropertyRegistry registry) {
+        registry.add("management.endpoints.web.exposure.include", () -> "health, metrics, prometheus");
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void portCallsAreTimedInDomainAndDataLayer() {
+        Pos createdPos = TestFixtures.createPosFixtures(posService).getFirst();
+        long id = Objects.requireNonNull(createdPos.id());
+
+        given().when().get("/api/pos/" + id).then().statusCode(HttpStatus.OK.value());
+        posService.clear();
+        given().when().get("/api/pos/" + id).then().statusCode(HttpStatus.NOT_FOUND.value());
+
+        assertThat(getCount("PosService", "PosServiceImpl", "getById", "success")).isPositive();
+        assertThat(getCount("PosService", "PosServiceImpl", "getById", "not_found")).isPositive();
+        assertThat(getCount("PosDataService", "CachingPosDataService", "getById", "not_found")).isPositive();
+        assertThat(getCount("PosDataService", "PosDataServiceImpl", "getById", "not_found")).isPositive();
+    }
+
+    @Test
+    void portMetricsArePublishedViaActuator() {
+        posService.getAll();
+
+        given().when().get("/actuator/metrics/port.calls")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("availableTags.tag", hasItem("outcome"));
+        given().when().get("/actuator/prometheus")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body(containsString("port_calls_seconds_bucket{"))
+                .body(containsString("method=\"getAll\""));
+    }
+
+    private long getCount(String port, String implementation, String method, String outcome) {
+        return meterRegistry.get("port.calls")
+                .tag("port", port)
+                .tag("class", implementation)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .timer()
+                .count();
+    }
+}
@@ -1,22 +1,45 @@
 package de.seuhd.campuscoffee.tests.system;
 
 import de.seuhd.campuscoffee.api.dtos.PosDto;
+import de.seuhd.campuscoffee.domain.model.CampusType;
 import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.ports.PosDataService;
 import de.seuhd.campuscoffee.domain.tests.TestFixtures;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import io.restassured.http.ContentType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 
 import static de.seuhd.campuscoffee.tests.SystemTestUtils.Requests.posRequests;
+import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
 
 /**
  * System tests for the operations related to POS (Point of Sale).
  */
 public class PosSystemTests extends AbstractSysTest {
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PosDataService posDataService;
+
     @Test
     void createPos() {
         Pos posToCreate = TestFixtures.getPosFixturesForInsertion().getFirst();
@@ -25,6 +48,23 @@ public class PosSystemTests extends AbstractSysTest {
         assertEqualsIgnoringIdAndTimestamps(createdPos, posToCreate);
     }
 
+    @Test
+    void createPosWithSingleCoordinate() {
+        PosDto posToCreate = posDtoMapper.fromDomain(TestFixtures.getPosFixturesForInsertion().getFirst().toBuilder()
+                .latitude(49.41)
+                .longitude(null)
+                .build());
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(posToCreate)
+                .when()
+                .post("/api/pos")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+        assertThat(posService.getAll()).isEmpty();
+    }
+
     @Test
     void getAllCreatedPos() {
         List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
@@ -37,6 +77,116 @@ public class PosSystemTests extends AbstractSysTest {
         assertEqualsIgnoringTimestamps(retrievedPos, createdPosList);
     }
 
+    @Test
+    void getPosPages() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+
+        List<Pos> firstPage = posRequests.retrievePage(null, 2)
+                .stream()
+                .map(posDtoMapper::toDomain)
+                .toList();
+        List<Pos> secondPage = posRequests.retrievePage(firstPage.getLast().id(), 2)
+                .stream()
+                .map(posDtoMapper::toDomain)
+                .toList();
+
+        assertEqualsIgnoringTimestamps(firstPage, createdPosList.subList(0, 2));
+        assertEqualsIgnoringTimestamps(secondPage, createdPosList.subList(2, 4));
+        assertThat(posRequests.retrievePage(secondPage.getLast().id(), 2)).isEmpty();
+    }
+
+    @Test
+    void getPosFilteredByCampusAndPostalCode() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+        List<Pos> expectedPosList = createdPosList.stream()
+                .filter(pos -> pos.campus() == CampusType.INF && pos.postalCode() == 69120)
+                .toList();
+
+        List<Pos> filteredPos = List.of(given()
+                        .queryParam("campus", CampusType.INF)
+                        .queryParam("postalCode", 69120)
+                        .when()
+                        .get("/api/pos")
+                        .then()
+                        .statusCode(HttpStatus.OK.value())
+                        .extract().as(PosDto[].class))
+                .stream()
+                .map(posDtoMapper::toDomain)
+                .toList();
+
+        assertThat(expectedPosList).isNotEmpty();
+        assertEqualsIgnoringTimestamps(filteredPos, expectedPosList);
+        given()
+                .queryParam("type", "UNKNOWN")
+                .when()
+                .get("/api/pos")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    void getNearbyPos() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+
+        List<Pos> nearbyPos = getNearbyBotanik();
+
+        // Café Botanik is closest, Bäcker Görtz is within the radius, the other POS are not
+        assertEqualsIgnoringTimestamps(nearbyPos, List.of(createdPosList.get(2), createdPosList.get(1)));
+        assertThat(nearbyPos).extracting(Pos::name)
+                .containsExactly(createdPosList.get(2).name(), createdPosList.get(1).name());
+    }
+
+    @Test
+    void getNearbyPosDeletedBypassingApplication() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+        assertThat(getNearbyBotanik()).hasSize(2);
+
+        // e.g., another application instance or a manual fix
+        jdbcTemplate.update("DELETE FROM pos WHERE id = ?", createdPosList.get(2).id());
+
+        assertThat(getNearbyBotanik()).extracting(Pos::id).containsExactly(createdPosList.get(1).id());
+    }
+
+    @Test
+    void searchPos() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+
+        List<Pos> foundPos = searchPos("backer gortz");
+
+        assertThat(foundPos).isNotEmpty();
+        assertEqualsIgnoringTimestamps(foundPos.getFirst(), createdPosList.get(1));
+    }
+
+    @Test
+    void searchPosWrittenBypassingService() {
+        TestFixtures.createPosFixtures(posService);
+        assertThat(searchPos("Kaffeehaus")).isEmpty();
+
+        // written like by another application instance, without updating the index of this one
+        Pos writtenPos = posDataService.upsert(TestFixtures.getPosFixturesForInsertion().getFirst().toBuilder()
+                .name("Kaffeehaus am Markt")
+                .build());
+
+        assertThat(searchPos("Kaffeehaus")).extracting(Pos::id).containsExactly(writtenPos.id());
+    }
+
+    @Test
+    void streamAllPos() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+
+        String body = given()
+                .accept(MediaType.APPLICATION_NDJSON_VALUE)
+                .when()
+                .get("/api/pos/stream")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().asString();
+
+        assertThat(body.lines().toList())
+                .hasSize(createdPosList.size())
+                .allSatisfy(line -> assertThat(line).startsWith("{").endsWith("}"));
+    }
+
     @Test
     void getPosById() {
         List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
@@ -80,6 +230,199 @@ public class PosSystemTests extends AbstractSysTest {
         assertEqualsIgnoringTimestamps(retrievedPos, posToUpdate);
     }
 
+    @Test
+    void batchUpsertPos() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+        Pos posToUpdate = createdPosList.getFirst().toBuilder()
+                .description("Updated description")
+                .build();
+        Pos duplicatePos = createdPosList.get(1).toBuilder().id(null).build();
+        Pos newPos = duplicatePos.toBuilder().name("New Café").build();
+        Pos invalidPos = newPos.toBuilder().name("").build();
+        Pos posWithSingleCoordinate = newPos.toBuilder().name("Another Café").latitude(null).longitude(8.71).build();
+
+        List<String> statuses = given()
+                .contentType(ContentType.JSON)
+                .body(List.of(posToUpdate, duplicatePos, newPos, invalidPos, posWithSingleCoordinate).stream()
+                        .map(posDtoMapper::fromDomain)
+                        .toList())
+                .when()
+                .post("/api/pos/batch")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().jsonPath().getList("status", String.class);
+
+        assertThat(statuses).containsExactly("UPDATED", "DUPLICATE", "CREATED", "INVALID", "INVALID");
+        assertThat(posService.getAll())
+                .hasSize(createdPosList.size() + 1)
+                .anySatisfy(pos -> assertThat(pos.name()).isEqualTo("New Café"))
+                .anySatisfy(pos -> assertThat(pos.description()).isEqualTo("Updated description"));
+    }
+
+    @Test
+    void getPosByIdNotModified() {
+        Pos createdPos = TestFixtures.createPosFixtures(posService).getFirst();
+
+        String eTag = given()
+                .when()
+                .get("/api/pos/{id}", createdPos.id())
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().header(HttpHeaders.ETAG);
+
+        given()
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .when()
+                .get("/api/pos/{id}", createdPos.id())
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value());
+    }
+
+    @Test
+    void getAllPosNotModifiedUntilWrite() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+
+        String eTag = given()
+                .when()
+                .get("/api/pos")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().header(HttpHeaders.ETAG);
+
+        given()
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .when()
+                .get("/api/pos")
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value());
+
+        posService.delete(Objects.requireNonNull(createdPosList.getFirst().id()));
+
+        given()
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .when()
+                .get("/api/pos")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header(HttpHeaders.ETAG, not(eTag));
+    }
+
+    @Test
+    void getAllPosModifiedBypassingApplication() {
+        Pos createdPos = TestFixtures.createPosFixtures(posService).getFirst();
+        String eTag = given()
+                .when()
+                .get("/api/pos")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().header(HttpHeaders.ETAG);
+
+        // e.g., another application instance or a manual fix
+        jdbcTemplate.update("UPDATE pos SET description = 'Edited in the database' WHERE id = ?", createdPos.id());
+
+        given()
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .when()
+                .get("/api/pos")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header(HttpHeaders.ETAG, not(eTag));
+    }
+
+    @Test
+    void batchUpsertDoesNotBlockConcurrentUpdates() throws Exception {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+        Pos firstPos = createdPosList.getFirst();
+        Pos secondPos = createdPosList.get(1);
+        long versionBefore = Long.parseLong(posService.getCollectionVersion());
+        CountDownLatch firstPosWritten = new CountDownLatch(1);
+        CountDownLatch updateFinished = new CountDownLatch(1);
+
+        // writes both POS in one transaction like a batch upsert, and stays open while the second POS is updated
+        CompletableFuture<Void> batch = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    jdbcTemplate.update("UPDATE pos SET description = 'Batch' WHERE id = ?", firstPos.id());
+                    firstPosWritten.countDown();
+                    try {
+                        assertThat(updateFinished.await(10, TimeUnit.SECONDS)).isTrue();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    jdbcTemplate.update("UPDATE pos SET description = 'Batch' WHERE id = ?", secondPos.id());
+                }));
+        assertThat(firstPosWritten.await(10, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Integer> update = CompletableFuture.supplyAsync(() -> given()
+                .contentType(ContentType.JSON)
+                .body(posDtoMapper.fromDomain(secondPos.toBuilder().description("Update").build()))
+                .when()
+                .put("/api/pos/{id}", secondPos.id())
+                .then()
+                .extract().statusCode());
+        assertThat(update.get(10, TimeUnit.SECONDS)).isEqualTo(HttpStatus.OK.value());
+        updateFinished.countDown();
+        batch.get(10, TimeUnit.SECONDS);
+
+        assertThat(posService.getById(secondPos.id()).description()).isEqualTo("Batch");
+        assertThat(Long.parseLong(posService.getCollectionVersion())).isEqualTo(versionBefore + 2);
+    }
+
+    @Test
+    void failedConditionalWritesKeepCollectionVersion() {
+        Pos createdPos = TestFixtures.createPosFixtures(posService).getFirst();
+        String collectionVersion = posService.getCollectionVersion();
+        String otherETag = "\"" + (Objects.requireNonNull(createdPos.version()) + 1) + "\"";
+
+        given()
+                .contentType(ContentType.JSON)
+                .header(HttpHeaders.IF_MATCH, otherETag)
+                .body(posDtoMapper.fromDomain(createdPos.toBuilder().description("Lost update").build()))
+                .when()
+                .put("/api/pos/{id}", createdPos.id())
+                .then()
+                .statusCode(HttpStatus.PRECONDITION_FAILED.value());
+        given()
+                .header(HttpHeaders.IF_MATCH, otherETag)
+                .when()
+                .delete("/api/pos/{id}", createdPos.id())
+                .then()
+                .statusCode(HttpStatus.PRECONDITION_FAILED.value());
+
+        assertThat(posService.getCollectionVersion()).isEqualTo(collectionVersion);
+    }
+
+    @Test
+    void updatePosWithOutdatedETag() {
+        Pos createdPos = TestFixtures.createPosFixtures(posService).getFirst();
+        String eTag = given()
+                .when()
+                .get("/api/pos/{id}", createdPos.id())
+                .then()
+                .extract().header(HttpHeaders.ETAG);
+
+        // two clients update the POS based on the same version; only the first update succeeds
+        List<Integer> statusCodes = List.of("First update", "Second update").stream()
+                .map(description -> given()
+                        .contentType(ContentType.JSON)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .body(posDtoMapper.fromDomain(createdPos.toBuilder().description(description).build()))
+                        .when()
+                        .put("/api/pos/{id}", createdPos.id())
+                        .then()
+                        .extract().statusCode())
+                .toList();
+
+        assertThat(statusCodes)
+                .containsExactly(HttpStatus.OK.value(), HttpStatus.PRECONDITION_FAILED.value());
+        assertThat(posService.getById(createdPos.id()).description()).isEqualTo("First update");
+        given()
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .when()
+                .delete("/api/pos/{id}", createdPos.id())
+                .then()
+                .statusCode(HttpStatus.PRECONDITION_FAILED.value());
+    }
+
     @Test
     void deletePos() {
         List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
@@ -99,4 +442,38 @@ public class PosSystemTests extends AbstractSysTest {
         assertThat(remainingPosIds)
                 .doesNotContain(posToDelete.id());
     }
+
+    /**
+     * Retrieves the POS within 1000 meters of Café Botanik.
+     */
+    private List<Pos> getNearbyBotanik() {
+        return List.of(given()
+                        .queryParam("lat", 49.4160)
+                        .queryParam("lon", 8.6710)
+                        .queryParam("radius", 1000)
+                        .when()
+                        .get("/api/pos/nearby")
+                        .then()
+                        .statusCode(HttpStatus.OK.value())
+                        .extract().as(PosDto[].class))
+                .stream()
+                .map(posDtoMapper::toDomain)
+                .toList();
+    }
+
+    /**
+     * Searches POS with the given full-text query.
+     */
+    private List<Pos> searchPos(String query) {
+        return List.of(given()
+                        .queryParam("q", query)
+                        .when()
+                        .get("/api/pos/search")
+                        .then()
+                        .statusCode(HttpStatus.OK.value())
+                        .extract().as(PosDto[].class))
+                .stream()
+                .map(posDtoMapper::toDomain)
+                .toList();
+    }
 }
@@ -3,6 +3,7 @@ package de.seuhd.campuscoffee.tests.system;
 import de.seuhd.campuscoffee.api.dtos.UserDto;
 import de.seuhd.campuscoffee.domain.model.User;
 import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import io.restassured.http.ContentType;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 
@@ -10,6 +11,7 @@ import java.util.List;
 import java.util.Objects;
 
 import static de.seuhd.campuscoffee.tests.SystemTestUtils.Requests.userRequests;
+import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -59,6 +61,63 @@ public class UsersSystemTests extends AbstractSysTest {
         assertEqualsIgnoringTimestamps(filteredUser, createdUser);
     }
 
+    @Test
+    void filterUserByEmailAddressIgnoringCase() {
+        List<User> createdUserList = TestFixtures.createUsers(userService);
+        User createdUser = createdUserList.get(1);
+        String emailAddress = createdUser.emailAddress().toUpperCase();
+        User filteredUser = userDtoMapper.toDomain(userRequests.retrieveByFilter("emailAddress", emailAddress));
+
+        assertEqualsIgnoringTimestamps(filteredUser, createdUser);
+    }
+
+    @Test
+    void autocompleteUsersByPrefix() {
+        List<User> createdUserList = TestFixtures.createUsers(userService);
+
+        List<User> usersByLoginName = List.of(given()
+                        .queryParam("loginName", "MAX")
+                        .when()
+                        .get("/api/users/autocomplete")
+                        .then()
+                        .statusCode(HttpStatus.OK.value())
+                        .extract().as(UserDto[].class))
+                .stream()
+                .map(userDtoMapper::toDomain)
+                .toList();
+        List<User> usersByEmailAddress = List.of(given()
+                        .queryParam("emailAddress", "Jane.")
+                        .when()
+                        .get("/api/users/autocomplete")
+                        .then()
+                        .statusCode(HttpStatus.OK.value())
+                        .extract().as(UserDto[].class))
+                .stream()
+                .map(userDtoMapper::toDomain)
+                .toList();
+
+        assertEqualsIgnoringTimestamps(usersByLoginName, List.of(createdUserList.get(1)));
+        assertEqualsIgnoringTimestamps(usersByEmailAddress, List.of(createdUserList.getFirst()));
+    }
+
+    @Test
+    void createUserWithLoginNameDifferingInCase() {
+        User createdUser = TestFixtures.createUsers(userService).getFirst();
+        User userToCreate = createdUser.toBuilder()
+                .id(null)
+                .loginName(createdUser.loginName().toUpperCase())
+                .emailAddress("other." + createdUser.emailAddress())
+                .build();
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(userDtoMapper.fromDomain(userToCreate))
+                .when()
+                .post("/api/users")
+                .then()
+                .statusCode(HttpStatus.CONFLICT.value());
+    }
+
     @Test
     void updateUser() {
         List<User> createdUserList = TestFixtures.createUsers(userService);
@@ -80,6 +139,34 @@ public class UsersSystemTests extends AbstractSysTest {
         assertEqualsIgnoringTimestamps(retrievedUser, userToUpdate);
     }
 
+    @Test
+    void batchUpsertUsers() {
+        List<User> createdUserList = TestFixtures.createUsers(userService);
+        User userToUpdate = createdUserList.getFirst().toBuilder()
+                .firstName("UpdatedFirstName")
+                .build();
+        User duplicateUser = createdUserList.get(1).toBuilder().id(null).build();
+        User newUser = duplicateUser.toBuilder().loginName("new_user").emailAddress("new.user@uni-heidelberg.de").build();
+        User invalidUser = newUser.toBuilder().emailAddress("no email address").build();
+
+        List<String> statuses = given()
+                .contentType(ContentType.JSON)
+                .body(List.of(userToUpdate, duplicateUser, newUser, invalidUser).stream()
+                        .map(userDtoMapper::fromDomain)
+                        .toList())
+                .when()
+                .post("/api/users/batch")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().jsonPath().getList("status", String.class);
+
+        assertThat(statuses).containsExactly("UPDATED", "DUPLICATE", "CREATED", "INVALID");
+        assertThat(userService.getAll())
+                .hasSize(createdUserList.size() + 1)
+                .anySatisfy(user -> assertThat(user.loginName()).isEqualTo("new_user"))
+                .anySatisfy(user -> assertThat(user.firstName()).isEqualTo("UpdatedFirstName"));
+    }
+
     @Test
     void deleteUser() {
         List<User> createdUserList = TestFixtures.createUsers(userService);
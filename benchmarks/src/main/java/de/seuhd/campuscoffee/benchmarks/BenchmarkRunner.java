@@ -0,0 +1,30 @@
+package de.seuhd.campuscoffee.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Entry point of the benchmarks jar.
+ * Runs JMH with the given command line options and, unless specified otherwise, stores the results as JSON
+ * in a file named after the project version (e.g., {@code jmh-result-0.0.3.json}),
+ * so that results of different releases can be compared.
+ */
+public final class BenchmarkRunner {
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(List.of(args));
+        if (!options.contains("-rf")) {
+            options.addAll(List.of("-rf", "json"));
+        }
+        if (!options.contains("-rff")) {
+            String version = Objects.requireNonNullElse(
+                    BenchmarkRunner.class.getPackage().getImplementationVersion(), "snapshot");
+            options.addAll(List.of("-rff", "jmh-result-" + version + ".json"));
+        }
+        Main.main(options.toArray(String[]::new));
+    }
+}
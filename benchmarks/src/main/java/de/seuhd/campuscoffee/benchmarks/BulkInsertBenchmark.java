@@ -0,0 +1,97 @@
+package de.seuhd.campuscoffee.benchmarks;
+
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import de.seuhd.campuscoffee.domain.model.User;
+import de.seuhd.campuscoffee.domain.ports.PosDataService;
+import de.seuhd.campuscoffee.domain.ports.UserDataService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures inserts per second when persisting 10,000 POS and users against a PostgreSQL testcontainer,
+ * comparing one {@code upsert} call per row with batched {@code upsertAll} calls.
+ * Requires a running Docker daemon (see {@link PersistenceContext}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class BulkInsertBenchmark {
+    private static final int ROWS = 10_000;
+
+    @Param({"500"})
+    private int batchSize;
+
+    private PersistenceContext context;
+    private PosDataService posDataService;
+    private UserDataService userDataService;
+    private List<Pos> posList;
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        context = new PersistenceContext();
+        posDataService = context.getBean(PosDataService.class);
+        userDataService = context.getBean(UserDataService.class);
+        posList = IntStream.range(0, ROWS)
+                .mapToObj(i -> Pos.builder()
+                        .name("POS " + i).description("Benchmark POS")
+                        .type(PosType.CAFE).campus(CampusType.ALTSTADT)
+                        .street("Hauptstraße").houseNumber(Integer.toString(i + 1)).postalCode(69117).city("Heidelberg")
+                        .build())
+                .toList();
+        users = IntStream.range(0, ROWS)
+                .mapToObj(i -> User.builder()
+                        .loginName("user" + i).emailAddress("user" + i + "@example.com")
+                        .firstName("First").lastName("Last")
+                        .build())
+                .toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void clear() {
+        // each invocation inserts all rows into empty tables (10,000 inserts take long enough for per-invocation setup)
+        posDataService.clear();
+        userDataService.clear();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void upsertPos() {
+        posList.forEach(posDataService::upsert);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void upsertAllPos() {
+        for (int i = 0; i < ROWS; i += batchSize) {
+            posDataService.upsertAll(posList.subList(i, Math.min(i + batchSize, ROWS)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void upsertUser() {
+        users.forEach(userDataService::upsert);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void upsertAllUsers() {
+        for (int i = 0; i < ROWS; i += batchSize) {
+            userDataService.upsertAll(users.subList(i, Math.min(i + batchSize, ROWS)));
+        }
+    }
+}
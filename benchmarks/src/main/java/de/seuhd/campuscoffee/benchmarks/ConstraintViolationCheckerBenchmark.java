@@ -0,0 +1,42 @@
+package de.seuhd.campuscoffee.benchmarks;
+
+import de.seuhd.campuscoffee.data.persistence.PosEntity;
+import de.seuhd.campuscoffee.data.util.ConstraintViolationChecker;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the detection of constraint violations in exceptions thrown by the data store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConstraintViolationCheckerBenchmark {
+    private DataIntegrityViolationException matchingMessage;
+    private DataIntegrityViolationException matchingRootCause;
+
+    @Setup
+    public void setUp() {
+        matchingMessage = new DataIntegrityViolationException(
+                "could not execute statement [ERROR: duplicate key value violates unique constraint \"pos_name_key\"]");
+        matchingRootCause = new DataIntegrityViolationException(
+                "could not execute statement",
+                new SQLException("ERROR: duplicate key value violates unique constraint \"pos_name_key\""));
+    }
+
+    @Benchmark
+    public boolean constraintInMessage() {
+        return ConstraintViolationChecker.isConstraintViolation(matchingMessage, PosEntity.NAME_CONSTRAINT);
+    }
+
+    @Benchmark
+    public boolean constraintInRootCause() {
+        return ConstraintViolationChecker.isConstraintViolation(matchingRootCause, PosEntity.NAME_CONSTRAINT);
+    }
+}
@@ -0,0 +1,105 @@
+package de.seuhd.campuscoffee.benchmarks;
+
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosFilter;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import de.seuhd.campuscoffee.domain.ports.PosDataService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the throughput of the {@code PosDataServiceImpl} with the default data source settings and with the
+ * settings of the {@code prod} profile (larger pool, batched inserts rewritten to multi-row inserts, and server-side
+ * prepared statements from the first execution) against a PostgreSQL testcontainer.
+ * Reads run with more threads than the default pool has connections. The time spent waiting for a connection is
+ * printed after each run. Requires a running Docker daemon (see {@link PersistenceContext}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataSourceTuningBenchmark {
+    private static final int ROWS = 10_000;
+    private static final int BATCH_SIZE = 500;
+
+    @Param({"default", "prod"})
+    private String dataSource;
+
+    private PersistenceContext context;
+    private PosDataService posDataService;
+    private Long firstId;
+    private final AtomicLong nextName = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        context = "prod".equals(dataSource)
+                ? new PersistenceContext(
+                        // same settings as in the prod profile of the application configuration
+                        "spring.datasource.hikari.maximum-pool-size=20",
+                        "spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=true",
+                        "spring.datasource.hikari.data-source-properties.prepareThreshold=1",
+                        "spring.datasource.hikari.data-source-properties.preparedStatementCacheQueries=512",
+                        "spring.datasource.hikari.data-source-properties.preparedStatementCacheSizeMiB=10")
+                : new PersistenceContext();
+        posDataService = context.getBean(PosDataService.class);
+        posDataService.clear();
+        for (int i = 0; i < ROWS; i += BATCH_SIZE) {
+            posDataService.upsertAll(newPosList(BATCH_SIZE));
+        }
+        firstId = Objects.requireNonNull(posDataService.getPage(null, 1).getFirst().id());
+    }
+
+    @TearDown
+    public void tearDown() {
+        Timer acquire = context.getBean(MeterRegistry.class).get("hikaricp.connections.acquire").timer();
+        System.out.printf("%nConnection pool wait: %d acquisitions, mean %.1f µs, max %.1f µs%n", acquire.count(),
+                acquire.mean(TimeUnit.MICROSECONDS), acquire.max(TimeUnit.MICROSECONDS));
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Pos getById() {
+        return posDataService.getById(firstId + ThreadLocalRandom.current().nextInt(ROWS));
+    }
+
+    @Benchmark
+    @Threads(32)
+    public List<Pos> getFiltered() {
+        return posDataService.getFiltered(new PosFilter(CampusType.ALTSTADT, PosType.CAFE, null, null),
+                firstId + ThreadLocalRandom.current().nextInt(ROWS), 20);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<Pos> upsertAll() {
+        return posDataService.upsertAll(newPosList(BATCH_SIZE));
+    }
+
+    /**
+     * Creates new POS with names that have not been used before.
+     *
+     * @param count the number of POS
+     * @return the POS without IDs
+     */
+    private List<Pos> newPosList(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> Pos.builder()
+                        .name("POS " + nextName.incrementAndGet()).description("Benchmark POS")
+                        .type(PosType.CAFE).campus(CampusType.ALTSTADT)
+                        .street("Hauptstraße").houseNumber(Integer.toString(i + 1)).postalCode(69117).city("Heidelberg")
+                        .build())
+                .toList();
+    }
+}
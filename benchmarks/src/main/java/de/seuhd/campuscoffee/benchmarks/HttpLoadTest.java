@@ -0,0 +1,157 @@
+package de.seuhd.campuscoffee.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load test that keeps a number of concurrent HTTP/1.1 connections (5000 by default) busy with requests to a running
+ * application, to compare request handling on platform threads with virtual threads
+ * ({@code spring.threads.virtual.enabled}). Every connection is driven by a virtual thread of the load generator that
+ * sends the next request as soon as the previous response has arrived.
+ * <p>
+ * Prints the throughput, the latency percentiles, and the number of failed requests (status 400 or higher, I/O
+ * errors, and timeouts). If the process ID of the application is given, its peak resident set size is sampled from
+ * {@code /proc} (Linux only); the peak number of live threads is read from the actuator, which exposes metrics in
+ * the {@code dev} profile.
+ * <p>
+ * Usage: {@code java -cp benchmarks/target/benchmarks.jar de.seuhd.campuscoffee.benchmarks.HttpLoadTest
+ * <url> [connections] [seconds] [pid]}
+ */
+public final class HttpLoadTest {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    private static final long RSS_SAMPLE_MILLIS = 250;
+
+    private HttpLoadTest() {}
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.err.println("Usage: HttpLoadTest <url> [connections] [seconds] [pid]");
+            System.exit(1);
+        }
+        URI uri = URI.create(args[0]);
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 30);
+        Long pid = args.length > 3 ? Long.valueOf(args[3]) : null;
+
+        Timer timer = Timer.builder("load.requests")
+                .publishPercentiles(0.5, 0.99, 0.999)
+                // the percentiles cover the whole run instead of a sliding window
+                .distributionStatisticExpiry(duration.plusMinutes(1))
+                .distributionStatisticBufferLength(1)
+                .register(new SimpleMeterRegistry());
+        LongAdder errors = new LongAdder();
+        AtomicLong peakRssKilobytes = new AtomicLong(-1);
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).GET().build();
+
+        System.out.printf("Sending requests to %s over %d connections for %d s...%n",
+                uri, connections, duration.toSeconds());
+        long deadline = System.nanoTime() + duration.toNanos();
+        // resources are closed in reverse order, so the client is only closed after the last request has been sent
+        try (ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1) // one connection per request in flight
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .executor(clientExecutor)
+                     .build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (pid != null) {
+                executor.submit(() -> sampleRss(pid, deadline, peakRssKilobytes));
+            }
+            for (int i = 0; i < connections; i++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status >= 400) {
+                                errors.increment();
+                            } else {
+                                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                            }
+                        } catch (IOException e) {
+                            errors.increment();
+                        }
+                    }
+                    return null;
+                });
+            }
+        } // closing the executor waits for the last responses
+
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        System.out.printf("%d requests (%.0f/s), %d failed%n",
+                snapshot.count(), snapshot.count() / (double) duration.toSeconds(), errors.sum());
+        StringBuilder latencies = new StringBuilder("Latency:");
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            latencies.append(String.format(" p%.1f %.1f ms,", percentile.percentile() * 100,
+                    percentile.value(TimeUnit.MILLISECONDS)));
+        }
+        System.out.printf("%s max %.1f ms%n", latencies, snapshot.max(TimeUnit.MILLISECONDS));
+        if (peakRssKilobytes.get() >= 0) {
+            System.out.printf("Peak resident set size of the application: %d MiB%n", peakRssKilobytes.get() / 1024);
+        }
+        System.out.printf("Peak live threads of the application: %s%n", readPeakThreads(uri));
+    }
+
+    /**
+     * Samples the resident set size of a process until the deadline and keeps the maximum.
+     *
+     * @param pid      the ID of the process
+     * @param deadline the end of the run as {@link System#nanoTime()}
+     * @param peak     receives the maximum resident set size in kilobytes
+     * @return nothing; declared for use as a callable
+     */
+    private static Void sampleRss(long pid, long deadline, AtomicLong peak) throws IOException, InterruptedException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        while (System.nanoTime() < deadline) {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    long kilobytes = Long.parseLong(line.replaceAll("\\D", ""));
+                    peak.accumulateAndGet(kilobytes, Math::max);
+                }
+            }
+            Thread.sleep(RSS_SAMPLE_MILLIS);
+        }
+        return null;
+    }
+
+    /**
+     * Reads the peak number of live threads from the actuator of the application.
+     *
+     * @param uri the URI of the load test, which determines the host of the application
+     * @return the number of threads, or "n/a" if the metric is not exposed
+     */
+    private static String readPeakThreads(URI uri) {
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(uri.resolve("/actuator/metrics/jvm.threads.peak")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return "n/a";
+            }
+            return Long.toString(Math.round(new ObjectMapper().readTree(response.body())
+                    .path("measurements").path(0).path("value").asDouble()));
+        } catch (IOException e) {
+            return "n/a";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "n/a";
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package de.seuhd.campuscoffee.benchmarks;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import de.seuhd.campuscoffee.data.client.OsmResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Baseline for {@link OsmXmlParserBenchmark}: the former OSM XML parsing approach that creates an {@link XmlMapper}
+ * per call, reads the whole document into a tree, and collects all tags of each node.
+ * The deserializer is the former {@code OsmResponseDeserializer}; it is registered with a module because
+ * {@link OsmResponse} no longer carries the Jackson annotations.
+ */
+final class LegacyOsmXmlParser {
+    private LegacyOsmXmlParser() {}
+
+    static OsmResponse parse(String xmlResponse) throws IOException {
+        XmlMapper xmlMapper = new XmlMapper();
+        xmlMapper.registerModule(new SimpleModule().addDeserializer(OsmResponse.class, new OsmResponseDeserializer()));
+        return xmlMapper.readValue(xmlResponse, OsmResponse.class);
+    }
+
+    /**
+     * Custom deserializer that extracts node ids and tags from the OSM XML nested structure.
+     * Repeated node elements (multi-node responses) are parsed in one pass.
+     */
+    static class OsmResponseDeserializer extends JsonDeserializer<OsmResponse> {
+        @Override
+        public OsmResponse deserialize(JsonParser p, DeserializationContext context)
+                throws IOException {
+            JsonNode root = p.getCodec().readTree(p);
+            JsonNode nodeElements = root.get("node");
+
+            if (nodeElements == null) {
+                throw new JsonMappingException(p, "Missing required elements or attributes in OSM XML response.");
+            }
+
+            // repeated elements are represented as an array, a single element as an object
+            List<OsmResponse.Node> nodes = new ArrayList<>();
+            for (JsonNode nodeElement : nodeElements.isArray() ? nodeElements : List.of(nodeElements)) {
+                if (!nodeElement.has("id")) {
+                    throw new JsonMappingException(p, "Missing required elements or attributes in OSM XML response.");
+                }
+                nodes.add(OsmResponse.Node.builder()
+                        .id(nodeElement.get("id").asLong())
+                        .tags(deserializeTags(nodeElement.get("tag")))
+                        .build());
+            }
+
+            return OsmResponse.builder()
+                    .nodes(nodes)
+                    .build();
+        }
+
+        private Map<String, String> deserializeTags(JsonNode tagNode) {
+            if (tagNode == null) {
+                return Collections.emptyMap();
+            }
+            if (!tagNode.isArray()) {
+                // a node with a single tag
+                return Map.of(tagNode.get("k").asText(), tagNode.get("v").asText());
+            }
+
+            return StreamSupport.stream(tagNode.spliterator(), false)
+                    .collect(Collectors.toMap(
+                            node -> node.get("k").asText(),
+                            node -> node.get("v").asText()
+                    ));
+        }
+    }
+}
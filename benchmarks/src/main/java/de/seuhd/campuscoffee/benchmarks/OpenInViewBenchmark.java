@@ -0,0 +1,89 @@
+package de.seuhd.campuscoffee.benchmarks;
+
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import de.seuhd.campuscoffee.domain.ports.PosDataService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load test for reading a POS (the persistence part of {@code GET /api/pos/{id}}) with more concurrent clients than
+ * pooled connections against a PostgreSQL testcontainer. Each request writes its response for one millisecond
+ * (e.g., to a slow client) after the POS has been loaded.
+ * With open-in-view, the Hibernate session and its connection are held until the response is written, as done by
+ * Spring's {@code OpenEntityManagerInViewInterceptor}; otherwise, the connection is returned at the end of the
+ * read-only transaction. The time spent waiting for a connection is printed after each run.
+ * Requires a running Docker daemon (see {@link PersistenceContext}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+public class OpenInViewBenchmark {
+    private static final long RESPONSE_WRITE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private PersistenceContext context;
+    private PosDataService posDataService;
+    private EntityManagerFactory entityManagerFactory;
+    private Long posId;
+
+    @Setup
+    public void setUp() {
+        context = new PersistenceContext("spring.datasource.hikari.maximum-pool-size=8");
+        posDataService = context.getBean(PosDataService.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        posDataService.clear();
+        posId = Objects.requireNonNull(posDataService.upsert(Pos.builder()
+                .name("Schmelzpunkt").description("Great waffles")
+                .type(PosType.CAFE).campus(CampusType.ALTSTADT)
+                .street("Hauptstraße").houseNumber("90").postalCode(69117).city("Heidelberg")
+                .build()).id());
+    }
+
+    @TearDown
+    public void tearDown() {
+        Timer acquire = context.getBean(MeterRegistry.class).get("hikaricp.connections.acquire").timer();
+        System.out.printf("%nConnection pool wait: %d acquisitions, mean %.1f µs, max %.1f µs%n", acquire.count(),
+                acquire.mean(TimeUnit.MICROSECONDS), acquire.max(TimeUnit.MICROSECONDS));
+        context.close();
+    }
+
+    @Benchmark
+    public Pos openInView() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            Pos pos = posDataService.getById(posId);
+            writeResponse();
+            return pos;
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            EntityManagerFactoryUtils.closeEntityManager(entityManager);
+        }
+    }
+
+    @Benchmark
+    public Pos transactionScoped() {
+        Pos pos = posDataService.getById(posId);
+        writeResponse();
+        return pos;
+    }
+
+    private static void writeResponse() {
+        LockSupport.parkNanos(RESPONSE_WRITE_NANOS);
+    }
+}
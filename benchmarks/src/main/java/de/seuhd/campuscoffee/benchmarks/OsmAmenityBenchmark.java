@@ -0,0 +1,36 @@
+package de.seuhd.campuscoffee.benchmarks;
+
+import de.seuhd.campuscoffee.domain.model.OsmAmenity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the lookup of OSM amenity types by their OSM value.
+ * Run with {@code -prof gc} to compare the allocations of the lookup table and the former linear search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OsmAmenityBenchmark {
+    @Param({"bar", "vending_machine", "Cafe", "library"}) // first and last constant, other spelling, unsupported value
+    private String osmValue;
+
+    @Benchmark
+    public Optional<OsmAmenity> fromOsmValue() {
+        return OsmAmenity.fromOsmValue(osmValue);
+    }
+
+    @Benchmark
+    public Optional<OsmAmenity> legacyFromOsmValue() {
+        // former linear search as a baseline
+        return Arrays.stream(OsmAmenity.values())
+                .filter(amenity -> amenity.name().toLowerCase().equals(osmValue))
+                .findFirst();
+    }
+}
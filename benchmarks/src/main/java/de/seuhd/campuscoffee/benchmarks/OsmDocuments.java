@@ -0,0 +1,44 @@
+package de.seuhd.campuscoffee.benchmarks;
+
+/**
+ * Generates OSM XML documents that resemble responses of the OSM API.
+ */
+final class OsmDocuments {
+    private OsmDocuments() {}
+
+    /**
+     * Creates a document with the given number of nodes.
+     * Besides the tags used by CampusCoffee, each node carries several tags that the parser has to skip.
+     *
+     * @param nodeCount the number of node elements
+     * @return the OSM XML document
+     */
+    static String multiNodeDocument(int nodeCount) {
+        StringBuilder xml = new StringBuilder("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <osm version="0.6" generator="openstreetmap-cgimap" copyright="OpenStreetMap and contributors">
+                """);
+        for (int i = 1; i <= nodeCount; i++) {
+            xml.append("""
+                      <node id="%d" visible="true" version="7" changeset="151295473" timestamp="2024-05-14T09:23:41Z" user="mapper" uid="42" lat="49.4118" lon="8.7068">
+                        <tag k="addr:city" v="Heidelberg"/>
+                        <tag k="addr:country" v="DE"/>
+                        <tag k="addr:housenumber" v="%da"/>
+                        <tag k="addr:postcode" v="69117"/>
+                        <tag k="addr:street" v="Hauptstraße"/>
+                        <tag k="amenity" v="cafe"/>
+                        <tag k="check_date" v="2024-05-14"/>
+                        <tag k="cuisine" v="coffee_shop"/>
+                        <tag k="description" v="Specialty coffee roastery"/>
+                        <tag k="name" v="Café %d"/>
+                        <tag k="name:en" v="Cafe %d"/>
+                        <tag k="opening_hours" v="Mo-Fr 08:00-18:00; Sa 09:00-18:00; Su 10:00-17:00"/>
+                        <tag k="outdoor_seating" v="yes"/>
+                        <tag k="website" v="https://example.org/cafe-%d"/>
+                        <tag k="wheelchair" v="limited"/>
+                      </node>
+                    """.formatted(i, i, i, i, i));
+        }
+        return xml.append("</osm>\n").toString();
+    }
+}
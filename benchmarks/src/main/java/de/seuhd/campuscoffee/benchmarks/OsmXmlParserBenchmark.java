@@ -0,0 +1,41 @@
+package de.seuhd.campuscoffee.benchmarks;
+
+import de.seuhd.campuscoffee.data.client.OsmResponse;
+import de.seuhd.campuscoffee.data.client.OsmXmlParser;
+import org.openjdk.jmh.annotations.*;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the streaming {@link OsmXmlParser} with the former tree-based parsing ({@link LegacyOsmXmlParser})
+ * for single-node responses and large multi-node responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OsmXmlParserBenchmark {
+    @Param({"1", "500"})
+    private int nodeCount;
+
+    private String xml;
+
+    @Setup
+    public void setUp() {
+        xml = OsmDocuments.multiNodeDocument(nodeCount);
+    }
+
+    @Benchmark
+    public OsmResponse streamingParser() throws XMLStreamException {
+        return OsmXmlParser.parse(xml);
+    }
+
+    @Benchmark
+    public OsmResponse legacyParser() throws IOException {
+        return LegacyOsmXmlParser.parse(xml);
+    }
+}
@@ -0,0 +1,95 @@
+package de.seuhd.campuscoffee.benchmarks;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * PostgreSQL testcontainer with a minimal Spring context that contains the persistence adapters only
+ * (without the OSM client and its node cache) for benchmarks of the data layer. Requires a running Docker daemon.
+ */
+final class PersistenceContext implements AutoCloseable {
+    private final PostgreSQLContainer<?> postgresContainer;
+    private final ConfigurableApplicationContext context;
+
+    /**
+     * Starts the container and the Spring context.
+     *
+     * @param properties additional Spring properties (e.g., {@code spring.datasource.hikari.maximum-pool-size=4})
+     */
+    @SuppressWarnings("resource")
+    PersistenceContext(String... properties) {
+        postgresContainer = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17-alpine"));
+        postgresContainer.start();
+        context = new SpringApplicationBuilder(Config.class)
+                .properties(properties)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=" + postgresContainer.getJdbcUrl(),
+                        "spring.datasource.username=" + postgresContainer.getUsername(),
+                        "spring.datasource.password=" + postgresContainer.getPassword(),
+                        // same settings as in the application configuration
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        "spring.jpa.properties.hibernate.order_inserts=true",
+                        "spring.jpa.properties.hibernate.order_updates=true",
+                        "spring.jpa.properties.hibernate.id.optimizer.pooled.preferred="
+                                + "de.seuhd.campuscoffee.data.persistence.ResettablePooledLoOptimizer")
+                .run();
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        postgresContainer.stop();
+    }
+
+    @Configuration
+    @EnableAutoConfiguration
+    @EntityScan("de.seuhd.campuscoffee.data.persistence")
+    @EnableJpaRepositories("de.seuhd.campuscoffee.data.persistence")
+    @ComponentScan(
+            basePackages = {"de.seuhd.campuscoffee.data.impl", "de.seuhd.campuscoffee.data.mapper"},
+            excludeFilters = @ComponentScan.Filter(type = FilterType.REGEX,
+                    pattern = ".*\\.(OsmDataServiceImpl|OsmNodeCache)"))
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        /**
+         * Records the metrics of the connection pool (e.g., {@code hikaricp.connections.acquire}, the time threads
+         * wait for a connection), which the actuator would register in the application.
+         */
+        @Bean
+        static BeanPostProcessor connectionPoolMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof HikariDataSource dataSource) {
+                        dataSource.setMetricRegistry(meterRegistry.getObject());
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package de.seuhd.campuscoffee.benchmarks;
+
+import de.seuhd.campuscoffee.api.dtos.PosDto;
+import de.seuhd.campuscoffee.api.mapper.PosDtoMapper;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion between POS domain objects and DTOs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PosDtoMapperBenchmark {
+    private final PosDtoMapper posDtoMapper = Mappers.getMapper(PosDtoMapper.class);
+
+    private Pos pos;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        pos = Pos.builder()
+                .id(1L).createdAt(now).updatedAt(now)
+                .name("Schmelzpunkt").description("Great waffles")
+                .type(PosType.CAFE).campus(CampusType.ALTSTADT)
+                .street("Hauptstraße").houseNumber("90").postalCode(69117).city("Heidelberg")
+                .build();
+    }
+
+    @Benchmark
+    public PosDto fromDomain() {
+        return posDtoMapper.fromDomain(pos);
+    }
+
+    @Benchmark
+    public Pos roundTrip() {
+        return posDtoMapper.toDomain(posDtoMapper.fromDomain(pos));
+    }
+}
@@ -0,0 +1,85 @@
+package de.seuhd.campuscoffee.benchmarks;
+
+import de.seuhd.campuscoffee.data.mapper.PosEntityMapper;
+import de.seuhd.campuscoffee.data.persistence.AddressEntity;
+import de.seuhd.campuscoffee.data.persistence.PosEntity;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion between POS domain objects and JPA entities,
+ * including the parsing and formatting of house numbers with suffixes.
+ * Run with {@code -prof gc} to compare the allocation rates of the current and the former house number handling.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PosEntityMapperBenchmark {
+    private final PosEntityMapper posEntityMapper = Mappers.getMapper(PosEntityMapper.class);
+
+    @Param({"90", "21a"})
+    private String houseNumber;
+
+    private Pos pos;
+    private PosEntity posEntity;
+
+    @Setup
+    public void setUp() {
+        pos = Pos.builder()
+                .name("Schmelzpunkt").description("Great waffles")
+                .type(PosType.CAFE).campus(CampusType.ALTSTADT)
+                .street("Hauptstraße").houseNumber(houseNumber).postalCode(69117).city("Heidelberg")
+                .build();
+        posEntity = posEntityMapper.toEntity(pos);
+        posEntity.setId(1L);
+    }
+
+    @Benchmark
+    public PosEntity toEntity() {
+        return posEntityMapper.toEntity(pos);
+    }
+
+    @Benchmark
+    public Pos fromEntity() {
+        return posEntityMapper.fromEntity(posEntity);
+    }
+
+    @Benchmark
+    public AddressEntity splitHouseNumber() {
+        return posEntityMapper.splitHouseNumber(pos, new AddressEntity());
+    }
+
+    @Benchmark
+    public String mergeHouseNumber() {
+        return posEntityMapper.mergeHouseNumber(posEntity);
+    }
+
+    @Benchmark
+    public AddressEntity legacySplitHouseNumber() {
+        // former regex-based implementation as a baseline
+        AddressEntity addressEntity = new AddressEntity();
+        String numericPart = pos.houseNumber().replaceAll("[^0-9]", "");
+        String suffixPart = pos.houseNumber().replaceAll("[0-9]", "");
+        addressEntity.setHouseNumber(numericPart.isEmpty() ? null : Integer.parseInt(numericPart));
+        addressEntity.setHouseNumberSuffix(suffixPart.isEmpty() ? null : suffixPart.charAt(0));
+        return addressEntity;
+    }
+
+    @Benchmark
+    public String legacyMergeHouseNumber() {
+        // former implementation as a baseline
+        String houseNumberWithSuffix = posEntity.getAddress().getHouseNumber().toString();
+        if (posEntity.getAddress().getHouseNumberSuffix() != null) {
+            houseNumberWithSuffix += posEntity.getAddress().getHouseNumberSuffix();
+        }
+        return houseNumberWithSuffix;
+    }
+}
@@ -0,0 +1,88 @@
+package de.seuhd.campuscoffee.benchmarks;
+
+import de.seuhd.campuscoffee.data.mapper.PosEntityMapper;
+import de.seuhd.campuscoffee.data.persistence.PosEntity;
+import de.seuhd.campuscoffee.data.persistence.PosRepository;
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import de.seuhd.campuscoffee.domain.ports.PosDataService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures the latency of updating a POS (the persistence part of {@code PUT /api/pos/{id}}) with concurrent clients
+ * against a PostgreSQL testcontainer. Each thread updates its own POS, so the threads do not wait for row locks.
+ * Requires a running Docker daemon (see {@link PersistenceContext}).
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class UpdateBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Database {
+        private final AtomicInteger threads = new AtomicInteger();
+        private PersistenceContext context;
+        private PosDataService posDataService;
+        private PosRepository posRepository;
+        private PosEntityMapper posEntityMapper;
+
+        @Setup
+        public void setUp() {
+            context = new PersistenceContext();
+            posDataService = context.getBean(PosDataService.class);
+            posRepository = context.getBean(PosRepository.class);
+            posEntityMapper = context.getBean(PosEntityMapper.class);
+            posDataService.clear();
+        }
+
+        @TearDown
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        private Pos pos;
+        private int revision;
+
+        @Setup
+        public void setUp(Database database) {
+            pos = database.posDataService.upsert(Pos.builder()
+                    .name("POS " + database.threads.incrementAndGet()).description("Revision 0")
+                    .type(PosType.CAFE).campus(CampusType.ALTSTADT)
+                    .street("Hauptstraße").houseNumber("1").postalCode(69117).city("Heidelberg")
+                    .build());
+        }
+
+        Pos nextRevision() {
+            return pos.toBuilder().description("Revision " + ++revision).build();
+        }
+    }
+
+    @Benchmark
+    public Pos upsert(Database database, Client client) {
+        // single UPDATE ... RETURNING statement
+        return database.posDataService.upsert(client.nextRevision());
+    }
+
+    @Benchmark
+    public Pos legacyUpsert(Database database, Client client) {
+        // former implementation as a baseline: existence check in the domain service,
+        // second SELECT in the data service, and UPDATE with flush
+        Pos pos = client.nextRevision();
+        database.posDataService.getById(pos.id());
+        PosEntity posEntity = database.posRepository.findById(pos.id())
+                .orElseThrow(() -> new NotFoundException(Pos.class, pos.id()));
+        database.posEntityMapper.updateEntity(pos, posEntity);
+        return database.posEntityMapper.fromEntity(database.posRepository.saveAndFlush(posEntity));
+    }
+}
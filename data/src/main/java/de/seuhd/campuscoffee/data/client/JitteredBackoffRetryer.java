@@ -0,0 +1,97 @@
+package de.seuhd.campuscoffee.data.client;
+
+import feign.Request;
+import feign.RetryableException;
+import feign.Retryer;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feign retryer that repeats idempotent requests with exponential backoff and full jitter:
+ * before the n-th retry, it waits a random time between zero and {@code min(maxBackoff, initialBackoff * 2^(n-1))},
+ * so that clients failing at the same time do not retry in lockstep.
+ * A {@code Retry-After} header of the response is honored instead if it does not exceed the maximum backoff;
+ * otherwise, the request fails immediately.
+ * <p>
+ * Feign clones the retryer for every request, so the attempt count is not shared.
+ */
+@Slf4j
+class JitteredBackoffRetryer implements Retryer {
+    private final OsmApiProperties.Retry properties;
+    private final Counter retryCounter;
+    private int attempt = 1;
+
+    /**
+     * Creates a retryer for a single request.
+     *
+     * @param properties   the configuration of retries
+     * @param retryCounter the counter of performed retries
+     */
+    JitteredBackoffRetryer(OsmApiProperties.Retry properties, Counter retryCounter) {
+        this.properties = properties;
+        this.retryCounter = retryCounter;
+    }
+
+    @Override
+    public void continueOrPropagate(RetryableException e) {
+        if (attempt >= properties.maxAttempts() || !isIdempotent(e.method())) {
+            throw e;
+        }
+        long backoffMillis = backoffMillis(e.retryAfter());
+        if (backoffMillis < 0) {
+            throw e;
+        }
+        log.debug("Retrying request to the OSM API in {} ms after attempt {} failed: {}",
+                backoffMillis, attempt, e.getMessage());
+        try {
+            TimeUnit.MILLISECONDS.sleep(backoffMillis);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+        attempt++;
+        retryCounter.increment();
+    }
+
+    @Override
+    public Retryer clone() {
+        return new JitteredBackoffRetryer(properties, retryCounter);
+    }
+
+    /**
+     * Determines the delay before the next retry.
+     *
+     * @param retryAfter the time requested by the server in epoch milliseconds; null if not requested
+     * @return the delay in milliseconds, or -1 if the server requested a delay above the maximum backoff
+     */
+    private long backoffMillis(Long retryAfter) {
+        long maxBackoffMillis = properties.maxBackoff().toMillis();
+        if (retryAfter != null) {
+            long requestedMillis = Math.max(0, retryAfter - System.currentTimeMillis());
+            return requestedMillis <= maxBackoffMillis ? requestedMillis : -1;
+        }
+        // the shift is bounded, so the initial backoff cannot overflow
+        long ceilingMillis = Math.min(maxBackoffMillis,
+                properties.initialBackoff().toMillis() << Math.min(attempt - 1, 30));
+        return ThreadLocalRandom.current().nextLong(ceilingMillis + 1);
+    }
+
+    /**
+     * Checks whether a request can be repeated without changing the outcome (see RFC 9110, section 9.2.2).
+     *
+     * @param method the method of the failed request; may be null if unknown
+     * @return true for GET, HEAD, OPTIONS, PUT, and DELETE requests
+     */
+    private static boolean isIdempotent(Request.HttpMethod method) {
+        if (method == null) {
+            return false;
+        }
+        return switch (method) {
+            case GET, HEAD, OPTIONS, PUT, DELETE -> true;
+            default -> false;
+        };
+    }
+}
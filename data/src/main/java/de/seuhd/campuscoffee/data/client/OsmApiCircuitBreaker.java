@@ -0,0 +1,105 @@
+package de.seuhd.campuscoffee.data.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker for requests to the OpenStreetMap API (see {@link ResilientOsmClient}).
+ * <p>
+ * The circuit opens after a number of consecutive failed attempts and rejects all attempts while it is open.
+ * After the open duration, a single trial attempt is let through (half-open): its success closes the circuit,
+ * its failure opens it again. Outcomes of attempts that started before the circuit opened are ignored.
+ * All methods are synchronized, which is cheap compared to the requests they guard.
+ */
+@Slf4j
+final class OsmApiCircuitBreaker {
+    /**
+     * The states of the circuit; the ordinal is published as gauge value.
+     */
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    /**
+     * Creates a closed circuit breaker.
+     *
+     * @param failureThreshold the number of consecutive failed attempts that open the circuit
+     * @param openDuration     the time attempts are rejected before a trial attempt is let through
+     */
+    OsmApiCircuitBreaker(int failureThreshold, Duration openDuration) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("The failure threshold must be positive.");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Checks whether an attempt may be performed; the outcome of a permitted attempt must be reported.
+     *
+     * @return true if the circuit is closed or the attempt is the trial of a half-open circuit
+     */
+    synchronized boolean tryAcquirePermission() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> {
+                if (System.nanoTime() - openedAt < openNanos) {
+                    yield false;
+                }
+                state = State.HALF_OPEN;
+                trialInFlight = true;
+                yield true;
+            }
+            case HALF_OPEN -> {
+                if (trialInFlight) {
+                    yield false;
+                }
+                trialInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    /**
+     * Reports a successful attempt.
+     */
+    synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            log.info("Closing circuit of the OSM API after a successful trial request");
+            state = State.CLOSED;
+            trialInFlight = false;
+        }
+        if (state == State.CLOSED) {
+            consecutiveFailures = 0;
+        }
+    }
+
+    /**
+     * Reports a failed attempt.
+     */
+    synchronized void onFailure() {
+        if (state == State.HALF_OPEN || (state == State.CLOSED && ++consecutiveFailures >= failureThreshold)) {
+            log.warn("Opening circuit of the OSM API for {} ms after {}", openNanos / 1_000_000,
+                    state == State.HALF_OPEN ? "a failed trial request" : consecutiveFailures + " consecutive failures");
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            consecutiveFailures = 0;
+            trialInFlight = false;
+        }
+    }
+
+    /**
+     * Returns the current state without advancing an open circuit to half-open.
+     *
+     * @return the state of the circuit
+     */
+    synchronized State state() {
+        return state;
+    }
+}
@@ -0,0 +1,59 @@
+package de.seuhd.campuscoffee.data.client;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for requests to the OpenStreetMap API (see {@link OsmFeignClientConfig}).
+ *
+ * @param connectTimeout the maximum time to establish a connection
+ * @param readTimeout    the maximum time to wait for (each part of) a response
+ * @param retry          the retries of failed requests
+ * @param circuitBreaker the circuit breaker that fails fast while the API is unavailable
+ * @param bulkhead       the limit of concurrent requests
+ */
+@ConfigurationProperties(prefix = "osm.api")
+public record OsmApiProperties(
+        @DefaultValue("2s") Duration connectTimeout,
+        @DefaultValue("10s") Duration readTimeout,
+        @DefaultValue Retry retry,
+        @DefaultValue CircuitBreaker circuitBreaker,
+        @DefaultValue Bulkhead bulkhead
+) {
+    /**
+     * Retries of idempotent requests that failed with an I/O error (including timeouts) or a transient status.
+     *
+     * @param maxAttempts    the maximum number of attempts per request, including the first one
+     * @param initialBackoff the upper bound of the delay before the first retry; doubled for every further retry
+     * @param maxBackoff     the upper bound of the delay before any retry
+     */
+    public record Retry(
+            @DefaultValue("3") int maxAttempts,
+            @DefaultValue("200ms") Duration initialBackoff,
+            @DefaultValue("2s") Duration maxBackoff
+    ) {}
+
+    /**
+     * Circuit breaker that opens after consecutive failed attempts.
+     *
+     * @param failureThreshold the number of consecutive failed attempts that open the circuit
+     * @param openDuration     the time requests are rejected before a single trial request is let through
+     */
+    public record CircuitBreaker(
+            @DefaultValue("5") int failureThreshold,
+            @DefaultValue("30s") Duration openDuration
+    ) {}
+
+    /**
+     * Bulkhead that limits the concurrent requests across all callers.
+     *
+     * @param maxConcurrentCalls the maximum number of requests in flight
+     * @param maxWait            the maximum time to wait for a free slot before the request is rejected
+     */
+    public record Bulkhead(
+            @DefaultValue("16") int maxConcurrentCalls,
+            @DefaultValue("5s") Duration maxWait
+    ) {}
+}
@@ -3,6 +3,7 @@ package de.seuhd.campuscoffee.data.client;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
 /**
  * Feign client for OpenStreetMap API integration.
@@ -21,4 +22,14 @@ public interface OsmFeignClient {
      */
     @GetMapping("/node/{id}")
     String fetchNode(@PathVariable("id") Long nodeId);
+
+    /**
+     * Fetches several nodes with a single request from the OpenStreetMap API.
+     * The API responds with 404 (Not Found) if any of the nodes does not exist.
+     *
+     * @param nodeIds the comma-separated OSM node IDs
+     * @return XML response with one node element per node as a String
+     */
+    @GetMapping("/nodes")
+    String fetchNodes(@RequestParam("nodes") String nodeIds);
 }
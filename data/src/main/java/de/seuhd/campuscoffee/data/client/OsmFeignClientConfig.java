@@ -1,13 +1,25 @@
 package de.seuhd.campuscoffee.data.client;
 
+import feign.Client;
+import feign.Request;
 import feign.RequestInterceptor;
+import feign.RetryableException;
+import feign.Retryer;
+import feign.codec.ErrorDecoder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
 
 /**
  * Configuration for OSM Feign client.
+ * Requests time out, idempotent requests are retried after transient failures, and all attempts pass
+ * a bulkhead and a circuit breaker (see {@link OsmApiProperties}).
+ * <p>
+ * Not annotated with {@code @Configuration}, so the beans are only created in the context of the OSM client
+ * instead of also being picked up by the component scan (which would create a second, unused circuit breaker).
  */
-@Configuration
 public class OsmFeignClientConfig {
     /**
      * Adds User-Agent header to all OSM API requests.
@@ -19,4 +31,61 @@ public class OsmFeignClientConfig {
         return requestTemplate ->
             requestTemplate.header("User-Agent", "CampusCoffee/0.0.2");
     }
+
+    /**
+     * Sets the connect and read timeouts of OSM API requests.
+     *
+     * @param properties the configuration of requests to the OSM API
+     * @return the request options with the configured timeouts
+     */
+    @Bean
+    public Request.Options osmRequestOptions(OsmApiProperties properties) {
+        return new Request.Options(properties.connectTimeout(), properties.readTimeout(), true);
+    }
+
+    /**
+     * Retries idempotent OSM API requests with exponential jittered backoff.
+     *
+     * @param properties    the configuration of requests to the OSM API
+     * @param meterRegistry the registry to publish the number of retries to, if available
+     * @return the retryer that Feign clones for every request
+     */
+    @Bean
+    public Retryer osmRetryer(OsmApiProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        Counter retryCounter = Counter.builder("osm.api.retries")
+                .description("Number of retried requests to the OSM API")
+                .register(meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+        return new JitteredBackoffRetryer(properties.retry(), retryCounter);
+    }
+
+    /**
+     * Makes responses with a transient status retryable; Feign only retries I/O errors by default.
+     *
+     * @return the error decoder that delegates to Feign's default decoder
+     */
+    @Bean
+    public ErrorDecoder osmErrorDecoder() {
+        ErrorDecoder defaultDecoder = new ErrorDecoder.Default();
+        return (methodKey, response) -> {
+            Exception exception = defaultDecoder.decode(methodKey, response);
+            if (exception instanceof RetryableException || !ResilientOsmClient.isTransient(response.status())) {
+                return exception;
+            }
+            return new RetryableException(response.status(), exception.getMessage(),
+                    response.request().httpMethod(), exception, (Long) null, response.request());
+        };
+    }
+
+    /**
+     * Guards all attempts of OSM API requests with a bulkhead and a circuit breaker.
+     *
+     * @param properties    the configuration of requests to the OSM API
+     * @param meterRegistry the registry to publish the metrics to, if available
+     * @return the client that performs the requests with Feign's default HTTP client
+     */
+    @Bean
+    public Client osmClient(OsmApiProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ResilientOsmClient(new Client.Default(null, null), properties,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
 }
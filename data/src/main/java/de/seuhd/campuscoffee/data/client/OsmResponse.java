@@ -1,23 +1,31 @@
 package de.seuhd.campuscoffee.data.client;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
-import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.List;
 import java.util.Map;
 
 /**
- * DTO for OSM API XML responses.
- * Combines the root osm element and nested node element into a single class.
+ * DTO for OSM API XML responses (see {@link OsmXmlParser}).
+ * Combines the root osm element and its nested node elements into a single class.
+ * Responses of single-node requests contain exactly one node, responses of multi-node requests contain several.
  */
 @Data
 @Builder(toBuilder = true)
-@JacksonXmlRootElement(localName = "osm")
-@JsonIgnoreProperties(ignoreUnknown = true)
-@JsonDeserialize(using = OsmResponseDeserializer.class)
 public class OsmResponse {
-    private Long id;
-    private Map<String, String> tags;
+    private List<Node> nodes;
+
+    /**
+     * A node element with its ID, its version, its coordinates, and the tags relevant for CampusCoffee.
+     */
+    @Data
+    @Builder(toBuilder = true)
+    public static class Node {
+        private Long id;
+        private Long version;
+        private Double latitude;
+        private Double longitude;
+        private Map<String, String> tags;
+    }
 }
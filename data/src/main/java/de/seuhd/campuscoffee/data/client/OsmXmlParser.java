@@ -0,0 +1,144 @@
+package de.seuhd.campuscoffee.data.client;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming (StAX) parser for OSM XML responses.
+ * Reads node ids, versions, coordinates, and the tags relevant for CampusCoffee in a single pass
+ * without building a document tree.
+ * Irrelevant elements (e.g., ways or relations) and tags are skipped without reading their values.
+ * <p>
+ * The underlying {@link XMLInputFactory} is created once and is thread-safe after configuration,
+ * so this parser can be used concurrently.
+ */
+public final class OsmXmlParser {
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    private OsmXmlParser() {}
+
+    /**
+     * Parses an OSM XML response with one or more node elements.
+     *
+     * @param xml the XML response from the OSM API
+     * @return the node ids, versions, coordinates, and relevant tags in document order
+     * @throws XMLStreamException if the XML is malformed or does not contain any node element with an id
+     */
+    public static OsmResponse parse(String xml) throws XMLStreamException {
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(xml));
+        try {
+            List<OsmResponse.Node> nodes = new ArrayList<>();
+            Long nodeId = null;
+            Long version = null;
+            Double latitude = null;
+            Double longitude = null;
+            Map<String, String> tags = null; // only set while inside a node element
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String localName = reader.getLocalName();
+                    if ("node".equals(localName)) {
+                        String id = reader.getAttributeValue(null, "id");
+                        if (id == null) {
+                            throw new XMLStreamException("Missing required elements or attributes in OSM XML response.");
+                        }
+                        nodeId = Long.parseLong(id);
+                        version = parseVersion(reader.getAttributeValue(null, "version"));
+                        latitude = parseCoordinate(reader.getAttributeValue(null, "lat"));
+                        longitude = parseCoordinate(reader.getAttributeValue(null, "lon"));
+                        tags = new HashMap<>();
+                    } else if (tags != null && "tag".equals(localName)) {
+                        String key = reader.getAttributeValue(null, "k");
+                        if (key != null && isRelevantTag(key)) {
+                            tags.put(key, reader.getAttributeValue(null, "v"));
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && tags != null
+                        && "node".equals(reader.getLocalName())) {
+                    nodes.add(OsmResponse.Node.builder()
+                            .id(nodeId)
+                            .version(version)
+                            .latitude(latitude)
+                            .longitude(longitude)
+                            .tags(tags)
+                            .build());
+                    tags = null;
+                }
+            }
+
+            if (nodes.isEmpty()) {
+                throw new XMLStreamException("Missing required elements or attributes in OSM XML response.");
+            }
+            return OsmResponse.builder()
+                    .nodes(nodes)
+                    .build();
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Checks whether a tag is used when converting OSM nodes to POS.
+     *
+     * @param key the tag key
+     * @return true for name, address, amenity, and description tags
+     */
+    private static boolean isRelevantTag(String key) {
+        return switch (key) {
+            case "name", "name:de", "name:en", "amenity", "description" -> true;
+            default -> key.startsWith("addr:");
+        };
+    }
+
+    /**
+     * Parses the value of a coordinate attribute.
+     *
+     * @param value the attribute value; may be null (e.g., for deleted nodes)
+     * @return the coordinate in degrees, or null if the attribute is missing
+     * @throws XMLStreamException if the attribute value is not a number
+     */
+    private static Double parseCoordinate(String value) throws XMLStreamException {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new XMLStreamException("Invalid coordinate in OSM XML response: " + value);
+        }
+    }
+
+    /**
+     * Parses the value of a version attribute.
+     *
+     * @param value the attribute value; may be null
+     * @return the version, or null if the attribute is missing
+     * @throws XMLStreamException if the attribute value is not a number
+     */
+    private static Long parseVersion(String value) throws XMLStreamException {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new XMLStreamException("Invalid version in OSM XML response: " + value);
+        }
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // OSM responses neither need DTDs nor external entities, disable them to prevent XXE attacks
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
+}
@@ -0,0 +1,62 @@
+package de.seuhd.campuscoffee.data.client;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Streaming (StAX) writer for OSM XML documents, the counterpart of {@link OsmXmlParser}.
+ * Writes a node with its id, version, coordinates, and tags, so that it can be stored and parsed again later.
+ * <p>
+ * The underlying {@link XMLOutputFactory} is created once and is thread-safe,
+ * so this writer can be used concurrently.
+ */
+public final class OsmXmlWriter {
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    private OsmXmlWriter() {}
+
+    /**
+     * Writes a single node as an OSM XML document.
+     * Tags are written in the order of their keys, so equal nodes result in equal documents.
+     *
+     * @param node the node to write; tags without value are omitted
+     * @return the OSM XML document with a single node element
+     * @throws XMLStreamException if the document cannot be written
+     */
+    public static String write(OsmResponse.Node node) throws XMLStreamException {
+        StringWriter out = new StringWriter();
+        XMLStreamWriter writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(out);
+        try {
+            writer.writeStartElement("osm");
+            writer.writeAttribute("version", "0.6");
+            writer.writeStartElement("node");
+            writer.writeAttribute("id", String.valueOf(node.getId()));
+            if (node.getVersion() != null) {
+                writer.writeAttribute("version", String.valueOf(node.getVersion()));
+            }
+            if (node.getLatitude() != null && node.getLongitude() != null) {
+                writer.writeAttribute("lat", String.valueOf(node.getLatitude()));
+                writer.writeAttribute("lon", String.valueOf(node.getLongitude()));
+            }
+            if (node.getTags() != null) {
+                for (Map.Entry<String, String> tag : new TreeMap<>(node.getTags()).entrySet()) {
+                    if (tag.getValue() != null) {
+                        writer.writeEmptyElement("tag");
+                        writer.writeAttribute("k", tag.getKey());
+                        writer.writeAttribute("v", tag.getValue());
+                    }
+                }
+            }
+            writer.writeEndElement();
+            writer.writeEndElement();
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,175 @@
+package de.seuhd.campuscoffee.data.client;
+
+import de.seuhd.campuscoffee.domain.exceptions.CapacityExceededException;
+import de.seuhd.campuscoffee.domain.exceptions.ServiceUnavailableException;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feign client that guards every attempt of a request to the OpenStreetMap API with a bulkhead and a circuit breaker.
+ * <p>
+ * The bulkhead caps the attempts in flight across all callers; attempts that do not get a slot within the
+ * configured wait time are rejected with a {@link CapacityExceededException}. While the circuit is open,
+ * attempts are rejected with a {@link ServiceUnavailableException} without contacting the API.
+ * Both exceptions are not retried by Feign. I/O errors (including timeouts) and transient statuses
+ * (see {@link #isTransient(int)}) count as failures of the circuit breaker, all other responses as successes.
+ * <p>
+ * Responses are read completely while the slot is held, so slow response bodies are covered by the bulkhead and
+ * the circuit breaker as well; OSM node documents are small.
+ * The duration of the attempts by status, the state of the circuit, and the rejected attempts are published as
+ * {@code osm.api.*} metrics.
+ */
+@Slf4j
+class ResilientOsmClient implements Client {
+    private static final String IO_ERROR = "IO_ERROR";
+
+    private final Client delegate;
+    private final OsmApiCircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final Duration maxWait;
+    private final MeterRegistry meterRegistry;
+    private final Counter circuitRejectedCounter;
+    private final Counter bulkheadRejectedCounter;
+
+    /**
+     * Creates the bulkhead and the circuit breaker around the given client.
+     *
+     * @param delegate      the client that performs the HTTP requests
+     * @param properties    the configuration of requests to the OSM API
+     * @param meterRegistry the registry to publish the metrics to
+     */
+    ResilientOsmClient(Client delegate, OsmApiProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.circuitBreaker = new OsmApiCircuitBreaker(properties.circuitBreaker().failureThreshold(),
+                properties.circuitBreaker().openDuration());
+        int maxConcurrentCalls = properties.bulkhead().maxConcurrentCalls();
+        this.bulkhead = new Semaphore(maxConcurrentCalls, true);
+        this.maxWait = properties.bulkhead().maxWait();
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("osm.api.circuit.state", circuitBreaker, breaker -> breaker.state().ordinal())
+                .description("State of the circuit of the OSM API (0: closed, 1: open, 2: half-open)")
+                .register(meterRegistry);
+        this.circuitRejectedCounter = Counter.builder("osm.api.circuit.rejected")
+                .description("Number of requests to the OSM API rejected because the circuit was open")
+                .register(meterRegistry);
+        Gauge.builder("osm.api.bulkhead.active", bulkhead, slots -> maxConcurrentCalls - slots.availablePermits())
+                .description("Number of requests to the OSM API in flight")
+                .register(meterRegistry);
+        this.bulkheadRejectedCounter = Counter.builder("osm.api.bulkhead.rejected")
+                .description("Number of requests to the OSM API rejected because too many were in flight")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        acquireSlot();
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                circuitRejectedCounter.increment();
+                throw new ServiceUnavailableException("The OpenStreetMap API is unavailable after repeated failures. " +
+                        "Please retry later.");
+            }
+            return executeAndRecord(request, options);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Performs a permitted attempt, reads its response, and reports its outcome to the circuit breaker.
+     *
+     * @param request the request to perform
+     * @param options the timeouts of the request
+     * @return the response with a buffered body
+     * @throws IOException if the request fails or times out
+     */
+    private Response executeAndRecord(Request request, Request.Options options) throws IOException {
+        long start = System.nanoTime();
+        String status = IO_ERROR;
+        boolean failed = true;
+        try {
+            Response response = buffer(delegate.execute(request, options));
+            status = String.valueOf(response.status());
+            failed = isTransient(response.status());
+            return response;
+        } finally {
+            // unexpected runtime exceptions count as failures, so a half-open circuit never waits for a lost trial
+            if (failed) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            Timer.builder("osm.api.requests")
+                    .description("Duration of requests to the OSM API (per attempt)")
+                    .tag("status", status)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Waits for a free slot of the bulkhead.
+     *
+     * @throws CapacityExceededException if no slot becomes free in time
+     */
+    private void acquireSlot() {
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            bulkheadRejectedCounter.increment();
+            log.warn("Rejected request to the OSM API: no free slot within {}", maxWait);
+            throw new CapacityExceededException("Too many concurrent requests to the OpenStreetMap API. " +
+                    "Please retry later.");
+        }
+    }
+
+    /**
+     * Reads the body of a response into memory and closes the connection.
+     *
+     * @param response the response as received
+     * @return an equivalent response with a buffered body
+     * @throws IOException if the body cannot be read (e.g., because of the read timeout)
+     */
+    private static Response buffer(Response response) throws IOException {
+        try (response) {
+            if (response.body() == null) {
+                return response;
+            }
+            try (InputStream body = response.body().asInputStream()) {
+                return response.toBuilder()
+                        .body(Util.toByteArray(body))
+                        .build();
+            }
+        }
+    }
+
+    /**
+     * Checks whether a status indicates a transient failure that may disappear when the request is repeated.
+     *
+     * @param status the HTTP status of a response
+     * @return true for 429 (Too Many Requests), 502 (Bad Gateway), 503 (Service Unavailable),
+     *         and 504 (Gateway Timeout)
+     */
+    static boolean isTransient(int status) {
+        return status == 429 || status == 502 || status == 503 || status == 504;
+    }
+}
@@ -1,34 +1,145 @@
 package de.seuhd.campuscoffee.data.impl;
 
-import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import de.seuhd.campuscoffee.data.client.OsmFeignClient;
 import de.seuhd.campuscoffee.data.client.OsmResponse;
+import de.seuhd.campuscoffee.data.client.OsmXmlParser;
+import de.seuhd.campuscoffee.domain.exceptions.CapacityExceededException;
 import de.seuhd.campuscoffee.domain.exceptions.MissingFieldException;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.ServiceUnavailableException;
 import de.seuhd.campuscoffee.domain.model.OsmAmenity;
 import de.seuhd.campuscoffee.domain.model.OsmNode;
 import de.seuhd.campuscoffee.domain.ports.OsmDataService;
 import feign.FeignException;
+import feign.RetryableException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
+import javax.xml.stream.XMLStreamException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * OSM data service that fetches node data from the OpenStreetMap API.
+ * Fetched nodes are kept in a local cache (see {@link OsmNodeCache}): fresh nodes are served without a request,
+ * stale nodes are fetched again, and stale nodes are served as they are while the API is unavailable.
+ * The OSM API answers a multi-node request with 404 if any of its nodes does not exist, so the nodes of such a request
+ * are split in halves until the missing nodes are isolated; this takes a few requests per missing node only.
+ * Requests that still fail after their retries, and requests rejected by the circuit breaker or the bulkhead of the
+ * client (see {@link de.seuhd.campuscoffee.data.client.OsmFeignClientConfig}), are reported as
+ * {@link ServiceUnavailableException} or {@link CapacityExceededException} instead of as missing nodes.
  */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 class OsmDataServiceImpl implements OsmDataService {
     private final OsmFeignClient osmFeignClient;
+    private final OsmNodeCache osmNodeCache;
 
     @Override
     public @NonNull OsmNode fetchNode(@NonNull Long nodeId) {
+        OsmNodeCache.CachedNode cachedNode = osmNodeCache.getAll(List.of(nodeId)).get(nodeId);
+        if (cachedNode != null && cachedNode.fresh()) {
+            log.debug("Using cached OSM node {}", nodeId);
+            return convertToOsmNode(cachedNode.node());
+        }
+
+        OsmResponse.Node node;
+        try {
+            node = requestNode(nodeId);
+        } catch (ServiceUnavailableException | CapacityExceededException e) {
+            if (cachedNode == null) {
+                throw e;
+            }
+            log.warn("Using stale cached OSM node {} fetched at {}: {}", nodeId, cachedNode.fetchedAt(), e.getMessage());
+            osmNodeCache.recordStaleUse(1);
+            return convertToOsmNode(cachedNode.node());
+        }
+        osmNodeCache.putAll(List.of(node), cachedNode == null ? Map.of() : Map.of(nodeId, cachedNode));
+        return convertToOsmNode(node);
+    }
+
+    @Override
+    public @NonNull Map<Long, OsmNode> fetchNodes(@NonNull List<Long> nodeIds) {
+        if (nodeIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, OsmNodeCache.CachedNode> cachedNodes = osmNodeCache.getAll(nodeIds);
+        Map<Long, OsmNode> nodes = new HashMap<>();
+        List<Long> nodeIdsToFetch = new ArrayList<>();
+        for (Long nodeId : nodeIds) {
+            OsmNodeCache.CachedNode cachedNode = cachedNodes.get(nodeId);
+            if (cachedNode != null && cachedNode.fresh()) {
+                putConverted(nodes, cachedNode.node());
+            } else {
+                nodeIdsToFetch.add(nodeId);
+            }
+        }
+        if (nodeIdsToFetch.isEmpty()) {
+            log.debug("Using {} cached OSM nodes", nodeIds.size());
+            return nodes;
+        }
+
+        List<OsmResponse.Node> fetchedNodes;
+        try {
+            fetchedNodes = requestNodes(nodeIdsToFetch);
+        } catch (ServiceUnavailableException | CapacityExceededException e) {
+            List<OsmResponse.Node> staleNodes = nodeIdsToFetch.stream()
+                    .map(cachedNodes::get)
+                    .filter(Objects::nonNull)
+                    .map(OsmNodeCache.CachedNode::node)
+                    .toList();
+            if (nodes.isEmpty() && staleNodes.isEmpty()) {
+                throw e;
+            }
+            // nodes that are not cached at all are omitted, so callers learn why when fetching them on their own
+            log.warn("Using {} stale cached OSM nodes: {}", staleNodes.size(), e.getMessage());
+            osmNodeCache.recordStaleUse(staleNodes.size());
+            staleNodes.forEach(node -> putConverted(nodes, node));
+            return nodes;
+        }
+        osmNodeCache.putAll(fetchedNodes, cachedNodes);
+        fetchedNodes.forEach(node -> putConverted(nodes, node));
+
+        log.debug("Successfully fetched and parsed {} of {} OSM nodes ({} cached)",
+                nodes.size(), nodeIds.size(), nodeIds.size() - nodeIdsToFetch.size());
+        return nodes;
+    }
+
+    @Override
+    public @NonNull Map<Long, OsmNode> fetchCurrentNodes(@NonNull List<Long> nodeIds) {
+        if (nodeIds.isEmpty()) {
+            return Map.of();
+        }
+        // the cache is not consulted, so lookups of the caller do not distort its hit rate; it is refreshed, though
+        List<OsmResponse.Node> fetchedNodes = requestNodes(nodeIds);
+        osmNodeCache.putAll(fetchedNodes, Map.of());
+        Map<Long, OsmNode> nodes = new HashMap<>();
+        fetchedNodes.forEach(node -> putConverted(nodes, node));
+
+        log.debug("Successfully fetched and parsed the current versions of {} of {} OSM nodes",
+                nodes.size(), nodeIds.size());
+        return nodes;
+    }
+
+    /**
+     * Requests a single node from the OSM API.
+     * If the node does not exist (anymore), it is also removed from the cache.
+     *
+     * @param nodeId the ID of the node
+     * @return the parsed node
+     * @throws NotFoundException if the node does not exist or cannot be fetched
+     * @throws ServiceUnavailableException if the OSM API is unavailable
+     * @throws CapacityExceededException if too many requests to the OSM API are in flight
+     */
+    private OsmResponse.Node requestNode(Long nodeId) {
         try {
             log.debug("Fetching OSM node {}...", nodeId);
             String xmlResponse = osmFeignClient.fetchNode(nodeId);
@@ -38,20 +149,24 @@ class OsmDataServiceImpl implements OsmDataService {
                 throw new NotFoundException(OsmNode.class, nodeId);
             }
 
-            OsmNode node = parseOsmXml(xmlResponse, nodeId);
+            OsmResponse.Node node = parseOsmXml(xmlResponse, nodeId);
 
             log.debug("Successfully fetched and parsed OSM node {}", nodeId);
             return node;
 
-        } catch (FeignException.NotFound e) {
+        } catch (FeignException.NotFound | FeignException.Gone e) {
             log.warn("OSM node {} not found", nodeId);
+            osmNodeCache.remove(nodeId);
             throw new NotFoundException(OsmNode.class, nodeId);
+        } catch (RetryableException e) {
+            log.error("OSM API unavailable while fetching node {}: {}", nodeId, e.getMessage());
+            throw unavailable(e);
         } catch (FeignException e) {
             log.error("HTTP error fetching OSM node {}: {} - {}",
                     nodeId, e.status(), e.getMessage());
             throw new NotFoundException(OsmNode.class, nodeId);
-        } catch (MissingFieldException e) {
-            // re-throw missing fields exception as-is
+        } catch (NotFoundException | ServiceUnavailableException | CapacityExceededException e) {
+            // re-throw domain exceptions as-is
             throw e;
         } catch (Exception e) {
             log.error("Error fetching OSM node {}", nodeId, e);
@@ -60,20 +175,134 @@ class OsmDataServiceImpl implements OsmDataService {
     }
 
     /**
-     * Parses the OSM XML response and extracts node data.
+     * Requests several nodes from the OSM API, splitting the nodes of a request that fails because one of them
+     * does not exist (anymore). Nodes that do not exist are also removed from the cache.
+     *
+     * @param nodeIds the IDs of the nodes
+     * @return the parsed nodes; nodes that do not exist are omitted
+     * @throws ServiceUnavailableException if the OSM API is unavailable or fails a request otherwise
+     * @throws CapacityExceededException if too many requests to the OSM API are in flight
+     */
+    private List<OsmResponse.Node> requestNodes(List<Long> nodeIds) {
+        Optional<List<OsmResponse.Node>> nodes = requestExistingNodes(nodeIds);
+        if (nodes.isPresent()) {
+            return nodes.get();
+        }
+        if (nodeIds.size() == 1) {
+            log.warn("OSM node {} not found", nodeIds.getFirst());
+            osmNodeCache.remove(nodeIds.getFirst());
+            return List.of();
+        }
+        int middle = nodeIds.size() / 2;
+        List<OsmResponse.Node> bisectedNodes = new ArrayList<>(requestNodes(nodeIds.subList(0, middle)));
+        bisectedNodes.addAll(requestNodes(nodeIds.subList(middle, nodeIds.size())));
+        return bisectedNodes;
+    }
+
+    /**
+     * Requests several nodes from the OSM API with a single request.
+     *
+     * @param nodeIds the IDs of the nodes
+     * @return the parsed nodes; empty if any of the nodes does not exist (anymore)
+     * @throws ServiceUnavailableException if the OSM API is unavailable or fails the request otherwise
+     *         (e.g., with another client error or an unreadable response)
+     * @throws CapacityExceededException if too many requests to the OSM API are in flight
+     */
+    private Optional<List<OsmResponse.Node>> requestExistingNodes(List<Long> nodeIds) {
+        try {
+            log.debug("Fetching {} OSM nodes...", nodeIds.size());
+            String xmlResponse = osmFeignClient.fetchNodes(nodeIds.stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(",")));
+
+            if (xmlResponse == null || xmlResponse.isEmpty()) {
+                log.error("Empty response from OSM API for nodes {}", nodeIds);
+                throw new ServiceUnavailableException("The OpenStreetMap API returned an empty response.");
+            }
+            return Optional.of(parseOsmXml(xmlResponse).getNodes());
+
+        } catch (FeignException.NotFound | FeignException.Gone e) {
+            log.debug("At least one of the OSM nodes {} not found", nodeIds);
+            return Optional.empty();
+        } catch (RetryableException e) {
+            // fetching the nodes one by one would only put more load on the unavailable API
+            log.error("OSM API unavailable while fetching nodes {}: {}", nodeIds, e.getMessage());
+            throw unavailable(e);
+        } catch (FeignException e) {
+            // splitting the request would not help, and reporting the nodes as missing would hide the error
+            log.error("HTTP error fetching OSM nodes {}: {} - {}",
+                    nodeIds, e.status(), e.getMessage());
+            throw new ServiceUnavailableException("The OpenStreetMap API failed the request with status " +
+                    e.status() + ".", e);
+        } catch (ServiceUnavailableException | CapacityExceededException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error fetching OSM nodes {}", nodeIds, e);
+            throw new ServiceUnavailableException("The response of the OpenStreetMap API could not be read.", e);
+        }
+    }
+
+    /**
+     * Converts a node and adds it to the given result unless it lacks required fields.
+     *
+     * @param nodes the result by node ID
+     * @param node  the parsed node
+     */
+    private void putConverted(Map<Long, OsmNode> nodes, OsmResponse.Node node) {
+        try {
+            nodes.put(node.getId(), convertToOsmNode(node));
+        } catch (MissingFieldException e) {
+            // already logged, the node is omitted from the result
+        }
+    }
+
+    /**
+     * Translates a request that failed despite its retries (I/O error, timeout, or transient status).
+     *
+     * @param e the exception of the last attempt
+     * @return the domain exception to throw
+     */
+    private ServiceUnavailableException unavailable(RetryableException e) {
+        return new ServiceUnavailableException("The OpenStreetMap API is currently unavailable. Please retry later.", e);
+    }
+
+    /**
+     * Parses the OSM XML response and extracts the node with the given ID.
      *
      * @param xmlResponse the XML response from OSM API
      * @param nodeId the node ID for error reporting
-     * @return parsed OsmNode object
-     * @throws IOException if XML parsing fails
-     * @throws MissingFieldException if required fields are missing
+     * @return the parsed node
+     * @throws XMLStreamException if XML parsing fails
+     * @throws NotFoundException if the response does not contain the node
+     */
+    private OsmResponse.Node parseOsmXml(String xmlResponse, Long nodeId) throws XMLStreamException {
+        return parseOsmXml(xmlResponse).getNodes().stream()
+                .filter(n -> nodeId.equals(n.getId()))
+                .findFirst()
+                .orElseThrow(() -> new NotFoundException(OsmNode.class, nodeId));
+    }
+
+    /**
+     * Parses an OSM XML response with one or more node elements.
+     *
+     * @param xmlResponse the XML response from OSM API
+     * @return the parsed response (parser ensures node elements and ids are present)
+     * @throws XMLStreamException if XML parsing fails
      */
-    private OsmNode parseOsmXml(String xmlResponse, Long nodeId) throws IOException {
-        // parse XML using Jackson (deserializer ensures node element and id are present)
-        XmlMapper xmlMapper = new XmlMapper();
-        OsmResponse osmResponse = xmlMapper.readValue(xmlResponse, OsmResponse.class);
-        Map<String, String> tags = osmResponse.getTags();
+    private OsmResponse parseOsmXml(String xmlResponse) throws XMLStreamException {
+        return OsmXmlParser.parse(xmlResponse);
+    }
 
+    /**
+     * Extracts the node data from the coordinates and tags of an OSM node.
+     *
+     * @param node the parsed OSM node
+     * @return the OsmNode object
+     * @throws MissingFieldException if required fields are missing
+     */
+    private OsmNode convertToOsmNode(OsmResponse.Node node) {
+        Long nodeId = node.getId();
+        Map<String, String> tags = node.getTags();
         // extract required fields
         String name = getRequiredTag(tags, "name", nodeId);
         String city = getRequiredTag(tags, "addr:city", nodeId);
@@ -102,6 +331,9 @@ class OsmDataServiceImpl implements OsmDataService {
                 .houseNumber(houseNumber)
                 .postcode(postcode)
                 .description(description.orElse("n/a"))
+                .latitude(node.getLatitude())
+                .longitude(node.getLongitude())
+                .version(node.getVersion())
                 .build();
     }
 
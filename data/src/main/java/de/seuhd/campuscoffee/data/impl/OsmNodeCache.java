@@ -0,0 +1,195 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.data.client.OsmResponse;
+import de.seuhd.campuscoffee.data.client.OsmXmlParser;
+import de.seuhd.campuscoffee.data.client.OsmXmlWriter;
+import de.seuhd.campuscoffee.data.persistence.OsmNodeEntity;
+import de.seuhd.campuscoffee.data.persistence.OsmNodeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.xml.stream.XMLStreamException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local cache of the nodes fetched from the OpenStreetMap API (see {@link OsmDataServiceImpl}).
+ * The nodes are stored in the database, so the cache survives restarts and is shared by all application instances.
+ * <p>
+ * Each node is stored as an OSM XML document together with its OSM version and the time it was fetched.
+ * Fresh nodes are used without contacting the API. Stale nodes are revalidated by fetching them again: if their
+ * version is unchanged, only the fetch time is updated; otherwise, the document is replaced. While the API is
+ * unavailable, stale nodes are used as they are, so imports of cached nodes also work offline.
+ * Nodes fetched before the retention period and the least recently fetched nodes beyond the maximum number of
+ * entries are evicted after writes, at most once per {@link #EVICTION_INTERVAL}.
+ * <p>
+ * Lookups are published as {@code osm.cache.gets} metrics with the result {@code hit} (fresh), {@code miss}
+ * (not cached or stale), or {@code stale} (stale node used because the API was unavailable).
+ */
+@Slf4j
+@Component
+class OsmNodeCache {
+    private static final Duration EVICTION_INTERVAL = Duration.ofMinutes(1);
+
+    /**
+     * A cached node.
+     *
+     * @param node      the parsed node
+     * @param fetchedAt the time the node has been fetched or revalidated
+     * @param fresh     whether the node may be used without revalidation
+     */
+    record CachedNode(OsmResponse.@NonNull Node node, @NonNull LocalDateTime fetchedAt, boolean fresh) {}
+
+    private final OsmNodeRepository osmNodeRepository;
+    private final OsmNodeCacheProperties properties;
+    private final AtomicLong nextEviction = new AtomicLong(System.nanoTime());
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter staleCounter;
+
+    /**
+     * Creates the cache on top of the database table.
+     *
+     * @param osmNodeRepository the repository of the cached nodes
+     * @param properties        the cache configuration
+     * @param meterRegistry     the registry to publish the lookups to, if available
+     */
+    OsmNodeCache(OsmNodeRepository osmNodeRepository,
+                 OsmNodeCacheProperties properties,
+                 ObjectProvider<MeterRegistry> meterRegistry) {
+        this.osmNodeRepository = osmNodeRepository;
+        this.properties = properties;
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.hitCounter = lookupCounter(registry, "hit");
+        this.missCounter = lookupCounter(registry, "miss");
+        this.staleCounter = lookupCounter(registry, "stale");
+        log.info("Caching OSM nodes (enabled: {}, max age: {}, retention: {}, max entries: {})", properties.enabled(),
+                properties.maxAge(), properties.retention(), properties.maxEntries());
+    }
+
+    /**
+     * Retrieves the cached nodes with the given IDs, both fresh and stale ones.
+     *
+     * @param nodeIds the IDs of the nodes
+     * @return the cached nodes by their ID; empty if the cache is disabled
+     */
+    @Transactional(readOnly = true)
+    public @NonNull Map<Long, CachedNode> getAll(@NonNull Collection<Long> nodeIds) {
+        if (!properties.enabled() || nodeIds.isEmpty()) {
+            return Map.of();
+        }
+        LocalDateTime freshAfter = now().minus(properties.maxAge());
+        Map<Long, CachedNode> cachedNodes = new HashMap<>();
+        for (OsmNodeEntity entity : osmNodeRepository.findAllById(nodeIds)) {
+            try {
+                OsmResponse.Node node = OsmXmlParser.parse(entity.getPayload()).getNodes().getFirst();
+                cachedNodes.put(entity.getNodeId(),
+                        new CachedNode(node, entity.getFetchedAt(), entity.getFetchedAt().isAfter(freshAfter)));
+            } catch (XMLStreamException e) {
+                log.warn("Ignoring cached OSM node {} with invalid payload: {}", entity.getNodeId(), e.getMessage());
+            }
+        }
+
+        long hits = cachedNodes.values().stream()
+                .filter(CachedNode::fresh)
+                .count();
+        hitCounter.increment(hits);
+        missCounter.increment(nodeIds.size() - hits);
+        return cachedNodes;
+    }
+
+    /**
+     * Stores freshly fetched nodes, replacing or revalidating the cached nodes with the same IDs.
+     *
+     * @param nodes       the fetched nodes
+     * @param cachedNodes the cached nodes retrieved before the nodes have been fetched (see {@link #getAll})
+     */
+    @Transactional
+    public void putAll(@NonNull Collection<OsmResponse.Node> nodes, @NonNull Map<Long, CachedNode> cachedNodes) {
+        if (!properties.enabled() || nodes.isEmpty()) {
+            return;
+        }
+        LocalDateTime fetchedAt = now();
+        List<Long> unchangedNodeIds = new ArrayList<>();
+        for (OsmResponse.Node node : nodes) {
+            CachedNode cachedNode = cachedNodes.get(node.getId());
+            if (cachedNode != null && node.getVersion() != null
+                    && Objects.equals(node.getVersion(), cachedNode.node().getVersion())) {
+                unchangedNodeIds.add(node.getId());
+                continue;
+            }
+            try {
+                osmNodeRepository.upsert(new OsmNodeEntity(node.getId(), node.getVersion(), OsmXmlWriter.write(node),
+                        fetchedAt));
+            } catch (XMLStreamException e) {
+                log.warn("OSM node {} could not be cached: {}", node.getId(), e.getMessage());
+            }
+        }
+        if (!unchangedNodeIds.isEmpty()) {
+            osmNodeRepository.touch(unchangedNodeIds, fetchedAt);
+        }
+        log.debug("Cached {} OSM nodes ({} unchanged)", nodes.size(), unchangedNodeIds.size());
+        evictIfDue();
+    }
+
+    /**
+     * Removes a node from the cache, e.g., because it has been deleted from OpenStreetMap.
+     *
+     * @param nodeId the ID of the node
+     */
+    @Transactional
+    public void remove(@NonNull Long nodeId) {
+        if (properties.enabled()) {
+            osmNodeRepository.deleteById(nodeId);
+        }
+    }
+
+    /**
+     * Records that stale nodes have been used because the OSM API was unavailable.
+     *
+     * @param count the number of stale nodes
+     */
+    public void recordStaleUse(int count) {
+        staleCounter.increment(count);
+    }
+
+    /**
+     * Evicts expired and surplus nodes unless this has been done recently by another write.
+     */
+    private void evictIfDue() {
+        long now = System.nanoTime();
+        long due = nextEviction.get();
+        if (now - due < 0 || !nextEviction.compareAndSet(due, now + EVICTION_INTERVAL.toNanos())) {
+            return;
+        }
+        int evicted = osmNodeRepository.evict(now().minus(properties.retention()), properties.maxEntries());
+        if (evicted > 0) {
+            log.info("Evicted {} OSM nodes from the cache", evicted);
+        }
+    }
+
+    private static @NonNull Counter lookupCounter(@NonNull MeterRegistry registry, @NonNull String result) {
+        return Counter.builder("osm.cache.gets")
+                .description("Number of lookups of OSM nodes in the local cache")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static @NonNull LocalDateTime now() {
+        return LocalDateTime.now(ZoneId.of("UTC"));
+    }
+}
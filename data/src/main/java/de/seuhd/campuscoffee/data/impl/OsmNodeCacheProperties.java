@@ -0,0 +1,23 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the local cache of OSM nodes (see {@link OsmNodeCache}).
+ *
+ * @param enabled    whether fetched OSM nodes are cached
+ * @param maxAge     the time after which a cached node is stale and fetched again before it is used;
+ *                   stale nodes are still used while the OSM API is unavailable
+ * @param retention  the time after which a cached node is evicted, even if the OSM API is unavailable
+ * @param maxEntries the maximum number of cached nodes before the least recently fetched ones are evicted
+ */
+@ConfigurationProperties(prefix = "osm.cache")
+public record OsmNodeCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1d") Duration maxAge,
+        @DefaultValue("30d") Duration retention,
+        @DefaultValue("100000") int maxEntries
+) {}
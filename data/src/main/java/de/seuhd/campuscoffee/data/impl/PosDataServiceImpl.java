@@ -3,17 +3,32 @@ package de.seuhd.campuscoffee.data.impl;
 import de.seuhd.campuscoffee.data.mapper.PosEntityMapper;
 import de.seuhd.campuscoffee.data.persistence.PosEntity;
 import de.seuhd.campuscoffee.data.persistence.PosRepository;
+import de.seuhd.campuscoffee.data.persistence.ResettablePooledLoOptimizer;
 import de.seuhd.campuscoffee.data.util.ConstraintViolationChecker;
 import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosFilter;
 import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.VersionConflictException;
+import de.seuhd.campuscoffee.domain.ports.DataAdapter;
 import de.seuhd.campuscoffee.domain.ports.PosDataService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the POS data service that the domain layer provides as a port.
@@ -21,19 +36,26 @@ import java.util.List;
  * Business logic should be in the service layer.
  */
 @Service
+@DataAdapter
 @RequiredArgsConstructor
 class PosDataServiceImpl implements PosDataService {
+    // note: queries run in read-only transactions, which Hibernate executes without flushes and without keeping
+    // snapshots of the loaded entities for dirty checking; the entities are mapped to domain objects within the
+    // transaction, so the connection is returned to the pool before the response is written
     private final PosRepository posRepository;
     private final PosEntityMapper posEntityMapper;
+    private final EntityManager entityManager;
 
     @Override
     public void clear() {
         posRepository.deleteAllInBatch();
         posRepository.flush();
         posRepository.resetSequence(); // ensure consistent IDs after clearing (for local testing)
+        ResettablePooledLoOptimizer.resetAll(); // discard IDs allocated before the reset
     }
 
     @Override
+    @Transactional(readOnly = true)
     public @NonNull List<Pos> getAll() {
         return posRepository.findAll().stream()
                 .map(posEntityMapper::fromEntity)
@@ -41,6 +63,52 @@ class PosDataServiceImpl implements PosDataService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public long getCollectionVersion() {
+        return posRepository.getCollectionVersion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public @NonNull List<Pos> getPage(@Nullable Long after, int limit) {
+        // IDs are generated starting from 1, so 0 addresses the first page
+        return posRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, Limit.of(limit)).stream()
+                .map(posEntityMapper::fromEntity)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public @NonNull List<Pos> getOsmImportedPage(@Nullable Long after, int limit) {
+        return posRepository.findByOsmNodeIdNotNullAndIdGreaterThanOrderByIdAsc(after == null ? 0L : after,
+                        Limit.of(limit)).stream()
+                .map(posEntityMapper::fromEntity)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public @NonNull List<Pos> getFiltered(@NonNull PosFilter filter, @Nullable Long after, @Nullable Integer limit) {
+        return posRepository.findFiltered(filter.campus(), filter.type(), filter.postalCode(), filter.city(),
+                        after, limit == null ? Limit.unlimited() : Limit.of(limit)).stream()
+                .map(posEntityMapper::fromEntity)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true) // the database cursor behind the stream is only kept open within a transaction
+    public void streamAll(@NonNull Consumer<Pos> consumer) {
+        try (Stream<PosEntity> posEntities = posRepository.streamAllOrderedById()) {
+            posEntities.forEach(posEntity -> {
+                consumer.accept(posEntityMapper.fromEntity(posEntity));
+                // detach processed entities so that the persistence context does not grow with the table
+                entityManager.detach(posEntity);
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public @NonNull Pos getByName(@NonNull String name) {
         return posRepository.findByName(name)
                 .map(posEntityMapper::fromEntity)
@@ -48,6 +116,7 @@ class PosDataServiceImpl implements PosDataService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public @NonNull Pos getById(@NonNull Long id) {
         return posRepository.findById(id)
                 .map(posEntityMapper::fromEntity)
@@ -65,15 +134,11 @@ class PosDataServiceImpl implements PosDataService {
                 );
             }
 
-            // update existing POS
-            PosEntity posEntity = posRepository.findById(pos.id())
-                    .orElseThrow(() -> new NotFoundException(Pos.class, pos.id()));
-
-            // use mapper to update entity fields automatically
-            // note: timestamps are managed by JPA lifecycle callbacks (@PreUpdate)
-            posEntityMapper.updateEntity(pos, posEntity);
-
-            return posEntityMapper.fromEntity(posRepository.saveAndFlush(posEntity));
+            // update existing POS with a single statement that also tells whether the POS exists (in the given version)
+            // note: the update timestamp is set by the statement since JPA lifecycle callbacks are bypassed
+            return posRepository.updateIfExists(posEntityMapper.toEntity(pos))
+                    .map(posEntityMapper::fromEntity)
+                    .orElseThrow(() -> notFoundOrVersionConflict(pos.id(), pos.version()));
         } catch (DataIntegrityViolationException e) {
             // translate database constraint violations to domain exceptions
             // this is the adapter's responsibility in hexagonal architecture
@@ -85,6 +150,57 @@ class PosDataServiceImpl implements PosDataService {
         }
     }
 
+    @Override
+    @Transactional // a single transaction lets Hibernate group the statements into JDBC batches
+    public @NonNull List<Pos> upsertAll(@NonNull List<Pos> posList) {
+        try {
+            // load all POS to update with a single query
+            Map<Long, PosEntity> existingEntities = posRepository.findAllById(posList.stream()
+                            .map(Pos::id)
+                            .filter(Objects::nonNull)
+                            .toList())
+                    .stream()
+                    .collect(Collectors.toMap(PosEntity::getId, Function.identity()));
+
+            List<PosEntity> posEntities = posList.stream()
+                    .map(pos -> {
+                        if (pos.id() == null) {
+                            return posEntityMapper.toEntity(pos);
+                        }
+                        PosEntity posEntity = existingEntities.get(pos.id());
+                        if (posEntity == null) {
+                            throw new NotFoundException(Pos.class, pos.id());
+                        }
+                        if (pos.version() != null && !pos.version().equals(posEntity.getVersion())) {
+                            throw new VersionConflictException(Pos.class, pos.id(), pos.version());
+                        }
+                        posEntityMapper.updateEntity(pos, posEntity);
+                        return posEntity;
+                    })
+                    .toList();
+
+            // IDs of new POS are taken from pooled sequence values, so the inserts can be batched as well
+            return posRepository.saveAllAndFlush(posEntities).stream()
+                    .map(posEntityMapper::fromEntity)
+                    .toList();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // another transaction has updated one of the POS since it has been loaded above
+            Long id = e.getIdentifier() instanceof Long posId ? posId : null;
+            throw new VersionConflictException(Pos.class, id, posList.stream()
+                    .filter(pos -> pos.id() != null && pos.id().equals(id))
+                    .map(Pos::version)
+                    .findFirst()
+                    .orElse(null));
+        } catch (DataIntegrityViolationException e) {
+            // the violating POS cannot be determined from a batch, so all names are reported
+            if (ConstraintViolationChecker.isConstraintViolation(e, PosEntity.NAME_CONSTRAINT)) {
+                throw new DuplicationException(Pos.class, PosEntity.NAME_COLUMN,
+                        posList.stream().map(Pos::name).collect(Collectors.joining("', '")));
+            }
+            throw e;
+        }
+    }
+
     @Override
     public void delete(@NonNull Long id) {
         if (!posRepository.existsById(id)) {
@@ -92,4 +208,26 @@ class PosDataServiceImpl implements PosDataService {
         }
         posRepository.deleteById(id);
     }
+
+    @Override
+    public void delete(@NonNull Long id, @NonNull Long version) {
+        if (posRepository.deleteByIdAndVersion(id, version) == 0) {
+            throw notFoundOrVersionConflict(id, version);
+        }
+    }
+
+    /**
+     * Determines why a POS could not be written with a conditional statement.
+     * Only called after the statement failed, so successful writes do not need an additional query.
+     *
+     * @param id      the ID of the POS
+     * @param version the expected version of the POS; may be null
+     * @return the exception to throw
+     */
+    private RuntimeException notFoundOrVersionConflict(@NonNull Long id, @Nullable Long version) {
+        if (version != null && posRepository.existsById(id)) {
+            return new VersionConflictException(Pos.class, id, version);
+        }
+        return new NotFoundException(Pos.class, id);
+    }
 }
@@ -1,19 +1,27 @@
 package de.seuhd.campuscoffee.data.impl;
 
 import de.seuhd.campuscoffee.data.mapper.UserEntityMapper;
+import de.seuhd.campuscoffee.data.persistence.ResettablePooledLoOptimizer;
 import de.seuhd.campuscoffee.data.persistence.UserEntity;
 import de.seuhd.campuscoffee.data.persistence.UserRepository;
 import de.seuhd.campuscoffee.data.util.ConstraintViolationChecker;
 import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.VersionConflictException;
 import de.seuhd.campuscoffee.domain.model.User;
 import de.seuhd.campuscoffee.domain.ports.UserDataService;
 import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the user data service that the domain layer provides as a port.
@@ -23,6 +31,7 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 class UserDataServiceImpl implements UserDataService {
+    // note: queries run in read-only transactions (see PosDataServiceImpl)
 
     private final UserRepository userRepository;
     private final UserEntityMapper userEntityMapper;
@@ -32,9 +41,11 @@ class UserDataServiceImpl implements UserDataService {
         userRepository.deleteAllInBatch();
         userRepository.flush();
         userRepository.resetSequence(); // ensure consistent IDs after clearing (for local testing)
+        ResettablePooledLoOptimizer.resetAll(); // discard IDs allocated before the reset
     }
 
     @Override
+    @Transactional(readOnly = true)
     @NonNull
     public List<User> getAll() {
         return userRepository.findAll().stream()
@@ -43,6 +54,7 @@ class UserDataServiceImpl implements UserDataService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     @NonNull
     public User getById(@NonNull Long id) {
         return userRepository.findById(id)
@@ -51,6 +63,7 @@ class UserDataServiceImpl implements UserDataService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     @NonNull
     public User getByLoginName(@NonNull String loginName) {
         return userRepository.findByLoginName(loginName)
@@ -58,6 +71,33 @@ class UserDataServiceImpl implements UserDataService {
                 .orElseThrow(() -> new NotFoundException(User.class, UserEntity.LOGIN_NAME_COLUMN, loginName));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    @NonNull
+    public User getByEmailAddress(@NonNull String emailAddress) {
+        return userRepository.findByEmailAddress(emailAddress)
+                .map(userEntityMapper::fromEntity)
+                .orElseThrow(() -> new NotFoundException(User.class, UserEntity.EMAIL_ADDRESS_COLUMN, emailAddress));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @NonNull
+    public List<User> getByLoginNamePrefix(@NonNull String prefix, int limit) {
+        return userRepository.findByLoginNamePrefix(prefix, limit).stream()
+                .map(userEntityMapper::fromEntity)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @NonNull
+    public List<User> getByEmailAddressPrefix(@NonNull String prefix, int limit) {
+        return userRepository.findByEmailAddressPrefix(prefix, limit).stream()
+                .map(userEntityMapper::fromEntity)
+                .toList();
+    }
+
     @Override
     @NonNull
     public User upsert(@NonNull User user) {
@@ -70,14 +110,11 @@ class UserDataServiceImpl implements UserDataService {
                 );
             }
 
-            // update an existing user
-            UserEntity userEntity = userRepository.findById(user.id())
-                    .orElseThrow(() -> new NotFoundException(User.class, user.id()));
-
-            // update entity with data from domain model
-            userEntityMapper.updateEntity(user, userEntity);
-
-            return userEntityMapper.fromEntity(userRepository.saveAndFlush(userEntity));
+            // update an existing user with a single statement that also tells whether the user exists (in the given version)
+            // note: the update timestamp is set by the statement since JPA lifecycle callbacks are bypassed
+            return userRepository.updateIfExists(userEntityMapper.toEntity(user))
+                    .map(userEntityMapper::fromEntity)
+                    .orElseThrow(() -> notFoundOrVersionConflict(user.id(), user.version()));
         } catch (DataIntegrityViolationException e) {
             // translate database constraint violations to domain exceptions
             // this is the adapter's responsibility in hexagonal architecture
@@ -91,6 +128,49 @@ class UserDataServiceImpl implements UserDataService {
         }
     }
 
+    @Override
+    @NonNull
+    @Transactional // a single transaction lets Hibernate group the statements into JDBC batches
+    public List<User> upsertAll(@NonNull List<User> users) {
+        try {
+            // load all users to update with a single query
+            Map<Long, UserEntity> existingEntities = userRepository.findAllById(users.stream()
+                            .map(User::id)
+                            .filter(Objects::nonNull)
+                            .toList())
+                    .stream()
+                    .collect(Collectors.toMap(UserEntity::getId, Function.identity()));
+
+            List<UserEntity> userEntities = users.stream()
+                    .map(user -> {
+                        if (user.id() == null) {
+                            return userEntityMapper.toEntity(user);
+                        }
+                        UserEntity userEntity = existingEntities.get(user.id());
+                        if (userEntity == null) {
+                            throw new NotFoundException(User.class, user.id());
+                        }
+                        userEntityMapper.updateEntity(user, userEntity);
+                        return userEntity;
+                    })
+                    .toList();
+
+            return userRepository.saveAllAndFlush(userEntities).stream()
+                    .map(userEntityMapper::fromEntity)
+                    .toList();
+        } catch (DataIntegrityViolationException e) {
+            // the violating user cannot be determined from a batch, so all values of the violated column are reported
+            if (ConstraintViolationChecker.isConstraintViolation(e, UserEntity.LOGIN_NAME_CONSTRAINT)) {
+                throw new DuplicationException(User.class, UserEntity.LOGIN_NAME_COLUMN,
+                        users.stream().map(User::loginName).collect(Collectors.joining("', '")));
+            } else if (ConstraintViolationChecker.isConstraintViolation(e, UserEntity.EMAIL_ADDRESS_CONSTRAINT)) {
+                throw new DuplicationException(User.class, UserEntity.EMAIL_ADDRESS_COLUMN,
+                        users.stream().map(User::emailAddress).collect(Collectors.joining("', '")));
+            }
+            throw e;
+        }
+    }
+
     @Override
     public void delete(@NonNull Long id) {
         if (!userRepository.existsById(id)) {
@@ -98,4 +178,26 @@ class UserDataServiceImpl implements UserDataService {
         }
         userRepository.deleteById(id);
     }
+
+    @Override
+    public void delete(@NonNull Long id, @NonNull Long version) {
+        if (userRepository.deleteByIdAndVersion(id, version) == 0) {
+            throw notFoundOrVersionConflict(id, version);
+        }
+    }
+
+    /**
+     * Determines why a user could not be written with a conditional statement.
+     * Only called after the statement failed, so successful writes do not need an additional query.
+     *
+     * @param id      the ID of the user
+     * @param version the expected version of the user; may be null
+     * @return the exception to throw
+     */
+    private RuntimeException notFoundOrVersionConflict(@NonNull Long id, @Nullable Long version) {
+        if (version != null && userRepository.existsById(id)) {
+            return new VersionConflictException(User.class, id, version);
+        }
+        return new NotFoundException(User.class, id);
+    }
 }
@@ -14,7 +14,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
  * Responsibilities:
  * <ul>
  *   <li>Maps flat address fields from domain to embedded AddressEntity in JPA entity</li>
- *   <li>Handles house number parsing: splits "21a" into numeric (21) and suffix ('a') parts</li>
+ *   <li>Handles house number parsing: splits "21a" into numeric (21) and suffix ('a') parts in a single pass</li>
  *   <li>Provides update functionality that preserves JPA-managed fields (id, timestamps)</li>
  * </ul>
  * <p>
@@ -54,8 +54,9 @@ public interface PosEntityMapper {
     /**
      * Updates an existing JPA entity with data from the domain model.
      * This method is intended for update operations where the entity already exists.
-     * JPA-managed fields (id, createdAt, updatedAt) are preserved and not overwritten.
+     * JPA-managed fields (id, createdAt, updatedAt, version) are preserved and not overwritten.
      * The address is updated in place rather than being replaced, preserving the entity relationship.
+     * The OpenStreetMap node and its version are only overwritten if set, so that edits via the API keep them.
      *
      * @param source the domain model containing the new data; must not be null
      * @param target the existing JPA entity to update; must not be null
@@ -63,6 +64,9 @@ public interface PosEntityMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "osmNodeId", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "osmVersion", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     @Mapping(target = "address", expression = "java(splitHouseNumber(source, target.getAddress()))")
     void updateEntity(Pos source, @MappingTarget PosEntity target);
 
@@ -82,22 +86,25 @@ public interface PosEntityMapper {
      */
     @SuppressWarnings("unused")
     default String mergeHouseNumber(PosEntity source) {
-        if (source.getAddress() == null || source.getAddress().getHouseNumber() == null) {
+        AddressEntity address = source.getAddress();
+        if (address == null || address.getHouseNumber() == null) {
             return null;
         }
-        String houseNumberWithSuffix = source.getAddress().getHouseNumber().toString();
-        if (source.getAddress().getHouseNumberSuffix() != null) {
-            houseNumberWithSuffix += source.getAddress().getHouseNumberSuffix();
-        }
-        return houseNumberWithSuffix;
+        int houseNumber = address.getHouseNumber();
+        Character suffix = address.getHouseNumberSuffix();
+        // a single concatenation allocates only the resulting string
+        return suffix == null ? Integer.toString(houseNumber) : houseNumber + "" + suffix.charValue();
     }
 
     /**
      * Maps address fields from domain model to entity (i.e., splits house number strings).
+     * The house number is scanned once: all digits form the numeric part and the first other character
+     * becomes the suffix (e.g., "21a" becomes 21 and 'a').
      *
      * @param source the domain model containing address data; must not be null
      * @param addressEntity the AddressEntity to populate; must not be null
      * @return the populated AddressEntity
+     * @throws IllegalArgumentException if the numeric part of the house number does not fit into an int
      */
     @SuppressWarnings("unused")
     default AddressEntity splitHouseNumber(Pos source, AddressEntity addressEntity) {
@@ -113,21 +120,29 @@ public interface PosEntityMapper {
         addressEntity.setPostalCode(source.postalCode());
 
         // Parse house number and suffix
-        if (source.houseNumber().isEmpty()) {
+        String houseNumber = source.houseNumber();
+        if (houseNumber.isEmpty()) {
             return addressEntity;
         }
-        String numericPart = source.houseNumber().replaceAll("[^0-9]", "");
-        String suffixPart = source.houseNumber().replaceAll("[0-9]", "");
-        if (!numericPart.isEmpty()) {
-            addressEntity.setHouseNumber(Integer.parseInt(numericPart));
-        } else {
-            addressEntity.setHouseNumber(null);
-        }
-        if (!suffixPart.isEmpty()) {
-            addressEntity.setHouseNumberSuffix(suffixPart.charAt(0));
-        } else {
-            addressEntity.setHouseNumberSuffix(null);
+        long numericPart = 0;
+        boolean hasNumericPart = false;
+        char suffix = 0;
+        boolean hasSuffix = false;
+        for (int i = 0; i < houseNumber.length(); i++) {
+            char c = houseNumber.charAt(i);
+            if (c >= '0' && c <= '9') {
+                numericPart = numericPart * 10 + (c - '0');
+                if (numericPart > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("House number '" + houseNumber + "' is too large.");
+                }
+                hasNumericPart = true;
+            } else if (!hasSuffix) {
+                suffix = c;
+                hasSuffix = true;
+            }
         }
+        addressEntity.setHouseNumber(hasNumericPart ? (int) numericPart : null);
+        addressEntity.setHouseNumberSuffix(hasSuffix ? suffix : null);
 
         return addressEntity;
     }
@@ -24,7 +24,7 @@ public interface UserEntityMapper {
     /**
      * Updates an existing JPA entity with data from the domain model.
      * This method is intended for update operations where the entity already exists.
-     * JPA-managed fields (id, createdAt, updatedAt) are preserved and not overwritten.
+     * JPA-managed fields (id, createdAt, updatedAt, version) are preserved and not overwritten.
      *
      * @param source the domain model containing the new data; must not be null
      * @param target the existing JPA entity to update; must not be null
@@ -32,5 +32,6 @@ public interface UserEntityMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateEntity(User source, @MappingTarget UserEntity target);
 }
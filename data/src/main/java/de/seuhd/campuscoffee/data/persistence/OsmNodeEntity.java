@@ -0,0 +1,35 @@
+package de.seuhd.campuscoffee.data.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Database entity for an OSM node in the local cache of the OpenStreetMap API.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "osm_nodes")
+public class OsmNodeEntity {
+    @Id
+    @Column(name = "node_id")
+    private Long nodeId;
+
+    // the version of the OSM node, not an optimistic locking version
+    private Long version;
+
+    private String payload;
+
+    @Column(name = "fetched_at")
+    private LocalDateTime fetchedAt;
+}
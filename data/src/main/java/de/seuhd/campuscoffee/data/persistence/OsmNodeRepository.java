@@ -0,0 +1,62 @@
+package de.seuhd.campuscoffee.data.persistence;
+
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Repository for the local cache of OSM nodes.
+ */
+public interface OsmNodeRepository extends JpaRepository<OsmNodeEntity, Long> {
+
+    /**
+     * Inserts a node or replaces the cached node with the same ID with a single statement.
+     *
+     * @param node the node to cache
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO osm_nodes (node_id, version, payload, fetched_at)
+            VALUES (:#{#node.nodeId}, :#{#node.version}, :#{#node.payload}, :#{#node.fetchedAt})
+            ON CONFLICT (node_id) DO UPDATE SET
+                version = excluded.version,
+                payload = excluded.payload,
+                fetched_at = excluded.fetched_at
+            """, nativeQuery = true)
+    void upsert(@Param("node") OsmNodeEntity node);
+
+    /**
+     * Marks cached nodes as fetched without rewriting their payloads (e.g., because their versions are unchanged).
+     *
+     * @param nodeIds   the IDs of the nodes
+     * @param fetchedAt the time the nodes have been fetched
+     * @return the number of updated nodes
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OsmNodeEntity n SET n.fetchedAt = :fetchedAt WHERE n.nodeId IN :nodeIds")
+    int touch(@Param("nodeIds") Collection<Long> nodeIds, @Param("fetchedAt") LocalDateTime fetchedAt);
+
+    /**
+     * Deletes the nodes fetched before the given time and, beyond the given number of nodes,
+     * the least recently fetched ones.
+     *
+     * @param expiry     the time before which nodes are deleted regardless of the number of nodes
+     * @param maxEntries the number of most recently fetched nodes to keep at most
+     * @return the number of deleted nodes
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM osm_nodes
+            WHERE fetched_at < :expiry
+                OR node_id IN (SELECT node_id FROM osm_nodes ORDER BY fetched_at DESC OFFSET :maxEntries)
+            """, nativeQuery = true)
+    int evict(@Param("expiry") LocalDateTime expiry, @Param("maxEntries") int maxEntries);
+}
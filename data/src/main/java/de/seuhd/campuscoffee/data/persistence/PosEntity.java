@@ -26,7 +26,7 @@ public class PosEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pos_sequence_generator")
-    @SequenceGenerator(name = "pos_sequence_generator", sequenceName = "pos_seq", allocationSize = 1)
+    @SequenceGenerator(name = "pos_sequence_generator", sequenceName = "pos_seq", allocationSize = 50) // must match the increment of the sequence
     private Long id;
 
     @Column(name = "created_at")
@@ -35,6 +35,9 @@ public class PosEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version // incremented by Hibernate on every update
+    private Long version;
+
     @Column(name = NAME_COLUMN, unique = true)
     private String name;
 
@@ -49,6 +52,14 @@ public class PosEntity {
     @Embedded
     private AddressEntity address;
 
+    private Double latitude;
+
+    private Double longitude;
+
+    private Long osmNodeId;
+
+    private Long osmVersion;
+
     /**
      * JPA lifecycle callback: set timestamps before persisting a new entity.
      * This ensures timestamps reflect actual database operation time.
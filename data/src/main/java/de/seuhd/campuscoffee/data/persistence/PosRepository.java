@@ -1,18 +1,162 @@
 package de.seuhd.campuscoffee.data.persistence;
 
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.criteria.Predicate;
 import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for persisting point-of-sale (POS) entities.
  */
-public interface PosRepository extends JpaRepository<PosEntity, Long>, ResettableSequenceRepository {
+public interface PosRepository extends JpaRepository<PosEntity, Long>, JpaSpecificationExecutor<PosEntity>,
+        ResettableSequenceRepository {
     Optional<PosEntity> findByName(String name);
 
+    /**
+     * Retrieves the POS with an ID greater than the given one in ascending ID order (keyset pagination).
+     *
+     * @param id    the ID after which the page starts
+     * @param limit the maximum number of POS to retrieve
+     * @return the POS of the requested page
+     */
+    List<PosEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Retrieves the POS imported from OpenStreetMap with an ID greater than the given one in ascending ID order
+     * (keyset pagination over the partial index of the migration {@code V9__add_pos_osm_node.sql}).
+     *
+     * @param id    the ID after which the page starts
+     * @param limit the maximum number of POS to retrieve
+     * @return the imported POS of the requested page
+     */
+    List<PosEntity> findByOsmNodeIdNotNullAndIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Retrieves the POS that match all given criteria in ascending ID order, optionally as a page (keyset pagination).
+     * Only the criteria that are set become part of the query, so the database can use the matching index
+     * (see the migration {@code V5__add_pos_filter_indexes.sql}).
+     *
+     * @param campus     the campus of the POS; null to match any campus
+     * @param type       the type of the POS; null to match any type
+     * @param postalCode the postal code of the POS; null to match any postal code
+     * @param city       the city of the POS; null to match any city
+     * @param id         the ID after which the page starts; null to start with the first POS
+     * @param limit      the maximum number of POS to retrieve
+     * @return the matching POS
+     */
+    default List<PosEntity> findFiltered(@Nullable CampusType campus, @Nullable PosType type,
+                                         @Nullable Integer postalCode, @Nullable String city,
+                                         @Nullable Long id, Limit limit) {
+        Specification<PosEntity> specification = (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (campus != null) {
+                predicates.add(criteriaBuilder.equal(root.get("campus"), campus));
+            }
+            if (type != null) {
+                predicates.add(criteriaBuilder.equal(root.get("type"), type));
+            }
+            if (postalCode != null) {
+                predicates.add(criteriaBuilder.equal(root.get("address").get("postalCode"), postalCode));
+            }
+            if (city != null) {
+                predicates.add(criteriaBuilder.equal(root.get("address").get("city"), city));
+            }
+            if (id != null) {
+                predicates.add(criteriaBuilder.greaterThan(root.get("id"), id));
+            }
+            return criteriaBuilder.and(predicates.toArray(Predicate[]::new));
+        };
+        return findBy(specification, query -> limit.isLimited()
+                ? query.sortBy(Sort.by("id")).limit(limit.max()).all()
+                : query.sortBy(Sort.by("id")).all());
+    }
+
+    /**
+     * Streams all POS in ascending ID order.
+     * The fetch size makes the PostgreSQL driver read the result through a server-side cursor instead of
+     * loading all rows at once; this only takes effect inside a transaction and the stream must be closed.
+     *
+     * @return a stream of all POS entities
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM PosEntity p ORDER BY p.id")
+    Stream<PosEntity> streamAllOrderedById();
+
+    /**
+     * Updates an existing POS with a single statement that returns the updated row.
+     * The ID, the creation timestamp, and the update timestamp of the given entity are not written;
+     * the update timestamp is set by the database and the version is incremented.
+     * If the given entity has a version, the POS is only updated if it still has this version.
+     * The OpenStreetMap node and its version are only written if set, so that edits via the API keep them.
+     *
+     * @param pos the entity holding the ID (and optionally the expected version) of the POS to update and its new values
+     * @return the updated POS, or an empty optional if no POS with the given ID (and version) exists
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE pos SET
+                updated_at = now() AT TIME ZONE 'UTC',
+                version = version + 1,
+                name = :#{#pos.name},
+                description = :#{#pos.description},
+                type = :#{#pos.type?.name()},
+                campus = :#{#pos.campus?.name()},
+                street = :#{#pos.address.street},
+                house_number = :#{#pos.address.houseNumber},
+                house_number_suffix = :#{#pos.address.houseNumberSuffix?.toString()},
+                postal_code = :#{#pos.address.postalCode},
+                city = :#{#pos.address.city},
+                latitude = :#{#pos.latitude},
+                longitude = :#{#pos.longitude},
+                osm_node_id = COALESCE(CAST(:#{#pos.osmNodeId} AS bigint), osm_node_id),
+                osm_version = COALESCE(CAST(:#{#pos.osmVersion} AS bigint), osm_version)
+            WHERE id = :#{#pos.id}
+                AND (CAST(:#{#pos.version} AS bigint) IS NULL OR version = CAST(:#{#pos.version} AS bigint))
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<PosEntity> updateIfExists(@Param("pos") PosEntity pos);
+
+    /**
+     * Deletes a POS if it has the given version.
+     *
+     * @param id      the ID of the POS to delete
+     * @param version the version the POS must have
+     * @return the number of deleted POS (0 or 1)
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PosEntity p WHERE p.id = :id AND p.version = :version")
+    int deleteByIdAndVersion(@Param("id") Long id, @Param("version") Long version);
+
+    /**
+     * Retrieves the version of the POS collection, which the trigger of the migration
+     * {@code V11__defer_pos_collection_version.sql} advances when a transaction that wrote POS commits.
+     *
+     * @return the current version of the POS collection
+     */
+    @Query(value = "SELECT version FROM pos_collection_version", nativeQuery = true)
+    long getCollectionVersion();
+
     /**
      * Resets the POS ID sequence to start from 1.
      * Note: This is primarily intended for testing purposes to ensure consistent IDs after clearing the table.
@@ -0,0 +1,109 @@
+package de.seuhd.campuscoffee.data.persistence;
+
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.PooledLoOptimizer;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sequence optimizer that hands out IDs from pools of {@code allocationSize} values, so that a batch of inserts
+ * only needs one sequence call per pool (see Hibernate's {@link PooledLoOptimizer}).
+ * Configured for all pooled sequences via {@code hibernate.id.optimizer.pooled.preferred}.
+ * <p>
+ * In contrast to the standard optimizers, the pools can be discarded after a sequence was restarted
+ * (see {@link ResettableSequenceRepository#resetSequence()}). Without this, IDs of the pool allocated
+ * before the restart would be handed out first and collide with the IDs of the restarted sequence.
+ * Discarding a pool is always safe: the next ID is then taken from a new pool fetched from the sequence.
+ * <p>
+ * IDs are generated with the algorithm of {@link PooledLoOptimizer} under a {@link ReentrantLock} instead of a
+ * monitor: fetching a new pool queries the sequence, and a virtual thread blocking on I/O inside a
+ * {@code synchronized} method would pin its carrier thread (Java 21).
+ */
+public class ResettablePooledLoOptimizer implements Optimizer {
+    private static final Set<ResettablePooledLoOptimizer> INSTANCES =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final int incrementSize;
+    private final PooledLoOptimizer delegate; // provides the parts of the contract that do not depend on the pool
+    private final ReentrantLock lock = new ReentrantLock();
+    // the current pool: the first value fetched from the sequence, the next ID, and the first ID of the next pool
+    private IntegralDataTypeHolder lastSourceValue;
+    private IntegralDataTypeHolder value;
+    private IntegralDataTypeHolder upperLimit;
+
+    /**
+     * Creates the optimizer; called reflectively by Hibernate.
+     *
+     * @param returnClass   the type of the generated IDs
+     * @param incrementSize the increment of the sequence, i.e., the number of IDs per pool
+     */
+    public ResettablePooledLoOptimizer(Class<?> returnClass, int incrementSize) {
+        this.incrementSize = incrementSize;
+        this.delegate = new PooledLoOptimizer(returnClass, incrementSize);
+        INSTANCES.add(this);
+    }
+
+    /**
+     * Discards the current ID pools of all optimizers.
+     * Must be called after a sequence has been restarted.
+     */
+    public static void resetAll() {
+        synchronized (INSTANCES) {
+            INSTANCES.forEach(ResettablePooledLoOptimizer::reset);
+        }
+    }
+
+    private void reset() {
+        lock.lock();
+        try {
+            lastSourceValue = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Serializable generate(AccessCallback callback) {
+        lock.lock();
+        try {
+            if (lastSourceValue == null || !value.lt(upperLimit)) {
+                lastSourceValue = callback.getNextValue();
+                upperLimit = lastSourceValue.copy().add(incrementSize);
+                value = lastSourceValue.copy();
+                // sequences starting below one (e.g., at zero) must not hand out non-positive IDs
+                while (value.lt(1)) {
+                    value.increment();
+                }
+            }
+            return value.makeValueThenIncrement();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public IntegralDataTypeHolder getLastSourceValue() {
+        lock.lock();
+        try {
+            return lastSourceValue;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getIncrementSize() {
+        return incrementSize;
+    }
+
+    @Override
+    public boolean applyIncrementSizeToSourceValues() {
+        return delegate.applyIncrementSizeToSourceValues();
+    }
+}
@@ -26,7 +26,7 @@ public class UserEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_sequence_generator")
-    @SequenceGenerator(name = "user_sequence_generator", sequenceName = "user_seq", allocationSize = 1)
+    @SequenceGenerator(name = "user_sequence_generator", sequenceName = "user_seq", allocationSize = 50) // must match the increment of the sequence
     private Long id;
 
     @Column(name = "created_at")
@@ -35,6 +35,9 @@ public class UserEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version // incremented by Hibernate on every update
+    private Long version;
+
     @Column(name = LOGIN_NAME_COLUMN, unique = true)
     private String loginName;
 
@@ -4,14 +4,106 @@ import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository for persisting user entities.
  */
 public interface UserRepository extends JpaRepository<UserEntity, Long>, ResettableSequenceRepository {
-    Optional<UserEntity> findByLoginName(String loginName);
+    // note: derived "IgnoreCase" queries compare upper-case values, which the lower-case indexes of V7 do not serve
+
+    /**
+     * Finds a user by their login name regardless of case.
+     *
+     * @param loginName the login name
+     * @return the user, or an empty optional if no user has this login name
+     */
+    @Query("SELECT u FROM UserEntity u WHERE lower(u.loginName) = lower(:loginName)")
+    Optional<UserEntity> findByLoginName(@Param("loginName") String loginName);
+
+    /**
+     * Finds a user by their email address regardless of case.
+     *
+     * @param emailAddress the email address
+     * @return the user, or an empty optional if no user has this email address
+     */
+    @Query("SELECT u FROM UserEntity u WHERE lower(u.emailAddress) = lower(:emailAddress)")
+    Optional<UserEntity> findByEmailAddress(@Param("emailAddress") String emailAddress);
+
+    /**
+     * Finds the users whose login name starts with a prefix regardless of case, ordered by their lower-case login name.
+     * The prefix is expressed as a range of the byte-wise operators of text_pattern_ops (instead of LIKE), so the
+     * index also serves generic plans of the prepared statement and the scan stops after the requested users;
+     * chr(1114111) is the highest Unicode character.
+     *
+     * @param prefix the prefix
+     * @param limit  the maximum number of users to return
+     * @return the matching users
+     */
+    @Query(value = """
+            SELECT * FROM users
+            WHERE lower(login_name) ~>=~ lower(:prefix)
+                AND lower(login_name) ~<~ (lower(:prefix) || chr(1114111))
+            ORDER BY lower(login_name) USING ~<~
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<UserEntity> findByLoginNamePrefix(@Param("prefix") String prefix, @Param("limit") int limit);
+
+    /**
+     * Finds the users whose email address starts with a prefix regardless of case, ordered by their lower-case
+     * email address (see {@link #findByLoginNamePrefix(String, int)}).
+     *
+     * @param prefix the prefix
+     * @param limit  the maximum number of users to return
+     * @return the matching users
+     */
+    @Query(value = """
+            SELECT * FROM users
+            WHERE lower(email_address) ~>=~ lower(:prefix)
+                AND lower(email_address) ~<~ (lower(:prefix) || chr(1114111))
+            ORDER BY lower(email_address) USING ~<~
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<UserEntity> findByEmailAddressPrefix(@Param("prefix") String prefix, @Param("limit") int limit);
+
+    /**
+     * Updates an existing user with a single statement that returns the updated row.
+     * The ID, the creation timestamp, and the update timestamp of the given entity are not written;
+     * the update timestamp is set by the database and the version is incremented.
+     * If the given entity has a version, the user is only updated if they still have this version.
+     *
+     * @param user the entity holding the ID (and optionally the expected version) of the user to update and their new values
+     * @return the updated user, or an empty optional if no user with the given ID (and version) exists
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE users SET
+                updated_at = now() AT TIME ZONE 'UTC',
+                version = version + 1,
+                login_name = :#{#user.loginName},
+                email_address = :#{#user.emailAddress},
+                first_name = :#{#user.firstName},
+                last_name = :#{#user.lastName}
+            WHERE id = :#{#user.id}
+                AND (CAST(:#{#user.version} AS bigint) IS NULL OR version = CAST(:#{#user.version} AS bigint))
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<UserEntity> updateIfExists(@Param("user") UserEntity user);
+
+    /**
+     * Deletes a user if they have the given version.
+     *
+     * @param id      the ID of the user to delete
+     * @param version the version the user must have
+     * @return the number of deleted users (0 or 1)
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UserEntity u WHERE u.id = :id AND u.version = :version")
+    int deleteByIdAndVersion(@Param("id") Long id, @Param("version") Long version);
 
     /**
      * Resets the user ID sequence to start from 1.
@@ -0,0 +1,19 @@
+-- version of the POS collection (see PosRepository.getCollectionVersion), a single row that is advanced by every
+-- statement writing POS, also by other application instances, migrations, and manual SQL
+-- the new version becomes visible with the commit of the write, so it is never paired with older POS
+CREATE TABLE pos_collection_version (
+    id boolean NOT NULL PRIMARY KEY DEFAULT true CHECK (id),
+    version bigint NOT NULL
+);
+INSERT INTO pos_collection_version (version) VALUES (0);
+
+CREATE FUNCTION advance_pos_collection_version() RETURNS trigger AS $$
+BEGIN
+    UPDATE pos_collection_version SET version = version + 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER pos_collection_version_trigger
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON pos
+    FOR EACH STATEMENT EXECUTE FUNCTION advance_pos_collection_version();
@@ -0,0 +1,26 @@
+-- advance the version of the POS collection (see V10__create_pos_collection_version.sql) at commit instead of with
+-- every statement: the row of the version is locked only after all locks on POS have been taken, so writers of POS
+-- neither wait for each other's open transactions nor deadlock, and statements that write no POS leave it unchanged
+-- the version is advanced once per transaction, which is recorded in advanced_by
+ALTER TABLE pos_collection_version ADD COLUMN advanced_by xid8;
+
+CREATE OR REPLACE FUNCTION advance_pos_collection_version() RETURNS trigger AS $$
+BEGIN
+    UPDATE pos_collection_version SET version = version + 1, advanced_by = pg_current_xact_id()
+        WHERE advanced_by IS DISTINCT FROM pg_current_xact_id();
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER pos_collection_version_trigger ON pos;
+
+-- constraint triggers are row-level, so they only fire for written rows
+CREATE CONSTRAINT TRIGGER pos_collection_version_trigger
+    AFTER INSERT OR UPDATE OR DELETE ON pos
+    DEFERRABLE INITIALLY DEFERRED
+    FOR EACH ROW EXECUTE FUNCTION advance_pos_collection_version();
+
+-- TRUNCATE is not supported by constraint triggers; it locks the whole table anyway
+CREATE TRIGGER pos_collection_version_truncate_trigger
+    AFTER TRUNCATE ON pos
+    FOR EACH STATEMENT EXECUTE FUNCTION advance_pos_collection_version();
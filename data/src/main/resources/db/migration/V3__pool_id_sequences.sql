@@ -0,0 +1,3 @@
+-- IDs are allocated in pools of 50 per sequence call (see allocationSize of the entities)
+ALTER SEQUENCE pos_seq INCREMENT BY 50;
+ALTER SEQUENCE user_seq INCREMENT BY 50;
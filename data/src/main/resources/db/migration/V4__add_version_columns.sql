@@ -0,0 +1,3 @@
+-- versions for optimistic concurrency control (see @Version of the entities)
+ALTER TABLE pos ADD COLUMN version bigint NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN version bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,6 @@
+-- indexes for filtering POS (see PosRepository.findFiltered)
+-- the ID as last column serves the ordering and the keyset pagination of the filtered POS
+CREATE INDEX pos_campus_type_idx ON pos (campus, type, id);
+CREATE INDEX pos_type_idx ON pos (type, id);
+CREATE INDEX pos_postal_code_idx ON pos (postal_code, id);
+CREATE INDEX pos_city_idx ON pos (city, id);
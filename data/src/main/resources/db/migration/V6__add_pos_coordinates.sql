@@ -0,0 +1,4 @@
+-- coordinates of the POS (WGS 84), e.g., from OpenStreetMap nodes; either both or none are known
+ALTER TABLE pos ADD COLUMN latitude double precision CHECK (latitude BETWEEN -90 AND 90);
+ALTER TABLE pos ADD COLUMN longitude double precision CHECK (longitude BETWEEN -180 AND 180);
+ALTER TABLE pos ADD CONSTRAINT pos_coordinates_check CHECK ((latitude IS NULL) = (longitude IS NULL));
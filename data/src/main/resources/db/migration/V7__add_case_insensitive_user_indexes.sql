@@ -0,0 +1,8 @@
+-- login names and email addresses are unique and looked up regardless of case (see UserRepository)
+-- the unique indexes on the lower-case values replace the case-sensitive unique constraints under the same names,
+-- so violations are still reported as users_login_name_key and users_email_address_key
+-- text_pattern_ops compares characters byte by byte regardless of the collation, so the indexes also serve prefix ranges
+ALTER TABLE users DROP CONSTRAINT users_login_name_key;
+CREATE UNIQUE INDEX users_login_name_key ON users (lower(login_name) text_pattern_ops);
+ALTER TABLE users DROP CONSTRAINT users_email_address_key;
+CREATE UNIQUE INDEX users_email_address_key ON users (lower(email_address) text_pattern_ops);
@@ -0,0 +1,11 @@
+-- local cache of the OSM nodes fetched from the OpenStreetMap API (see OsmNodeCache)
+-- the payload is an OSM XML document with the node, its version is the one of the OSM node
+CREATE TABLE osm_nodes (
+    node_id bigint NOT NULL PRIMARY KEY,
+    version bigint,
+    payload text NOT NULL,
+    fetched_at timestamp NOT NULL
+);
+
+-- eviction of the least recently fetched nodes (see OsmNodeRepository.evict)
+CREATE INDEX osm_nodes_fetched_at_idx ON osm_nodes (fetched_at);
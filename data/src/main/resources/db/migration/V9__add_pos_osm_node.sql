@@ -0,0 +1,5 @@
+-- the OpenStreetMap node a POS was imported from and the node version it was last imported from
+ALTER TABLE pos ADD COLUMN osm_node_id bigint;
+ALTER TABLE pos ADD COLUMN osm_version bigint;
+-- serves the keyset pagination of the imported POS (see PosRepository.findByOsmNodeIdNotNullAndIdGreaterThanOrderByIdAsc)
+CREATE INDEX pos_osm_imported_idx ON pos (id) WHERE osm_node_id IS NOT NULL;
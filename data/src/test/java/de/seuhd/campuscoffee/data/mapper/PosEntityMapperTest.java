@@ -0,0 +1,92 @@
+package de.seuhd.campuscoffee.data.mapper;
+
+import de.seuhd.campuscoffee.data.persistence.AddressEntity;
+import de.seuhd.campuscoffee.data.persistence.PosEntity;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mapstruct.factory.Mappers;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PosEntityMapperTest {
+    private static final int SAMPLES = 10_000;
+    private static final String ALPHABET = "0123456789abcXYZ -/.ä";
+
+    private final PosEntityMapper posEntityMapper = Mappers.getMapper(PosEntityMapper.class);
+
+    @ParameterizedTest
+    @ValueSource(strings = {"90", "21a", "a21", "12-14", "304", "7 b", "007", "2147483647", "ab"})
+    void splitHouseNumberMatchesRegexBasedSplit(String houseNumber) {
+        assertSplitMatchesReference(houseNumber);
+    }
+
+    @Test
+    void splitHouseNumberMatchesRegexBasedSplitForRandomHouseNumbers() {
+        Random random = new Random(42); // fixed seed for reproducible failures
+        for (int i = 0; i < SAMPLES; i++) {
+            StringBuilder houseNumber = new StringBuilder();
+            int length = 1 + random.nextInt(9); // at most 9 digits, so that the numeric part fits into an int
+            for (int j = 0; j < length; j++) {
+                houseNumber.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            assertSplitMatchesReference(houseNumber.toString());
+        }
+    }
+
+    @Test
+    void mergeHouseNumberIsInverseOfSplitForRandomHouseNumbers() {
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            String suffix = random.nextBoolean() ? "" : String.valueOf((char) ('a' + random.nextInt(26)));
+            String houseNumber = (1 + random.nextInt(100_000)) + suffix;
+            PosEntity posEntity = new PosEntity();
+            posEntity.setAddress(posEntityMapper.splitHouseNumber(getPos(houseNumber), new AddressEntity()));
+
+            assertEquals(houseNumber, posEntityMapper.mergeHouseNumber(posEntity));
+        }
+    }
+
+    @Test
+    void mergeHouseNumberWithoutNumericPart() {
+        PosEntity posEntity = new PosEntity();
+        assertThat(posEntityMapper.mergeHouseNumber(posEntity)).isNull();
+
+        posEntity.setAddress(new AddressEntity());
+        assertThat(posEntityMapper.mergeHouseNumber(posEntity)).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2147483648", "99999999999999999999", "1234567890123a"})
+    void splitHouseNumberRejectsNumericPartsExceedingInt(String houseNumber) {
+        assertThrows(IllegalArgumentException.class,
+                () -> posEntityMapper.splitHouseNumber(getPos(houseNumber), new AddressEntity()));
+    }
+
+    /**
+     * Compares the split house number with the former regex-based implementation.
+     */
+    private void assertSplitMatchesReference(String houseNumber) {
+        String numericPart = houseNumber.replaceAll("[^0-9]", "");
+        String suffixPart = houseNumber.replaceAll("[0-9]", "");
+
+        AddressEntity addressEntity = posEntityMapper.splitHouseNumber(getPos(houseNumber), new AddressEntity());
+
+        assertEquals(numericPart.isEmpty() ? null : Integer.parseInt(numericPart), addressEntity.getHouseNumber(),
+                "numeric part of '" + houseNumber + "'");
+        assertEquals(suffixPart.isEmpty() ? null : suffixPart.charAt(0), addressEntity.getHouseNumberSuffix(),
+                "suffix of '" + houseNumber + "'");
+    }
+
+    private static Pos getPos(String houseNumber) {
+        return TestFixtures.getPosList().getFirst().toBuilder()
+                .houseNumber(houseNumber)
+                .build();
+    }
+}
@@ -0,0 +1,17 @@
+package de.seuhd.campuscoffee.domain.exceptions;
+
+/**
+ * Generic exception thrown when a request cannot be accepted because the system is working at its capacity limit
+ * (e.g., because a work queue is full). The request may succeed if it is repeated later.
+ */
+public class CapacityExceededException extends RuntimeException {
+
+    /**
+     * Creates an exception with a message describing the exhausted capacity.
+     *
+     * @param message the message
+     */
+    public CapacityExceededException(String message) {
+        super(message);
+    }
+}
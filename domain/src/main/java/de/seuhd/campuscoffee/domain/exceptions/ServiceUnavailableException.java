@@ -0,0 +1,28 @@
+package de.seuhd.campuscoffee.domain.exceptions;
+
+/**
+ * Generic exception thrown when an external service a request depends on is unavailable
+ * (e.g., because it keeps failing or timing out, or because its circuit breaker is open).
+ * The request may succeed if it is repeated later.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    /**
+     * Creates an exception with a message describing the unavailable service.
+     *
+     * @param message the message
+     */
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    /**
+     * Creates an exception with a message describing the unavailable service and the failure that caused it.
+     *
+     * @param message the message
+     * @param cause   the failure of the last request to the service
+     */
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
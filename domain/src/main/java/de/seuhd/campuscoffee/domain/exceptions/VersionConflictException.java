@@ -0,0 +1,19 @@
+package de.seuhd.campuscoffee.domain.exceptions;
+
+/**
+ * Generic exception thrown when an entity should be updated or deleted in a specific version, but it has been
+ * modified in the meantime (optimistic concurrency control).
+ */
+public class VersionConflictException extends RuntimeException {
+
+    /**
+     * Creates an exception for an entity whose current version differs from the expected one.
+     *
+     * @param entityType      the type of entity (e.g., "Pos", "User")
+     * @param id              the ID of the entity
+     * @param expectedVersion the version the entity was expected to have
+     */
+    public VersionConflictException(Class<?> entityType, Long id, Long expectedVersion) {
+        super(entityType.getSimpleName() + " with ID " + id + " has been modified since version " + expectedVersion + ".");
+    }
+}
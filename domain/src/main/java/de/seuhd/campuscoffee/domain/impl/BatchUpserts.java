@@ -0,0 +1,78 @@
+package de.seuhd.campuscoffee.domain.impl;
+
+import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.VersionConflictException;
+import de.seuhd.campuscoffee.domain.model.UpsertResult;
+import de.seuhd.campuscoffee.domain.model.UpsertStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Shared logic of the batch upserts of the domain services (see {@link PosServiceImpl} and {@link UserServiceImpl}).
+ */
+@Slf4j
+final class BatchUpserts {
+    private static final String UNEXPECTED_ERROR = "The item could not be persisted due to an unexpected error.";
+
+    private BatchUpserts() {}
+
+    /**
+     * Creates or updates the given items and reports the outcome per item.
+     * All items are first written in a single transaction. If this fails for any reason, e.g., because one item is
+     * a duplicate, the transaction has been rolled back and the items are written one by one to determine which of
+     * them failed. Since the items written before a failed item remain persisted, unexpected failures are reported
+     * for the item only (see {@link UpsertStatus#FAILED}) instead of failing the whole batch.
+     *
+     * @param items       the items to create or update; items without ID are created
+     * @param idGetter    returns the ID of an item
+     * @param upsertAll   writes all items in a single transaction and returns them in the same order
+     * @param upsert      writes a single item
+     * @param <T>         the type of the items
+     * @return one result per item in the order of the given list
+     */
+    static <T> @NonNull List<UpsertResult<T>> upsertAll(@NonNull List<T> items,
+                                                        @NonNull Function<T, Long> idGetter,
+                                                        @NonNull UnaryOperator<List<T>> upsertAll,
+                                                        @NonNull UnaryOperator<T> upsert) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        try {
+            List<T> upsertedItems = upsertAll.apply(items);
+            return IntStream.range(0, items.size())
+                    .mapToObj(i -> toResult(items.get(i), idGetter, upsertedItems.get(i)))
+                    .toList();
+        } catch (RuntimeException e) {
+            log.warn("Batch of {} items could not be persisted: {}", items.size(), e.getMessage());
+        }
+        return items.stream()
+                .map(item -> {
+                    try {
+                        return toResult(item, idGetter, upsert.apply(item));
+                    } catch (DuplicationException e) {
+                        return UpsertResult.<T>failure(UpsertStatus.DUPLICATE, e.getMessage());
+                    } catch (NotFoundException e) {
+                        return UpsertResult.<T>failure(UpsertStatus.NOT_FOUND, e.getMessage());
+                    } catch (VersionConflictException e) {
+                        return UpsertResult.<T>failure(UpsertStatus.VERSION_CONFLICT, e.getMessage());
+                    } catch (IllegalArgumentException e) {
+                        return UpsertResult.<T>failure(UpsertStatus.INVALID, e.getMessage());
+                    } catch (RuntimeException e) {
+                        log.error("Item of batch could not be persisted", e);
+                        return UpsertResult.<T>failure(UpsertStatus.FAILED, UNEXPECTED_ERROR);
+                    }
+                })
+                .toList();
+    }
+
+    private static <T> @NonNull UpsertResult<T> toResult(@NonNull T item, @NonNull Function<T, Long> idGetter,
+                                                         @NonNull T upsertedItem) {
+        return idGetter.apply(item) == null ? UpsertResult.created(upsertedItem) : UpsertResult.updated(upsertedItem);
+    }
+}
@@ -0,0 +1,234 @@
+package de.seuhd.campuscoffee.domain.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.VersionConflictException;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosFilter;
+import de.seuhd.campuscoffee.domain.ports.DataAdapter;
+import de.seuhd.campuscoffee.domain.ports.PosDataService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache that decorates the {@link PosDataService} port.
+ * POS rarely change but are read constantly, so lookups by ID and by name are served from memory.
+ * Entries are evicted when a cache exceeds its maximum size, when they exceed their time to live,
+ * whenever a POS is written through this decorator, and when a write fails because the POS has been modified
+ * or deleted in the meantime (e.g., by another application instance), so clients that retry with the version of a
+ * cached POS (e.g., from its {@code ETag}) see the current version.
+ * The name cache only maps names to IDs; the POS found for a cached ID is checked to still have that name,
+ * so renamed and deleted POS do not have to be evicted by name.
+ * Loads that overlap with a write are not cached, since they may have read the POS before the write.
+ * <p>
+ * Collection queries (all POS, pages, streams) are passed through to the data store.
+ * Hit, miss, and eviction counts are published as {@code cache.*} metrics if a {@link MeterRegistry} is available.
+ * Note that writes by other application instances only become visible after the time to live has passed,
+ * unless a write through this decorator conflicts with them.
+ */
+@Slf4j
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "pos.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CachingPosDataService implements PosDataService {
+    private final PosDataService delegate;
+    private final Cache<Long, Pos> posById;
+    private final Cache<String, Long> idByName;
+    // advanced by every write before its entries are evicted
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Creates the cache around the data layer adapter.
+     *
+     * @param delegate      the decorated data service provided by the data layer
+     * @param properties    the cache configuration
+     * @param meterRegistry the registry to publish cache metrics to, if available
+     */
+    public CachingPosDataService(@DataAdapter PosDataService delegate,
+                                 PosCacheProperties properties,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        this.delegate = delegate;
+        this.posById = buildCache(properties);
+        this.idByName = buildCache(properties);
+        meterRegistry.ifAvailable(registry -> {
+            CaffeineCacheMetrics.monitor(registry, posById, "pos-by-id");
+            CaffeineCacheMetrics.monitor(registry, idByName, "pos-by-name");
+        });
+        log.info("Caching POS lookups (maximum size: {}, time to live: {})",
+                properties.maximumSize(), properties.timeToLive());
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        generation.incrementAndGet();
+        posById.invalidateAll();
+        idByName.invalidateAll();
+    }
+
+    @Override
+    public @NonNull List<Pos> getAll() {
+        return delegate.getAll();
+    }
+
+    @Override
+    public long getCollectionVersion() {
+        return delegate.getCollectionVersion(); // not cached, since writes of other instances must be seen
+    }
+
+    @Override
+    public @NonNull List<Pos> getPage(@Nullable Long after, int limit) {
+        return delegate.getPage(after, limit);
+    }
+
+    @Override
+    public @NonNull List<Pos> getFiltered(@NonNull PosFilter filter, @Nullable Long after, @Nullable Integer limit) {
+        return delegate.getFiltered(filter, after, limit);
+    }
+
+    @Override
+    public @NonNull List<Pos> getOsmImportedPage(@Nullable Long after, int limit) {
+        return delegate.getOsmImportedPage(after, limit);
+    }
+
+    @Override
+    public void streamAll(@NonNull Consumer<Pos> consumer) {
+        delegate.streamAll(consumer);
+    }
+
+    @Override
+    public @NonNull Pos getByName(@NonNull String name) {
+        Long cachedId = idByName.getIfPresent(name);
+        if (cachedId != null) {
+            try {
+                Pos pos = getById(cachedId);
+                if (name.equals(pos.name())) {
+                    return pos;
+                }
+            } catch (NotFoundException e) {
+                // the POS has been deleted since its name was cached
+            }
+            idByName.invalidate(name);
+        }
+        // exceptions of the delegate (e.g., NotFoundException) are propagated and nothing is cached
+        long loadedGeneration = generation.get();
+        Pos pos = delegate.getByName(name);
+        if (pos.id() != null) {
+            cache(posById, pos.id(), pos, loadedGeneration);
+            cache(idByName, name, pos.id(), loadedGeneration);
+        }
+        return pos;
+    }
+
+    @Override
+    public @NonNull Pos getById(@NonNull Long id) {
+        Pos cachedPos = posById.getIfPresent(id);
+        if (cachedPos != null) {
+            return cachedPos;
+        }
+        long loadedGeneration = generation.get();
+        Pos pos = delegate.getById(id);
+        cache(posById, id, pos, loadedGeneration);
+        return pos;
+    }
+
+    @Override
+    public @NonNull Pos upsert(@NonNull Pos pos) {
+        Pos upsertedPos = evictOnConflict(List.of(pos), () -> delegate.upsert(pos));
+        evict(upsertedPos.id());
+        return upsertedPos;
+    }
+
+    @Override
+    public @NonNull List<Pos> upsertAll(@NonNull List<Pos> posList) {
+        List<Pos> upsertedPosList = evictOnConflict(posList, () -> delegate.upsertAll(posList));
+        upsertedPosList.forEach(upsertedPos -> evict(upsertedPos.id()));
+        return upsertedPosList;
+    }
+
+    @Override
+    public void delete(@NonNull Long id) {
+        try {
+            delegate.delete(id);
+        } finally {
+            evict(id);
+        }
+    }
+
+    @Override
+    public void delete(@NonNull Long id, @NonNull Long version) {
+        try {
+            delegate.delete(id, version);
+        } finally {
+            evict(id); // also if the POS has been modified or deleted in the meantime
+        }
+    }
+
+    /**
+     * Caches a loaded value unless a write has been made since the load started.
+     * The write may have evicted the key before the value was put, so the value is removed again in that case.
+     *
+     * @param cache            the cache
+     * @param key              the key of the value
+     * @param value            the loaded value
+     * @param loadedGeneration the generation read before the value was loaded
+     */
+    private <K, V> void cache(Cache<K, V> cache, K key, V value, long loadedGeneration) {
+        cache.put(key, value);
+        if (generation.get() != loadedGeneration) {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * Performs a write of POS and evicts them if the write fails because they have been modified or deleted
+     * in the meantime, since their cached versions are outdated then.
+     *
+     * @param posList the POS to write
+     * @param write   the write
+     * @return the result of the write
+     */
+    private <T> T evictOnConflict(List<Pos> posList, Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (NotFoundException | VersionConflictException e) {
+            // a failed batch has been rolled back, and it is unknown which of its POS caused the failure
+            posList.forEach(pos -> evict(pos.id()));
+            throw e;
+        }
+    }
+
+    /**
+     * Removes the cached POS after it has been written.
+     * Cached names of the POS are checked on lookup (see {@link #getByName(String)}), so they are kept.
+     *
+     * @param id the ID of the POS that was written
+     */
+    private void evict(@Nullable Long id) {
+        generation.incrementAndGet();
+        if (id != null) {
+            posById.invalidate(id);
+        }
+    }
+
+    private static <K, V> Cache<K, V> buildCache(PosCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.timeToLive())
+                .recordStats()
+                .build();
+    }
+}
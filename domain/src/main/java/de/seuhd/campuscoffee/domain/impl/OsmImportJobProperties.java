@@ -0,0 +1,20 @@
+package de.seuhd.campuscoffee.domain.impl;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for asynchronous imports of OpenStreetMap nodes (see {@link OsmImportJobServiceImpl}).
+ *
+ * @param parallelism   the maximum number of jobs that run at once
+ * @param queueCapacity the maximum number of jobs waiting for a worker; further jobs are rejected
+ * @param retention     how long finished jobs can be polled
+ */
+@ConfigurationProperties(prefix = "osm.import.jobs")
+public record OsmImportJobProperties(
+        @DefaultValue("2") int parallelism,
+        @DefaultValue("100") int queueCapacity,
+        @DefaultValue("1h") Duration retention
+) {}
@@ -0,0 +1,226 @@
+package de.seuhd.campuscoffee.domain.impl;
+
+import de.seuhd.campuscoffee.domain.exceptions.CapacityExceededException;
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.OsmImportJob;
+import de.seuhd.campuscoffee.domain.model.OsmImportJobStatus;
+import de.seuhd.campuscoffee.domain.model.OsmImportResult;
+import de.seuhd.campuscoffee.domain.ports.OsmImportJobService;
+import de.seuhd.campuscoffee.domain.ports.PosService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of the OSM import job service that runs batch imports of the {@link PosService} in the background.
+ * <p>
+ * Jobs wait in a bounded queue for one of a fixed number of workers, so a burst of imports neither blocks request
+ * threads nor floods the OSM API; once the queue is full, further jobs are rejected (backpressure).
+ * The nodes of a job are imported in chunks, and the progress is published after each chunk.
+ * Jobs are kept in memory, so they are lost on restart, and finished jobs are dropped after the configured retention.
+ * The workers are virtual threads if {@code spring.threads.virtual.enabled} is set; their number is still fixed.
+ * <p>
+ * The number of queued and running jobs, the time jobs wait in the queue, the time from submission to completion,
+ * and the number of rejected jobs are published as {@code osm.import.jobs.*} metrics.
+ */
+@Slf4j
+@Service
+public class OsmImportJobServiceImpl implements OsmImportJobService, DisposableBean {
+    private final PosService posService;
+    private final OsmImportJobProperties properties;
+    private final int chunkSize;
+    private final ThreadPoolExecutor executor;
+    // snapshots of the jobs; a job is only updated by the worker running it
+    private final Map<UUID, OsmImportJob> jobs = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    /**
+     * Creates the workers and the queue for the jobs.
+     *
+     * @param posService       the service that imports the nodes of a job
+     * @param importProperties the configuration of batch imports
+     * @param properties       the configuration of the jobs
+     * @param meterRegistry    the registry to publish job metrics to, if available
+     * @param environment      the environment that tells whether virtual threads are enabled
+     */
+    public OsmImportJobServiceImpl(PosService posService,
+                                   OsmImportProperties importProperties,
+                                   OsmImportJobProperties properties,
+                                   ObjectProvider<MeterRegistry> meterRegistry,
+                                   Environment environment) {
+        this.posService = posService;
+        this.properties = properties;
+        // a chunk is large enough to keep all concurrent requests of a batch import busy
+        this.chunkSize = importProperties.concurrency() * importProperties.fetchSize();
+        boolean virtualWorkers = Threading.VIRTUAL.isActive(environment);
+        ThreadFactory workerFactory = virtualWorkers
+                ? Thread.ofVirtual().name("osm-import-job-", 1).factory()
+                : Thread.ofPlatform().name("osm-import-job-", 1).factory();
+        this.executor = new ThreadPoolExecutor(properties.parallelism(), properties.parallelism(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.queueCapacity()),
+                workerFactory, new ThreadPoolExecutor.AbortPolicy());
+
+        this.meterRegistry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        Gauge.builder("osm.import.jobs.queued", executor, workers -> workers.getQueue().size())
+                .description("Number of OSM import jobs waiting for a worker")
+                .register(this.meterRegistry);
+        Gauge.builder("osm.import.jobs.running", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Number of running OSM import jobs")
+                .register(this.meterRegistry);
+        this.waitTimer = Timer.builder("osm.import.jobs.wait")
+                .description("Time OSM import jobs wait for a worker")
+                .register(this.meterRegistry);
+        this.rejectedCounter = Counter.builder("osm.import.jobs.rejected")
+                .description("Number of OSM import jobs rejected because the queue was full")
+                .register(this.meterRegistry);
+        log.info("Running OSM import jobs with {} {} workers (queue capacity: {}, retention: {})",
+                properties.parallelism(), virtualWorkers ? "virtual" : "platform", properties.queueCapacity(),
+                properties.retention());
+    }
+
+    @Override
+    public @NonNull OsmImportJob submit(@NonNull List<Long> nodeIds, @NonNull CampusType campusType) {
+        if (nodeIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one OSM node ID must be provided.");
+        }
+        if (nodeIds.size() > PosService.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("An import must not contain more than " + PosService.MAX_BATCH_SIZE +
+                    " OSM nodes.");
+        }
+        removeExpiredJobs();
+
+        List<Long> jobNodeIds = List.copyOf(nodeIds);
+        OsmImportJob job = OsmImportJob.builder()
+                .id(UUID.randomUUID())
+                .status(OsmImportJobStatus.QUEUED)
+                .campus(campusType)
+                .nodeCount(jobNodeIds.size())
+                .submittedAt(now())
+                .build();
+        long submittedAt = System.nanoTime();
+        jobs.put(job.id(), job);
+        try {
+            executor.execute(() -> run(job, jobNodeIds, submittedAt));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id());
+            rejectedCounter.increment();
+            log.warn("Rejected import job for {} OSM nodes: queue is full", jobNodeIds.size());
+            throw new CapacityExceededException("The queue of OSM import jobs is full (" + properties.queueCapacity() +
+                    " jobs). Please retry later.");
+        }
+        log.info("Queued import job {} for {} OSM nodes", job.id(), jobNodeIds.size());
+        return job;
+    }
+
+    @Override
+    public @NonNull OsmImportJob getById(@NonNull UUID id) {
+        OsmImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new NotFoundException(OsmImportJob.class, "ID", id.toString());
+        }
+        return job;
+    }
+
+    @Override
+    public void destroy() {
+        // interrupt running jobs, since jobs are only kept in memory and get lost on shutdown anyway
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs a job on a worker thread and publishes its progress.
+     *
+     * @param queuedJob   the job as it has been queued
+     * @param nodeIds     the OSM node IDs to import
+     * @param submittedAt the value of {@link System#nanoTime()} when the job has been submitted
+     */
+    private void run(@NonNull OsmImportJob queuedJob, @NonNull List<Long> nodeIds, long submittedAt) {
+        waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+        OsmImportJob job = update(queuedJob.toBuilder()
+                .status(OsmImportJobStatus.RUNNING)
+                .startedAt(now())
+                .build());
+        log.info("Started import job {}", job.id());
+
+        List<OsmImportResult> results = new ArrayList<>(nodeIds.size());
+        try {
+            for (int from = 0; from < nodeIds.size(); from += chunkSize) {
+                List<Long> chunk = nodeIds.subList(from, Math.min(from + chunkSize, nodeIds.size()));
+                List<OsmImportResult> chunkResults = posService.importFromOsmNodes(chunk, job.campus());
+                results.addAll(chunkResults);
+                job = update(job.toBuilder()
+                        .processedCount(results.size())
+                        .failedCount(job.failedCount() + (int) chunkResults.stream()
+                                .filter(result -> !result.succeeded())
+                                .count())
+                        .build());
+            }
+            job = job.toBuilder()
+                    .status(OsmImportJobStatus.COMPLETED)
+                    .results(List.copyOf(results))
+                    .build();
+        } catch (RuntimeException e) {
+            log.error("Import job {} failed after {} of {} OSM nodes", job.id(), results.size(), nodeIds.size(), e);
+            job = job.toBuilder()
+                    .status(OsmImportJobStatus.FAILED)
+                    .error(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName())
+                    .build();
+        }
+        job = job.toBuilder()
+                .finishedAt(now())
+                .build();
+
+        // recorded before the finished job is published, so pollers that see it also see its metrics
+        Timer.builder("osm.import.jobs")
+                .description("Time from the submission of OSM import jobs until they finish")
+                .tag("status", job.status().name())
+                .register(meterRegistry)
+                .record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+        update(job);
+        log.info("Finished import job {} with status {} ({} of {} OSM nodes failed)",
+                job.id(), job.status(), job.failedCount(), job.nodeCount());
+    }
+
+    private @NonNull OsmImportJob update(@NonNull OsmImportJob job) {
+        jobs.put(job.id(), job);
+        return job;
+    }
+
+    /**
+     * Removes the finished jobs whose retention has passed.
+     * This is done on submission, so the number of retained jobs is bounded by the rate of submissions.
+     */
+    private void removeExpiredJobs() {
+        LocalDateTime expiry = now().minus(properties.retention());
+        jobs.values().removeIf(job -> job.finishedAt() != null && job.finishedAt().isBefore(expiry));
+    }
+
+    private static @NonNull LocalDateTime now() {
+        return LocalDateTime.now(ZoneId.of("UTC"));
+    }
+}
@@ -0,0 +1,18 @@
+package de.seuhd.campuscoffee.domain.impl;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for batch imports of OpenStreetMap nodes (see {@link PosServiceImpl}).
+ *
+ * @param concurrency the maximum number of concurrent requests to the OSM API
+ * @param fetchSize   the maximum number of OSM nodes fetched with a single request
+ * @param batchSize   the number of imported POS that are persisted together
+ */
+@ConfigurationProperties(prefix = "osm.import")
+public record OsmImportProperties(
+        @DefaultValue("8") int concurrency,
+        @DefaultValue("100") int fetchSize,
+        @DefaultValue("50") int batchSize
+) {}
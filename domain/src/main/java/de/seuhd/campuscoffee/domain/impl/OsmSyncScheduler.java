@@ -0,0 +1,36 @@
+package de.seuhd.campuscoffee.domain.impl;
+
+import de.seuhd.campuscoffee.domain.ports.PosService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically re-imports the POS whose OpenStreetMap node has been edited (see {@link PosService#syncWithOsm()}).
+ * The schedule is a cron expression ({@code osm.sync.cron}, nightly by default) evaluated in {@code osm.sync.zone}.
+ * Runs never overlap, since scheduled tasks share a single thread unless configured otherwise.
+ * The sync is opt-in ({@code osm.sync.enabled}) and should only be enabled on a single instance, since runs on
+ * several instances would repeat the requests to the OSM API; POS edited while a run is in progress are not
+ * overwritten, though, but counted as failed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "osm.sync", name = "enabled", havingValue = "true", matchIfMissing = false)
+public class OsmSyncScheduler {
+    private final PosService posService;
+
+    /**
+     * Runs the sync; failures are logged, so that the next scheduled run still takes place.
+     */
+    @Scheduled(cron = "${osm.sync.cron:0 0 3 * * *}", zone = "${osm.sync.zone:UTC}")
+    public void syncWithOsm() {
+        try {
+            posService.syncWithOsm();
+        } catch (RuntimeException e) {
+            log.error("Synchronizing POS with OpenStreetMap failed", e);
+        }
+    }
+}
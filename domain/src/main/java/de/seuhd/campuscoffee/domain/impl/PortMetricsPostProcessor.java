@@ -0,0 +1,185 @@
+package de.seuhd.campuscoffee.domain.impl;
+
+import de.seuhd.campuscoffee.domain.exceptions.CapacityExceededException;
+import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
+import de.seuhd.campuscoffee.domain.exceptions.MissingFieldException;
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.ServiceUnavailableException;
+import de.seuhd.campuscoffee.domain.exceptions.ValidationException;
+import de.seuhd.campuscoffee.domain.exceptions.VersionConflictException;
+import de.seuhd.campuscoffee.domain.ports.PosService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Times every call of a port method, i.e., of the interfaces in {@code de.seuhd.campuscoffee.domain.ports}.
+ * Beans implementing a port are proxied (or, if they are already proxied, e.g., for transactions, the existing
+ * proxy is extended), so that both the domain services and the adapters of the data layer are covered.
+ * <p>
+ * Calls are published as the {@code port.calls} timer with a percentile histogram, tagged by {@code port},
+ * {@code class} (the implementation, e.g., {@code CachingPosDataService} or {@code PosDataServiceImpl}),
+ * {@code method}, and {@code outcome} (see {@link Outcome}). The time includes the transaction of a data layer call.
+ * Timers are created on the first call with an outcome and looked up by method afterward, so a call only adds
+ * two clock reads and a histogram update. Metrics can be turned off with
+ * {@code management.metrics.enable.port.calls=false}.
+ */
+@Component
+public class PortMetricsPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+    static final String METRIC_NAME = "port.calls";
+    private static final String PORTS_PACKAGE = PosService.class.getPackageName();
+    // cache hits and in-memory lookups take microseconds, so the histogram starts at 100 µs instead of 1 ms
+    private static final Duration MINIMUM_EXPECTED_DURATION = Duration.ofNanos(100_000);
+
+    /**
+     * Outcome of a port call, derived from the exception thrown (if any).
+     */
+    enum Outcome {
+        SUCCESS("success"),
+        NOT_FOUND("not_found"),
+        DUPLICATE("duplicate"),
+        VALIDATION("validation"),
+        VERSION_CONFLICT("version_conflict"),
+        UNAVAILABLE("unavailable"), // the OSM API is unavailable or at capacity
+        ERROR("error");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+
+        static Outcome of(Throwable throwable) {
+            return switch (throwable) {
+                case NotFoundException ignored -> NOT_FOUND;
+                case DuplicationException ignored -> DUPLICATE;
+                case ValidationException ignored -> VALIDATION;
+                case MissingFieldException ignored -> VALIDATION;
+                case IllegalArgumentException ignored -> VALIDATION;
+                case VersionConflictException ignored -> VERSION_CONFLICT;
+                case ServiceUnavailableException ignored -> UNAVAILABLE;
+                case CapacityExceededException ignored -> UNAVAILABLE;
+                default -> ERROR;
+            };
+        }
+    }
+
+    /**
+     * Creates the post-processor; the registry is only resolved on the first port call, so that it is
+     * fully configured by then.
+     *
+     * @param meterRegistry the registry to publish the timers to, if available
+     */
+    public PortMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.advisor = new DefaultPointcutAdvisor(new PortMethodPointcut(), new TimingInterceptor(
+                SingletonSupplier.of(() -> meterRegistry.getIfAvailable(SimpleMeterRegistry::new))));
+        setProxyTargetClass(true); // like Spring Boot's proxies, so that beans can still be injected by their class
+        setBeforeExistingAdvisors(true);
+    }
+
+    /**
+     * Finds the port that declares a method.
+     *
+     * @param method      the method
+     * @param targetClass the class implementing the method
+     * @return the port interface, or null if the method is not a port method
+     */
+    private static @Nullable Class<?> findPort(@NonNull Method method, @NonNull Class<?> targetClass) {
+        for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(targetClass)) {
+            if (type.getPackageName().equals(PORTS_PACKAGE)
+                    && ClassUtils.hasMethod(type, method.getName(), method.getParameterTypes())) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Matches the methods of port implementations that are declared by a port.
+     */
+    private static final class PortMethodPointcut extends StaticMethodMatcherPointcut {
+        @Override
+        public boolean matches(@NonNull Method method, @NonNull Class<?> targetClass) {
+            return findPort(method, targetClass) != null;
+        }
+    }
+
+    /**
+     * Records the duration and outcome of port calls.
+     */
+    private static final class TimingInterceptor implements MethodInterceptor {
+        private final Supplier<MeterRegistry> meterRegistry;
+        // the timers of each method by outcome; methods of proxied classes are distinct for each implementation
+        private final Map<Method, AtomicReferenceArray<Timer>> timers = new ConcurrentHashMap<>();
+
+        private TimingInterceptor(Supplier<MeterRegistry> meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public @Nullable Object invoke(@NonNull MethodInvocation invocation) throws Throwable {
+            long start = System.nanoTime();
+            Outcome outcome = Outcome.SUCCESS;
+            try {
+                return invocation.proceed();
+            } catch (Throwable throwable) {
+                outcome = Outcome.of(throwable);
+                throw throwable;
+            } finally {
+                getTimer(invocation, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private Timer getTimer(MethodInvocation invocation, Outcome outcome) {
+            AtomicReferenceArray<Timer> methodTimers = timers.get(invocation.getMethod());
+            if (methodTimers == null) {
+                methodTimers = timers.computeIfAbsent(invocation.getMethod(),
+                        method -> new AtomicReferenceArray<>(Outcome.values().length));
+            }
+            Timer timer = methodTimers.get(outcome.ordinal());
+            if (timer == null) {
+                // registering is idempotent, so concurrent first calls end up with the same timer
+                timer = registerTimer(invocation, outcome);
+                methodTimers.set(outcome.ordinal(), timer);
+            }
+            return timer;
+        }
+
+        private Timer registerTimer(MethodInvocation invocation, Outcome outcome) {
+            Method method = invocation.getMethod();
+            Class<?> targetClass = invocation.getThis() != null
+                    ? AopUtils.getTargetClass(invocation.getThis())
+                    : method.getDeclaringClass();
+            Class<?> port = findPort(method, targetClass);
+            return Timer.builder(METRIC_NAME)
+                    .description("Calls of domain port methods")
+                    .tag("port", port != null ? port.getSimpleName() : "unknown")
+                    .tag("class", ClassUtils.getUserClass(targetClass).getSimpleName())
+                    .tag("method", method.getName())
+                    .tag("outcome", outcome.tag)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(MINIMUM_EXPECTED_DURATION)
+                    .register(meterRegistry.get());
+        }
+    }
+}
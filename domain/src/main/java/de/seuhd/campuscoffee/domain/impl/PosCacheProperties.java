@@ -0,0 +1,20 @@
+package de.seuhd.campuscoffee.domain.impl;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the read-through POS cache (see {@link CachingPosDataService}).
+ *
+ * @param enabled     whether POS lookups by ID and name are cached
+ * @param maximumSize the maximum number of POS kept per cache before the least recently used entries are evicted
+ * @param timeToLive  the time after which a cached POS is evicted and reloaded from the data store
+ */
+@ConfigurationProperties(prefix = "pos.cache")
+public record PosCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("5m") Duration timeToLive
+) {}
@@ -0,0 +1,279 @@
+package de.seuhd.campuscoffee.domain.impl;
+
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.ports.PosDataService;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Base class of the in-memory indexes of the POS that answer queries without accessing the database.
+ * <p>
+ * An index is loaded on the first query and kept in sync by {@link PosServiceImpl} after every write.
+ * Writes that bypass this instance (e.g., of other application instances, migrations, or manual SQL) are detected
+ * by the version of the POS collection (see {@link PosDataService#getCollectionVersion()}), which queries check at
+ * most once per refresh interval; the index is reloaded if the version has changed since it was loaded.
+ * Reloads read the POS without holding the lock, so queries are answered from the previous state meanwhile;
+ * writes during a reload are applied to the reloaded state as well. If the index cannot be refreshed (e.g., because
+ * the database is unavailable), queries are answered from the loaded state.
+ * <p>
+ * Deleted POS are remembered for a while, so a late update of a POS (e.g., of a concurrent write that finishes
+ * after the deletion) or a reload that read the POS before its deletion does not bring it back.
+ * Queries and updates are guarded by a read-write lock, so queries run concurrently.
+ */
+@Slf4j
+abstract class PosIndex {
+    // writes are applied within milliseconds; deletions are remembered with ample margin
+    private static final long REMOVAL_RETENTION_NANOS = Duration.ofMinutes(1).toNanos();
+    private static final long NOT_LOADED = -1;
+
+    private final PosDataService posDataService;
+    private final long refreshIntervalNanos;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock loadLock = new ReentrantLock(); // one load at a time
+    private final Map<Long, Pos> posById = new HashMap<>();
+    // the times (System.nanoTime()) at which POS have been deleted, by ID
+    private final Map<Long, Long> removedAt = new HashMap<>();
+    // the POS written during a load, by ID; null if no load is in progress
+    private @Nullable Map<Long, Pos> writtenDuringLoad;
+    // the collection version read before the POS were loaded
+    private volatile long loadedVersion = NOT_LOADED;
+    private final AtomicLong nextVersionCheck = new AtomicLong(System.nanoTime());
+
+    /**
+     * @param posDataService  supplies all POS and the version of the POS collection
+     * @param refreshInterval the minimum time between two checks of the collection version
+     */
+    PosIndex(@NonNull PosDataService posDataService, @NonNull Duration refreshInterval) {
+        this.posDataService = posDataService;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+    }
+
+    /**
+     * Adds or replaces a POS after it has been written.
+     * Outdated versions of a POS (e.g., from concurrent updates that finish in a different order) and
+     * deleted POS are ignored.
+     *
+     * @param pos the written POS
+     */
+    final void put(@NonNull Pos pos) {
+        if (pos.id() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (removedAt.containsKey(pos.id())) {
+                return;
+            }
+            if (writtenDuringLoad != null) {
+                writtenDuringLoad.merge(pos.id(), pos, PosIndex::newer);
+            }
+            if (loadedVersion != NOT_LOADED) {
+                putIndexed(pos);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a POS after it has been deleted.
+     *
+     * @param id the ID of the deleted POS
+     */
+    final void remove(@NonNull Long id) {
+        lock.writeLock().lock();
+        try {
+            removedAt.put(id, System.nanoTime());
+            if (writtenDuringLoad != null) {
+                writtenDuringLoad.remove(id);
+            }
+            Pos indexedPos = posById.get(id);
+            if (indexedPos != null) {
+                removeIndexed(indexedPos);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all POS after the data store has been cleared; the index is loaded again on the next query.
+     * Deleted POS are forgotten, since clearing the data store resets the IDs, and a load in progress is discarded.
+     */
+    final void clear() {
+        lock.writeLock().lock();
+        try {
+            posById.clear();
+            removedAt.clear();
+            clearIndex();
+            writtenDuringLoad = null;
+            loadedVersion = NOT_LOADED;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a query on the loaded index while holding the read lock.
+     * Loads the index first if it has not been loaded or if the POS collection has changed since it was loaded.
+     *
+     * @param query the query
+     * @param <T>   the type of the query result
+     * @return the query result
+     */
+    final <T> T query(@NonNull Supplier<T> query) {
+        if (loadedVersion == NOT_LOADED) {
+            load();
+        } else {
+            refreshIfOutdated();
+        }
+        lock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a POS to the index structures; called while holding the write lock.
+     *
+     * @param pos the POS to add
+     * @return true if the POS has been added, false if it is not indexed (e.g., because it lacks the indexed fields)
+     */
+    abstract boolean index(@NonNull Pos pos);
+
+    /**
+     * Removes a previously added POS from the index structures; called while holding the write lock.
+     *
+     * @param pos the POS as it has been added
+     */
+    abstract void unindex(@NonNull Pos pos);
+
+    /**
+     * Removes all POS from the index structures; called while holding the write lock.
+     */
+    abstract void clearIndex();
+
+    /**
+     * Reloads the index if the POS collection has changed since it was loaded.
+     * The collection version is checked by one caller per refresh interval; the other callers return immediately.
+     */
+    private void refreshIfOutdated() {
+        long now = System.nanoTime();
+        long next = nextVersionCheck.get();
+        if (now - next < 0 || !nextVersionCheck.compareAndSet(next, now + refreshIntervalNanos)) {
+            return;
+        }
+        try {
+            if (posDataService.getCollectionVersion() != loadedVersion) {
+                load();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh the in-memory index of the POS: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reads all POS and replaces the indexed POS with them, unless another load finished meanwhile.
+     * The collection version is read before the POS, so writes that are missed by the load advance the version
+     * beyond the loaded version and cause another load.
+     */
+    private void load() {
+        long versionBefore = loadedVersion;
+        loadLock.lock();
+        try {
+            if (loadedVersion != versionBefore) {
+                return; // loaded by another caller while waiting for the load lock
+            }
+            long version = posDataService.getCollectionVersion();
+            lock.writeLock().lock();
+            try {
+                writtenDuringLoad = new HashMap<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            List<Pos> loadedPos = null;
+            try {
+                loadedPos = posDataService.getAll();
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    if (loadedPos != null && writtenDuringLoad != null) { // not cleared during the load
+                        replaceIndexed(loadedPos, version, writtenDuringLoad);
+                    }
+                    writtenDuringLoad = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the indexed POS with the loaded POS and the POS written during the load; called while holding
+     * the write lock.
+     *
+     * @param loadedPos  the loaded POS
+     * @param version    the collection version read before the POS were loaded
+     * @param writtenPos the POS written during the load
+     */
+    private void replaceIndexed(List<Pos> loadedPos, long version, Map<Long, Pos> writtenPos) {
+        long now = System.nanoTime();
+        removedAt.values().removeIf(removal -> now - removal > REMOVAL_RETENTION_NANOS);
+        posById.clear();
+        clearIndex();
+        for (Pos pos : loadedPos) {
+            if (pos.id() != null && !removedAt.containsKey(pos.id())) {
+                addIndexed(pos);
+            }
+        }
+        writtenPos.values().forEach(this::putIndexed);
+        loadedVersion = version;
+    }
+
+    private void putIndexed(Pos pos) {
+        Pos indexedPos = posById.get(pos.id());
+        if (indexedPos != null && newer(indexedPos, pos) == indexedPos) {
+            return;
+        }
+        if (indexedPos != null) {
+            removeIndexed(indexedPos);
+        }
+        addIndexed(pos);
+    }
+
+    private void addIndexed(Pos pos) {
+        if (index(pos)) {
+            posById.put(pos.id(), pos);
+        }
+    }
+
+    private void removeIndexed(Pos pos) {
+        posById.remove(pos.id());
+        unindex(pos);
+    }
+
+    /**
+     * Returns the newer of two versions of a POS; the second one if their versions are unknown or equal.
+     */
+    private static Pos newer(Pos pos, Pos otherPos) {
+        return pos.version() != null && otherPos.version() != null && pos.version() > otherPos.version()
+                ? pos
+                : otherPos;
+    }
+}
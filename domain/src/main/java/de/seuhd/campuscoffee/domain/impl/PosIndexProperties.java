@@ -0,0 +1,17 @@
+package de.seuhd.campuscoffee.domain.impl;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the in-memory indexes of the POS (see {@link PosIndex}).
+ *
+ * @param refreshInterval the minimum time between two checks whether the POS have been written by others
+ *                        (e.g., other application instances), which cause the indexes to be reloaded
+ */
+@ConfigurationProperties(prefix = "pos.index")
+public record PosIndexProperties(
+        @DefaultValue("5s") Duration refreshInterval
+) {}
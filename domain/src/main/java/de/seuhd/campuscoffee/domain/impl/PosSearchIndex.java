@@ -0,0 +1,334 @@
+package de.seuhd.campuscoffee.domain.impl;
+
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.ports.PosDataService;
+import org.jspecify.annotations.NonNull;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index for fuzzy full-text searches of POS by name, description, street, and city.
+ * <p>
+ * Texts are normalized (lower case, umlauts and ß spelled out, other diacritics removed) and split into words.
+ * Each distinct word is indexed by its trigrams (with two leading and one trailing space, as in PostgreSQL's pg_trgm),
+ * so a query word matches all indexed words with a similar set of trigrams, which tolerates typos and missing
+ * or additional characters. Only the words that share a trigram with a query word are examined.
+ * <p>
+ * Each indexed POS occupies a numbered slot, so the scores of a search are accumulated in arrays instead of maps,
+ * and the best matches are selected with a bounded heap instead of sorting all matches.
+ * The buffers for the scores are pooled and reused by subsequent searches.
+ * See {@link PosIndex} for loading and updating the index.
+ */
+final class PosSearchIndex extends PosIndex {
+    // the minimum trigram similarity of a query word and an indexed word to be considered a match (as in pg_trgm)
+    private static final double SIMILARITY_THRESHOLD = 0.3;
+    private static final int NAME_WEIGHT = 2; // matches in the name count twice
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<String, Word> words = new HashMap<>();
+    private final Map<String, Set<Word>> wordsByTrigram = new HashMap<>();
+    private final List<Pos> posBySlot = new ArrayList<>(); // null for free slots
+    private final Map<Pos, Integer> slotByPos = new IdentityHashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    // buffers for the scores of searches, reused since allocating them for every search costs more than the search
+    private final Queue<Scores> scoresPool = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param posDataService  supplies all POS and the version of the POS collection
+     * @param refreshInterval the minimum time between two checks of the collection version
+     */
+    PosSearchIndex(@NonNull PosDataService posDataService, @NonNull Duration refreshInterval) {
+        super(posDataService, refreshInterval);
+    }
+
+    /**
+     * Finds the POS whose texts match the words of a query, best matches first.
+     * A POS matches if it contains a word similar to at least one query word; its score is the sum of the best
+     * similarities per query word.
+     *
+     * @param query the query
+     * @param limit the maximum number of POS to return
+     * @return the matching POS ordered by descending score; empty if the query does not contain any word
+     */
+    @NonNull List<Pos> search(@NonNull String query, int limit) {
+        List<Set<String>> queryTrigrams = splitWords(query).stream()
+                .map(PosSearchIndex::trigrams)
+                .toList();
+        if (queryTrigrams.isEmpty()) {
+            return List.of();
+        }
+
+        return query(() -> {
+            Scores scores = borrowScores();
+            try {
+                for (Set<String> trigrams : queryTrigrams) {
+                    // count the trigrams that each indexed word shares with the query word
+                    Map<Word, Integer> sharedTrigrams = new HashMap<>();
+                    for (String trigram : trigrams) {
+                        for (Word word : wordsByTrigram.getOrDefault(trigram, Set.of())) {
+                            sharedTrigrams.merge(word, 1, Integer::sum);
+                        }
+                    }
+                    sharedTrigrams.forEach((word, shared) -> {
+                        // Jaccard similarity of the trigram sets
+                        double similarity = (double) shared / (trigrams.size() + word.trigramCount - shared);
+                        if (similarity >= SIMILARITY_THRESHOLD) {
+                            for (int i = 0; i < word.size; i++) {
+                                scores.match(word.slots[i], similarity * word.weights[i]);
+                            }
+                        }
+                    });
+                    scores.completeQueryWord();
+                }
+                return best(scores, limit);
+            } finally {
+                scores.reset();
+                scoresPool.offer(scores);
+            }
+        });
+    }
+
+    /**
+     * Selects the best matches with a heap of at most {@code limit} slots that holds the worst of them on top,
+     * which is cheaper than sorting all matches. Among matches with the same score, the lower slots are selected;
+     * the selected matches are ordered by score and name.
+     */
+    private List<Pos> best(Scores scores, int limit) {
+        Comparator<Integer> worstFirst = Comparator.<Integer>comparingDouble(slot -> scores.scores[slot])
+                .thenComparing(Comparator.reverseOrder());
+        PriorityQueue<Integer> bestSlots = new PriorityQueue<>(limit + 1, worstFirst);
+        for (int i = 0; i < scores.matchCount; i++) {
+            int slot = scores.matchedSlots[i];
+            if (bestSlots.size() == limit) {
+                // most matches are not better than the worst selected one, so skip them without boxing
+                int worstSlot = bestSlots.element();
+                double score = scores.scores[slot];
+                double worstScore = scores.scores[worstSlot];
+                if (score < worstScore || score == worstScore && slot > worstSlot) {
+                    continue;
+                }
+            }
+            bestSlots.add(slot);
+            if (bestSlots.size() > limit) {
+                bestSlots.poll();
+            }
+        }
+        return bestSlots.stream()
+                .sorted(Comparator.<Integer>comparingDouble(slot -> -scores.scores[slot])
+                        .thenComparing(slot -> posBySlot.get(slot).name()))
+                .map(posBySlot::get)
+                .toList();
+    }
+
+    private Scores borrowScores() {
+        Scores scores = scoresPool.poll();
+        if (scores == null || scores.scores.length < posBySlot.size()) {
+            // the index has grown since the buffers have been allocated
+            return new Scores(posBySlot.size());
+        }
+        return scores;
+    }
+
+    @Override
+    boolean index(@NonNull Pos pos) {
+        Integer slot = freeSlots.poll();
+        if (slot == null) {
+            slot = posBySlot.size();
+            posBySlot.add(pos);
+        } else {
+            posBySlot.set(slot, pos);
+        }
+        slotByPos.put(pos, slot);
+
+        for (Map.Entry<String, Integer> entry : weightedWords(pos).entrySet()) {
+            Word word = words.computeIfAbsent(entry.getKey(), text -> {
+                Set<String> trigrams = trigrams(text);
+                Word newWord = new Word(trigrams.size());
+                trigrams.forEach(trigram ->
+                        wordsByTrigram.computeIfAbsent(trigram, key -> new HashSet<>()).add(newWord));
+                return newWord;
+            });
+            word.add(slot, entry.getValue());
+        }
+        return true;
+    }
+
+    @Override
+    void unindex(@NonNull Pos pos) {
+        int slot = slotByPos.remove(pos);
+        for (String text : weightedWords(pos).keySet()) {
+            Word word = words.get(text);
+            word.remove(slot);
+            if (word.size == 0) {
+                words.remove(text);
+                for (String trigram : trigrams(text)) {
+                    Set<Word> trigramWords = wordsByTrigram.get(trigram);
+                    trigramWords.remove(word);
+                    if (trigramWords.isEmpty()) {
+                        wordsByTrigram.remove(trigram);
+                    }
+                }
+            }
+        }
+        posBySlot.set(slot, null);
+        freeSlots.push(slot);
+    }
+
+    @Override
+    void clearIndex() {
+        words.clear();
+        wordsByTrigram.clear();
+        posBySlot.clear();
+        slotByPos.clear();
+        freeSlots.clear();
+        scoresPool.clear();
+    }
+
+    /**
+     * Normalizes a text and splits it into words.
+     *
+     * @param text the text
+     * @return the distinct normalized words in the order of their first occurrence
+     */
+    private static @NonNull Set<String> splitWords(@NonNull String text) {
+        String normalized = text.toLowerCase(Locale.ROOT)
+                .replace("ä", "ae")
+                .replace("ö", "oe")
+                .replace("ü", "ue")
+                .replace("ß", "ss");
+        normalized = DIACRITICS.matcher(Normalizer.normalize(normalized, Normalizer.Form.NFD)).replaceAll("");
+        Set<String> words = new LinkedHashSet<>();
+        for (String word : SEPARATORS.split(normalized)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Computes the trigrams of a normalized word, padded with two leading spaces and one trailing space,
+     * so that words sharing a prefix are more similar than words sharing an infix.
+     *
+     * @param word the normalized word
+     * @return the distinct trigrams of the word
+     */
+    private static @NonNull Set<String> trigrams(@NonNull String word) {
+        String padded = "  " + word + " ";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Collects the words of the indexed texts of a POS with their weights.
+     *
+     * @param pos the POS
+     * @return the normalized words with the highest weight of the texts they appear in
+     */
+    private static Map<String, Integer> weightedWords(Pos pos) {
+        Map<String, Integer> weightedWords = new HashMap<>();
+        for (String text : List.of(pos.description(), pos.street(), pos.city())) {
+            splitWords(text).forEach(word -> weightedWords.put(word, 1));
+        }
+        splitWords(pos.name()).forEach(word -> weightedWords.put(word, NAME_WEIGHT));
+        return weightedWords;
+    }
+
+    /**
+     * A distinct normalized word with the slots of the POS it occurs in and its weight in each of them.
+     * Words are compared by identity, since the index holds exactly one instance of each.
+     */
+    private static final class Word {
+        private final int trigramCount;
+        private int[] slots = new int[1];
+        private int[] weights = new int[1];
+        private int size;
+
+        private Word(int trigramCount) {
+            this.trigramCount = trigramCount;
+        }
+
+        private void add(int slot, int weight) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            slots[size] = slot;
+            weights[size] = weight;
+            size++;
+        }
+
+        private void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    // the order of the slots does not matter, so the last one takes the place of the removed one
+                    size--;
+                    slots[i] = slots[size];
+                    weights[i] = weights[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * The scores of a search per slot, accumulated over the query words.
+     */
+    private static final class Scores {
+        private final double[] scores;
+        private final double[] wordScores; // best similarity of the current query word
+        private final int[] matchedSlots;
+        private int matchCount;
+
+        private Scores(int slotCount) {
+            scores = new double[slotCount];
+            wordScores = new double[slotCount];
+            matchedSlots = new int[slotCount];
+        }
+
+        private void match(int slot, double score) {
+            if (scores[slot] == 0 && wordScores[slot] == 0) {
+                matchedSlots[matchCount++] = slot;
+            }
+            wordScores[slot] = Math.max(wordScores[slot], score);
+        }
+
+        private void completeQueryWord() {
+            for (int i = 0; i < matchCount; i++) {
+                int slot = matchedSlots[i];
+                scores[slot] += wordScores[slot];
+                wordScores[slot] = 0;
+            }
+        }
+
+        private void reset() {
+            for (int i = 0; i < matchCount; i++) {
+                scores[matchedSlots[i]] = 0;
+                wordScores[matchedSlots[i]] = 0;
+            }
+            matchCount = 0;
+        }
+    }
+}
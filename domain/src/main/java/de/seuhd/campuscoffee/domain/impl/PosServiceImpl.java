@@ -4,34 +4,72 @@ import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
 import de.seuhd.campuscoffee.domain.exceptions.MissingFieldException;
 import de.seuhd.campuscoffee.domain.model.CampusType;
 import de.seuhd.campuscoffee.domain.model.OsmAmenity;
+import de.seuhd.campuscoffee.domain.model.OsmImportResult;
 import de.seuhd.campuscoffee.domain.model.OsmNode;
+import de.seuhd.campuscoffee.domain.model.OsmSyncResult;
 import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosFilter;
 import de.seuhd.campuscoffee.domain.model.PosType;
+import de.seuhd.campuscoffee.domain.model.UpsertResult;
 import de.seuhd.campuscoffee.domain.ports.OsmDataService;
 import de.seuhd.campuscoffee.domain.ports.PosDataService;
 import de.seuhd.campuscoffee.domain.ports.PosService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Implementation of the POS service that handles business logic related to POS entities.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class PosServiceImpl implements PosService {
     private final PosDataService posDataService;
     private final OsmDataService osmDataService;
+    private final OsmImportProperties osmImportProperties;
+    private final PosSpatialIndex spatialIndex;
+    private final PosSearchIndex searchIndex;
+    private final List<PosIndex> indexes;
+
+    /**
+     * Creates the service and its in-memory indexes, which are loaded on their first query.
+     *
+     * @param posDataService      the data service of the POS
+     * @param osmDataService      the data service of the OpenStreetMap nodes
+     * @param osmImportProperties the configuration of batch imports of OSM nodes
+     * @param posIndexProperties  the configuration of the in-memory indexes
+     */
+    public PosServiceImpl(PosDataService posDataService,
+                          OsmDataService osmDataService,
+                          OsmImportProperties osmImportProperties,
+                          PosIndexProperties posIndexProperties) {
+        this.posDataService = posDataService;
+        this.osmDataService = osmDataService;
+        this.osmImportProperties = osmImportProperties;
+        this.spatialIndex = new PosSpatialIndex(posDataService, posIndexProperties.refreshInterval());
+        this.searchIndex = new PosSearchIndex(posDataService, posIndexProperties.refreshInterval());
+        this.indexes = List.of(spatialIndex, searchIndex);
+    }
 
     @Override
     public void clear() {
         log.warn("Clearing all POS data");
         posDataService.clear();
+        indexes.forEach(PosIndex::clear);
     }
 
     @Override
@@ -40,6 +78,62 @@ public class PosServiceImpl implements PosService {
         return posDataService.getAll();
     }
 
+    @Override
+    public @NonNull String getCollectionVersion() {
+        return Long.toString(posDataService.getCollectionVersion());
+    }
+
+    @Override
+    public @NonNull List<Pos> getPage(@Nullable Long after, int limit) {
+        checkPageSize(limit);
+        log.debug("Retrieving up to {} POS after ID: {}", limit, after);
+        return posDataService.getPage(after, limit);
+    }
+
+    @Override
+    public @NonNull List<Pos> getFiltered(@NonNull PosFilter filter, @Nullable Long after, @Nullable Integer limit) {
+        if (limit != null) {
+            checkPageSize(limit);
+        }
+        log.debug("Retrieving up to {} POS after ID {} matching: {}", limit, after, filter);
+        return posDataService.getFiltered(filter, after, limit);
+    }
+
+    @Override
+    public @NonNull List<Pos> getNearby(double latitude, double longitude, double radius, int limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Latitude must be between -90 and 90 degrees " +
+                    "and longitude between -180 and 180 degrees.");
+        }
+        if (!(radius > 0 && radius <= MAX_NEARBY_RADIUS)) {
+            throw new IllegalArgumentException(
+                    "Radius must be greater than 0 and at most " + MAX_NEARBY_RADIUS + " meters.");
+        }
+        if (limit < 1 || limit > MAX_NEARBY_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_NEARBY_LIMIT + ".");
+        }
+        log.debug("Retrieving up to {} POS within {} m of ({}, {})", limit, radius, latitude, longitude);
+        return spatialIndex.findNearby(latitude, longitude, radius, limit);
+    }
+
+    @Override
+    public @NonNull List<Pos> search(@NonNull String query, int limit) {
+        if (query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank.");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_LIMIT + ".");
+        }
+        log.debug("Searching up to {} POS matching: {}", limit, query);
+        return searchIndex.search(query, limit);
+    }
+
+    @Override
+    public void streamAll(@NonNull Consumer<Pos> consumer) {
+        log.debug("Streaming all POS");
+        posDataService.streamAll(consumer);
+    }
+
     @Override
     public @NonNull Pos getById(@NonNull Long id) {
         log.debug("Retrieving POS with ID: {}", id);
@@ -59,15 +153,27 @@ public class PosServiceImpl implements PosService {
             log.info("Creating new POS: {}", pos.name());
         } else {
             // update an existing POS
+            // the data service reports a POS that does not exist, so no separate existence check is needed
             log.info("Updating POS with ID: {}", pos.id());
-            // POS ID must be set
-            Objects.requireNonNull(pos.id());
-            // POS must exist in the database before the update
-            posDataService.getById(pos.id());
         }
         return performUpsert(pos);
     }
 
+    @Override
+    public @NonNull List<UpsertResult<Pos>> upsertAll(@NonNull List<Pos> posList) {
+        if (posList.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch must not contain more than " + MAX_BATCH_SIZE + " POS.");
+        }
+        log.info("Upserting batch of {} POS", posList.size());
+        List<UpsertResult<Pos>> results = BatchUpserts.upsertAll(
+                posList, Pos::id, posDataService::upsertAll, this::performUpsert);
+        results.stream()
+                .filter(UpsertResult::succeeded)
+                .forEach(result -> updateIndexes(Objects.requireNonNull(result.item())));
+        log.info("Upserted {} of {} POS", results.stream().filter(UpsertResult::succeeded).count(), posList.size());
+        return results;
+    }
+
     @Override
     public @NonNull Pos importFromOsmNode(@NonNull Long nodeId, @NonNull CampusType campusType) {
         log.info("Importing POS from OpenStreetMap node {}...", nodeId);
@@ -82,20 +188,229 @@ public class PosServiceImpl implements PosService {
         return savedPos;
     }
 
+    @Override
+    public @NonNull List<OsmImportResult> importFromOsmNodes(@NonNull List<Long> nodeIds,
+                                                             @NonNull CampusType campusType) {
+        if (nodeIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("An import must not contain more than " + MAX_BATCH_SIZE + " OSM nodes.");
+        }
+        log.info("Importing {} POS from OpenStreetMap nodes...", nodeIds.size());
+
+        // fetch and convert the nodes on virtual threads; the semaphore limits the concurrent requests to the OSM API
+        Semaphore permits = new Semaphore(osmImportProperties.concurrency());
+        List<Future<Pos>> conversions;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // fetch several nodes per request to reduce the number of round trips
+            Map<Long, Future<Map<Long, OsmNode>>> fetches = new HashMap<>();
+            int fetchSize = osmImportProperties.fetchSize();
+            for (int from = 0; from < nodeIds.size(); from += fetchSize) {
+                List<Long> chunk = nodeIds.subList(from, Math.min(from + fetchSize, nodeIds.size()));
+                Future<Map<Long, OsmNode>> fetch = executor.submit(() ->
+                        withPermit(permits, () -> osmDataService.fetchNodes(chunk)));
+                chunk.forEach(nodeId -> fetches.put(nodeId, fetch));
+            }
+            conversions = nodeIds.stream()
+                    .map(nodeId -> executor.submit(() -> {
+                        OsmNode osmNode = fetches.get(nodeId).get().get(nodeId);
+                        if (osmNode == null) {
+                            // fetch nodes missing from the multi-node response on their own to learn why they failed
+                            osmNode = withPermit(permits, () -> osmDataService.fetchNode(nodeId));
+                        }
+                        return convertOsmNodeToPos(osmNode, campusType);
+                    }))
+                    .toList();
+        } // closing the executor waits for all tasks to complete
+
+        OsmImportResult[] results = new OsmImportResult[nodeIds.size()];
+        List<Integer> converted = new ArrayList<>();
+        for (int i = 0; i < nodeIds.size(); i++) {
+            Future<Pos> conversion = conversions.get(i);
+            if (conversion.state() == Future.State.SUCCESS) {
+                converted.add(i);
+            } else {
+                results[i] = OsmImportResult.failure(nodeIds.get(i), getErrorMessage(conversion.exceptionNow()));
+            }
+        }
+
+        // persist the converted POS in batches
+        int batchSize = osmImportProperties.batchSize();
+        for (int from = 0; from < converted.size(); from += batchSize) {
+            List<Integer> batch = converted.subList(from, Math.min(from + batchSize, converted.size()));
+            List<Pos> posList = batch.stream()
+                    .map(i -> conversions.get(i).resultNow())
+                    .toList();
+            try {
+                List<Pos> upsertedPosList = posDataService.upsertAll(posList);
+                upsertedPosList.forEach(this::updateIndexes);
+                for (int j = 0; j < batch.size(); j++) {
+                    results[batch.get(j)] = OsmImportResult.success(nodeIds.get(batch.get(j)), upsertedPosList.get(j));
+                }
+            } catch (RuntimeException e) {
+                // the batch has been rolled back, so persist its POS one by one to determine which of them failed;
+                // any failure (e.g., a constraint violation or a concurrent update) is reported for its node only
+                log.warn("Batch of {} imported POS could not be persisted: {}", batch.size(), e.getMessage());
+                for (int i : batch) {
+                    try {
+                        results[i] = OsmImportResult.success(nodeIds.get(i), performUpsert(conversions.get(i).resultNow()));
+                    } catch (RuntimeException singleException) {
+                        results[i] = OsmImportResult.failure(nodeIds.get(i), getErrorMessage(singleException));
+                    }
+                }
+            }
+        }
+
+        List<OsmImportResult> resultList = List.of(results);
+        log.info("Imported {} of {} POS from OpenStreetMap nodes",
+                resultList.stream().filter(OsmImportResult::succeeded).count(), nodeIds.size());
+        return resultList;
+    }
+
+    @Override
+    public @NonNull OsmSyncResult syncWithOsm() {
+        log.info("Synchronizing imported POS with their OpenStreetMap nodes...");
+        // a page is fetched with one concurrent multi-node request per chunk of the fetch size
+        int pageSize = osmImportProperties.concurrency() * osmImportProperties.fetchSize();
+        int checked = 0;
+        int unchanged = 0;
+        int updated = 0;
+        Long after = null;
+        List<Pos> page;
+        do {
+            page = posDataService.getOsmImportedPage(after, pageSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            after = page.getLast().id();
+            checked += page.size();
+
+            Map<Long, OsmNode> currentNodes = fetchCurrentNodes(page.stream()
+                    .map(pos -> Objects.requireNonNull(pos.osmNodeId()))
+                    .distinct()
+                    .toList());
+            List<Pos> changedPosList = new ArrayList<>();
+            for (Pos pos : page) {
+                OsmNode osmNode = currentNodes.get(pos.osmNodeId());
+                if (osmNode == null) {
+                    log.warn("Could not fetch OSM node {} of POS {}", pos.osmNodeId(), pos.id());
+                } else if (osmNode.version() != null && osmNode.version().equals(pos.osmVersion())) {
+                    unchanged++;
+                } else {
+                    try {
+                        // the POS is only updated in the loaded version, so concurrent edits are not overwritten
+                        changedPosList.add(convertOsmNodeToPos(osmNode, pos.campus()).toBuilder()
+                                .id(pos.id())
+                                .version(pos.version())
+                                .build());
+                    } catch (MissingFieldException e) {
+                        log.warn("Could not re-import POS {} from OSM node {}: {}",
+                                pos.id(), pos.osmNodeId(), e.getMessage());
+                    }
+                }
+            }
+            updated += upsertChangedPos(changedPosList);
+        } while (page.size() == pageSize);
+
+        OsmSyncResult result = new OsmSyncResult(checked, unchanged, updated, checked - unchanged - updated);
+        log.info("Synchronized {} POS with their OpenStreetMap nodes: {} unchanged, {} updated, {} failed",
+                result.checked(), result.unchanged(), result.updated(), result.failed());
+        return result;
+    }
+
     @Override
     public void delete(@NonNull Long id) {
         log.info("Trying to delete POS with ID: {}", id);
         posDataService.delete(id);
+        removeFromIndexes(id);
+        log.info("Deleted POS with ID: {}", id);
+    }
+
+    @Override
+    public void delete(@NonNull Long id, @NonNull Long version) {
+        log.info("Trying to delete POS with ID {} in version {}", id, version);
+        posDataService.delete(id, version);
+        removeFromIndexes(id);
         log.info("Deleted POS with ID: {}", id);
     }
 
+    /**
+     * Performs a request to the OSM API once one of the given permits is available,
+     * so that only a limited number of requests is performed at once.
+     *
+     * @param permits the permits shared by all requests of a batch import
+     * @param request the request to perform
+     * @param <T> the type of the response
+     * @return the response of the request
+     * @throws InterruptedException if the thread is interrupted while waiting for a permit
+     */
+    private <T> T withPermit(@NonNull Semaphore permits, @NonNull Supplier<T> request) throws InterruptedException {
+        permits.acquire();
+        try {
+            return request.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Fetches the current versions of OSM nodes with one concurrent multi-node request per chunk.
+     * Missing nodes do not fail the other nodes of their chunk (see {@link OsmDataService#fetchNodes(List)}).
+     *
+     * @param nodeIds the IDs of the nodes to fetch
+     * @return the fetched nodes by node ID; nodes that could not be fetched are omitted
+     */
+    private @NonNull Map<Long, OsmNode> fetchCurrentNodes(@NonNull List<Long> nodeIds) {
+        List<Future<Map<Long, OsmNode>>> fetches = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            int fetchSize = osmImportProperties.fetchSize();
+            for (int from = 0; from < nodeIds.size(); from += fetchSize) {
+                List<Long> chunk = nodeIds.subList(from, Math.min(from + fetchSize, nodeIds.size()));
+                fetches.add(executor.submit(() -> osmDataService.fetchCurrentNodes(chunk)));
+            }
+        } // closing the executor waits for all fetches to complete
+
+        Map<Long, OsmNode> nodes = new HashMap<>();
+        for (Future<Map<Long, OsmNode>> fetch : fetches) {
+            if (fetch.state() == Future.State.SUCCESS) {
+                nodes.putAll(fetch.resultNow());
+            } else {
+                log.error("Could not fetch OSM nodes: {}", getErrorMessage(fetch.exceptionNow()));
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Persists POS re-imported from edited OSM nodes in batches (see {@link BatchUpserts}).
+     *
+     * @param posList the re-imported POS with their IDs
+     * @return the number of POS that were persisted
+     */
+    private int upsertChangedPos(@NonNull List<Pos> posList) {
+        int upserted = 0;
+        int batchSize = osmImportProperties.batchSize();
+        for (int from = 0; from < posList.size(); from += batchSize) {
+            List<UpsertResult<Pos>> results = BatchUpserts.upsertAll(
+                    posList.subList(from, Math.min(from + batchSize, posList.size())),
+                    Pos::id, posDataService::upsertAll, this::performUpsert);
+            for (UpsertResult<Pos> result : results) {
+                if (result.succeeded()) {
+                    updateIndexes(Objects.requireNonNull(result.item()));
+                    upserted++;
+                } else {
+                    log.warn("Could not persist re-imported POS: {}", result.error());
+                }
+            }
+        }
+        return upserted;
+    }
+
     /**
      * Converts an OSM node to a POS domain object.
      * Maps OSM amenity types to POS types and validates required fields.
      *
      * @param osmNode the OSM node data
      * @param campusType the campus where the POS is located
-     * @return a new Pos object with data from the OSM node
+     * @return a new Pos object with data from the OSM node, which remembers the node and its version
      * @throws MissingFieldException if required fields are missing or invalid
      */
     private @NonNull Pos convertOsmNodeToPos(@NonNull OsmNode osmNode, @NonNull CampusType campusType) {
@@ -121,6 +436,10 @@ public class PosServiceImpl implements PosService {
                 .houseNumber(osmNode.houseNumber())
                 .postalCode(postalCode)
                 .city(osmNode.city())
+                .latitude(osmNode.latitude())
+                .longitude(osmNode.longitude())
+                .osmNodeId(osmNode.nodeId())
+                .osmVersion(osmNode.version())
                 .build();
     }
 
@@ -139,6 +458,32 @@ public class PosServiceImpl implements PosService {
         };
     }
 
+    /**
+     * Checks that a page size is between 1 and {@link #MAX_PAGE_SIZE}.
+     *
+     * @param limit the requested page size
+     * @throws IllegalArgumentException if the page size is out of range
+     */
+    private void checkPageSize(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+    }
+
+    /**
+     * Returns a message describing why the import of an OSM node failed.
+     *
+     * @param exception the exception thrown while fetching or converting the node
+     * @return the exception message or, if there is none, the name of the exception
+     */
+    private @NonNull String getErrorMessage(@NonNull Throwable exception) {
+        if (exception instanceof ExecutionException && exception.getCause() != null) {
+            // the multi-node request shared by the node failed (e.g., because the OSM API is unavailable)
+            return getErrorMessage(exception.getCause());
+        }
+        return Objects.requireNonNullElse(exception.getMessage(), exception.getClass().getSimpleName());
+    }
+
     /**
      * Performs the actual upsert operation with consistent error handling and logging.
      * Database constraint enforces name uniqueness - data layer will throw DuplicateEntityException if violated.
@@ -151,6 +496,7 @@ public class PosServiceImpl implements PosService {
     private @NonNull Pos performUpsert(@NonNull Pos pos) {
         try {
             Pos upsertedPos = posDataService.upsert(pos);
+            updateIndexes(upsertedPos);
             log.info("Successfully upserted POS with ID: {}", upsertedPos.id());
             return upsertedPos;
         } catch (DuplicationException e) {
@@ -158,4 +504,22 @@ public class PosServiceImpl implements PosService {
             throw e;
         }
     }
+
+    /**
+     * Updates the in-memory indexes after a POS has been written.
+     *
+     * @param pos the written POS
+     */
+    private void updateIndexes(@NonNull Pos pos) {
+        indexes.forEach(index -> index.put(pos));
+    }
+
+    /**
+     * Removes a deleted POS from the in-memory indexes.
+     *
+     * @param id the ID of the deleted POS
+     */
+    private void removeFromIndexes(@NonNull Long id) {
+        indexes.forEach(index -> index.remove(id));
+    }
 }
@@ -0,0 +1,134 @@
+package de.seuhd.campuscoffee.domain.impl;
+
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.ports.PosDataService;
+import org.jspecify.annotations.NonNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory spatial index of the POS with coordinates for nearby searches.
+ * The POS are assigned to the cells of a uniform latitude/longitude grid (0.01 degrees, about 1 km), so a search only
+ * examines the POS in the cells that overlap the bounding box of the search circle instead of scanning all POS.
+ * See {@link PosIndex} for loading and updating the index.
+ */
+final class PosSpatialIndex extends PosIndex {
+    private static final double CELL_SIZE = 0.01; // degrees
+    private static final int ROWS = (int) Math.round(180 / CELL_SIZE);
+    private static final int COLUMNS = (int) Math.round(360 / CELL_SIZE);
+    private static final double EARTH_RADIUS = 6_371_008.8; // mean radius in meters
+
+    private final Map<Long, List<Pos>> posByCell = new HashMap<>();
+
+    /**
+     * @param posDataService  supplies all POS and the version of the POS collection
+     * @param refreshInterval the minimum time between two checks of the collection version
+     */
+    PosSpatialIndex(@NonNull PosDataService posDataService, @NonNull Duration refreshInterval) {
+        super(posDataService, refreshInterval);
+    }
+
+    /**
+     * Finds the POS within a radius around a location, ordered by distance.
+     *
+     * @param latitude  the latitude of the location in degrees
+     * @param longitude the longitude of the location in degrees
+     * @param radius    the radius in meters
+     * @param limit     the maximum number of POS to return
+     * @return the nearest POS within the radius, closest first
+     */
+    @NonNull List<Pos> findNearby(double latitude, double longitude, double radius, int limit) {
+        // bounding box of the search circle; the longitude range is widest at the latitude closest to a pole
+        double latitudeDelta = Math.toDegrees(radius / EARTH_RADIUS);
+        double cosine = Math.cos(Math.toRadians(Math.min(90, Math.abs(latitude) + latitudeDelta)));
+        double longitudeDelta = cosine <= 0 ? 180 : Math.min(180, latitudeDelta / cosine);
+        int minRow = row(latitude - latitudeDelta);
+        int maxRow = row(latitude + latitudeDelta);
+        int minColumn = (int) Math.floor((longitude - longitudeDelta + 180) / CELL_SIZE);
+        int maxColumn = Math.min((int) Math.floor((longitude + longitudeDelta + 180) / CELL_SIZE),
+                minColumn + COLUMNS - 1); // visit each column at most once
+
+        List<Candidate> candidates = query(() -> {
+            List<Candidate> inRadius = new ArrayList<>();
+            for (int row = minRow; row <= maxRow; row++) {
+                for (int column = minColumn; column <= maxColumn; column++) {
+                    // columns beyond the antimeridian wrap around
+                    List<Pos> cell = posByCell.get(cellKey(row, Math.floorMod(column, COLUMNS)));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (Pos pos : cell) {
+                        double distance = distance(latitude, longitude, pos.latitude(), pos.longitude());
+                        if (distance <= radius) {
+                            inRadius.add(new Candidate(pos, distance));
+                        }
+                    }
+                }
+            }
+            return inRadius;
+        });
+
+        return candidates.stream()
+                .sorted(Comparator.comparingDouble(Candidate::distance))
+                .limit(limit)
+                .map(Candidate::pos)
+                .toList();
+    }
+
+    @Override
+    boolean index(@NonNull Pos pos) {
+        if (pos.latitude() == null || pos.longitude() == null) {
+            return false;
+        }
+        posByCell.computeIfAbsent(cellKey(pos), key -> new ArrayList<>()).add(pos);
+        return true;
+    }
+
+    @Override
+    void unindex(@NonNull Pos pos) {
+        long cellKey = cellKey(pos);
+        List<Pos> cell = posByCell.get(cellKey);
+        cell.removeIf(indexedPos -> indexedPos.id().equals(pos.id()));
+        if (cell.isEmpty()) {
+            posByCell.remove(cellKey);
+        }
+    }
+
+    @Override
+    void clearIndex() {
+        posByCell.clear();
+    }
+
+    private static long cellKey(Pos pos) {
+        int column = (int) Math.floor((pos.longitude() + 180) / CELL_SIZE);
+        return cellKey(row(pos.latitude()), Math.floorMod(column, COLUMNS));
+    }
+
+    private static long cellKey(int row, int column) {
+        return (long) row * COLUMNS + column;
+    }
+
+    private static int row(double latitude) {
+        return Math.max(0, Math.min(ROWS - 1, (int) Math.floor((latitude + 90) / CELL_SIZE)));
+    }
+
+    /**
+     * Computes the great-circle distance between two locations with the haversine formula.
+     *
+     * @return the distance in meters
+     */
+    private static double distance(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double latitudeSine = Math.sin(Math.toRadians(latitude2 - latitude1) / 2);
+        double longitudeSine = Math.sin(Math.toRadians(longitude2 - longitude1) / 2);
+        double a = latitudeSine * latitudeSine + Math.cos(Math.toRadians(latitude1))
+                * Math.cos(Math.toRadians(latitude2)) * longitudeSine * longitudeSine;
+        return 2 * EARTH_RADIUS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private record Candidate(Pos pos, double distance) {}
+}
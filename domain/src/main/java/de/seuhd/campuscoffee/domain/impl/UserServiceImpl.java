@@ -1,6 +1,7 @@
 package de.seuhd.campuscoffee.domain.impl;
 
 import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
+import de.seuhd.campuscoffee.domain.model.UpsertResult;
 import de.seuhd.campuscoffee.domain.model.User;
 import de.seuhd.campuscoffee.domain.ports.UserDataService;
 import de.seuhd.campuscoffee.domain.ports.UserService;
@@ -10,7 +11,6 @@ import org.jspecify.annotations.NonNull;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Objects;
 
 /**
  * Implementation of the user service that handles business logic related to user entities.
@@ -45,6 +45,26 @@ public class UserServiceImpl implements UserService {
         return userDataService.getByLoginName(loginName);
     }
 
+    @Override
+    public @NonNull User getByEmailAddress(@NonNull String emailAddress) {
+        log.debug("Retrieving user with email address: {}", emailAddress);
+        return userDataService.getByEmailAddress(emailAddress);
+    }
+
+    @Override
+    public @NonNull List<User> getByLoginNamePrefix(@NonNull String prefix, int limit) {
+        checkPrefixLookup(prefix, limit);
+        log.debug("Retrieving up to {} users with login name prefix: {}", limit, prefix);
+        return userDataService.getByLoginNamePrefix(prefix, limit);
+    }
+
+    @Override
+    public @NonNull List<User> getByEmailAddressPrefix(@NonNull String prefix, int limit) {
+        checkPrefixLookup(prefix, limit);
+        log.debug("Retrieving up to {} users with email address prefix: {}", limit, prefix);
+        return userDataService.getByEmailAddressPrefix(prefix, limit);
+    }
+
     @Override
     public @NonNull User upsert(@NonNull User user) {
         if (user.id() == null) {
@@ -52,15 +72,24 @@ public class UserServiceImpl implements UserService {
             log.info("Creating new user: {}", user.loginName());
         } else {
             // update an existing user
+            // the data service reports a user that does not exist, so no separate existence check is needed
             log.info("Updating user with ID: {}", user.id());
-            // User ID must be set
-            Objects.requireNonNull(user.id());
-            // User must exist in the database before the update
-            userDataService.getById(user.id());
         }
         return performUpsert(user);
     }
 
+    @Override
+    public @NonNull List<UpsertResult<User>> upsertAll(@NonNull List<User> users) {
+        if (users.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch must not contain more than " + MAX_BATCH_SIZE + " users.");
+        }
+        log.info("Upserting batch of {} users", users.size());
+        List<UpsertResult<User>> results = BatchUpserts.upsertAll(
+                users, User::id, userDataService::upsertAll, this::performUpsert);
+        log.info("Upserted {} of {} users", results.stream().filter(UpsertResult::succeeded).count(), users.size());
+        return results;
+    }
+
     @Override
     public void delete(@NonNull Long id) {
         log.info("Trying to delete user with ID: {}", id);
@@ -68,9 +97,32 @@ public class UserServiceImpl implements UserService {
         log.info("Deleted user with ID: {}", id);
     }
 
+    @Override
+    public void delete(@NonNull Long id, @NonNull Long version) {
+        log.info("Trying to delete user with ID {} in version {}", id, version);
+        userDataService.delete(id, version);
+        log.info("Deleted user with ID: {}", id);
+    }
+
+    /**
+     * Checks the arguments of a prefix lookup.
+     *
+     * @param prefix the prefix
+     * @param limit  the maximum number of users to return
+     * @throws IllegalArgumentException if the prefix is blank or the limit is out of range
+     */
+    private static void checkPrefixLookup(@NonNull String prefix, int limit) {
+        if (prefix.isBlank()) {
+            throw new IllegalArgumentException("Prefix must not be blank.");
+        }
+        if (limit < 1 || limit > MAX_PREFIX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PREFIX_LIMIT + ".");
+        }
+    }
+
     /**
      * Performs the actual upsert operation with consistent error handling and logging.
-     * Database constraints enforce login name and email address uniqueness - data layer will throw DuplicationException if violated.
+     * Database constraints enforce login name and email address uniqueness (ignoring case) - data layer will throw DuplicationException if violated.
      * JPA lifecycle callbacks (@PrePersist/@PreUpdate) set timestamps automatically.
      *
      * @param user the user to upsert
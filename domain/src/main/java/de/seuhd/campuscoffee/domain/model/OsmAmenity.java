@@ -1,7 +1,10 @@
 package de.seuhd.campuscoffee.domain.model;
 
 import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Enum for OpenStreetMap amenity types relevant for CampusCoffee POS.
@@ -18,15 +21,29 @@ public enum OsmAmenity {
     RESTAURANT,
     VENDING_MACHINE;
 
+    // the results are precomputed so that looking up a known (lowercase) OSM value does not allocate
+    private static final Map<String, Optional<OsmAmenity>> BY_OSM_VALUE = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(
+                    amenity -> amenity.name().toLowerCase(Locale.ROOT),
+                    Optional::of
+            ));
+
     /**
      * Parses an OpenStreetMap amenity string value to its corresponding enum constant.
+     * The lookup is case-insensitive and independent of the default locale.
      *
-     * @param osmValue the OSM string value (e.g., "bar", "fast_food")
+     * @param osmValue the OSM string value (e.g., "bar", "fast_food"); may be null
      * @return an Optional containing the matching enum constant, or empty if no match found
      */
     public static Optional<OsmAmenity> fromOsmValue(String osmValue) {
-        return Arrays.stream(values())
-                .filter(amenity -> amenity.name().toLowerCase().equals(osmValue))
-                .findFirst();
+        if (osmValue == null) {
+            return Optional.empty();
+        }
+        Optional<OsmAmenity> amenity = BY_OSM_VALUE.get(osmValue);
+        if (amenity == null) {
+            // OSM values are lowercase by convention, so only other spellings need to be converted
+            amenity = BY_OSM_VALUE.getOrDefault(osmValue.toLowerCase(Locale.ROOT), Optional.empty());
+        }
+        return amenity;
     }
 }
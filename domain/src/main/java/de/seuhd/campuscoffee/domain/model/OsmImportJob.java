@@ -0,0 +1,40 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Snapshot of an asynchronous import of OpenStreetMap nodes (see
+ * {@link de.seuhd.campuscoffee.domain.ports.OsmImportJobService}).
+ *
+ * @param id             the ID of the job
+ * @param status         the state of the job
+ * @param campus         the campus assigned to the imported POS
+ * @param nodeCount      the number of OSM nodes to import
+ * @param processedCount the number of OSM nodes processed so far (imported or failed)
+ * @param failedCount    the number of OSM nodes whose import failed so far
+ * @param submittedAt    the time the job has been submitted (UTC)
+ * @param startedAt      the time a worker started the job (UTC); null while the job is queued
+ * @param finishedAt     the time the job completed or failed (UTC); null while the job is queued or running
+ * @param results        one result per OSM node in the order of the submitted IDs; null until the job has completed
+ * @param error          the reason why the job failed; null unless the job has failed
+ */
+@Builder(toBuilder = true)
+public record OsmImportJob(
+        @NonNull UUID id,
+        @NonNull OsmImportJobStatus status,
+        @NonNull CampusType campus,
+        int nodeCount,
+        int processedCount,
+        int failedCount,
+        @NonNull LocalDateTime submittedAt,
+        @Nullable LocalDateTime startedAt,
+        @Nullable LocalDateTime finishedAt,
+        @Nullable List<OsmImportResult> results,
+        @Nullable String error
+) {}
@@ -0,0 +1,11 @@
+package de.seuhd.campuscoffee.domain.model;
+
+/**
+ * Enum for the states of an asynchronous import of OpenStreetMap nodes.
+ */
+public enum OsmImportJobStatus {
+    QUEUED, // waiting for a free worker
+    RUNNING,
+    COMPLETED, // all nodes have been processed; the import of single nodes may still have failed
+    FAILED // the job has been aborted by an unexpected error
+}
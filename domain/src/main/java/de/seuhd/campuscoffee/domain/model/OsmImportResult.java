@@ -0,0 +1,33 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Outcome of importing a single OpenStreetMap node as part of a batch import.
+ * Exactly one of {@code pos} and {@code error} is set.
+ *
+ * @param nodeId the OpenStreetMap node ID
+ * @param pos    the created or updated POS; null if the import of the node failed
+ * @param error  the reason why the import of the node failed; null if it succeeded
+ */
+public record OsmImportResult(
+        @NonNull Long nodeId,
+        @Nullable Pos pos,
+        @Nullable String error
+) {
+    public static @NonNull OsmImportResult success(@NonNull Long nodeId, @NonNull Pos pos) {
+        return new OsmImportResult(nodeId, pos, null);
+    }
+
+    public static @NonNull OsmImportResult failure(@NonNull Long nodeId, @NonNull String error) {
+        return new OsmImportResult(nodeId, null, error);
+    }
+
+    /**
+     * @return true if the node was imported successfully
+     */
+    public boolean succeeded() {
+        return pos != null;
+    }
+}
@@ -2,15 +2,20 @@ package de.seuhd.campuscoffee.domain.model;
 
 import lombok.Builder;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 
 /**
  * Represents an OpenStreetMap node with relevant Point of Sale information.
  * This is the domain model for OSM data before it is converted to a POS object.
  *
  * @param nodeId The OpenStreetMap node ID.
+ * @param latitude The latitude of the node in degrees (WGS 84); null if the response did not contain it.
+ * @param longitude The longitude of the node in degrees (WGS 84); null if the response did not contain it.
+ * @param version The version of the node, incremented by OpenStreetMap on every edit; null if unknown.
  */
 @Builder
 public record OsmNode(@NonNull Long nodeId, @NonNull String city, @NonNull String houseNumber, @NonNull String postcode,
                       @NonNull String street, @NonNull OsmAmenity amenity, @NonNull String name,
-                      @NonNull String description) {
+                      @NonNull String description, @Nullable Double latitude, @Nullable Double longitude,
+                      @Nullable Long version) {
 }
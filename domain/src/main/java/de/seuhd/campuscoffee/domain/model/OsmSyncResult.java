@@ -0,0 +1,16 @@
+package de.seuhd.campuscoffee.domain.model;
+
+/**
+ * Outcome of synchronizing the POS imported from OpenStreetMap with the current versions of their nodes.
+ *
+ * @param checked   the number of POS whose node was requested
+ * @param unchanged the number of POS whose node has not been edited since it was last imported
+ * @param updated   the number of POS re-imported from an edited node
+ * @param failed    the number of POS whose node could not be fetched or re-imported; they are retried by the next sync
+ */
+public record OsmSyncResult(
+        int checked,
+        int unchanged,
+        int updated,
+        int failed
+) {}
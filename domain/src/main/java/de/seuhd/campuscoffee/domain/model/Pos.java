@@ -18,6 +18,7 @@ import java.time.LocalDateTime;
  * @param id          the unique identifier; null when the POS has not been created yet
  * @param createdAt   timestamp set on POS creation
  * @param updatedAt   timestamp set on POS creation and update
+ * @param version     incremented on every update; null when the POS has not been created yet
  * @param name        the name of the POS
  * @param description a description of the POS
  * @param type        the type of POS (cafe, bakery, etc.)
@@ -26,12 +27,17 @@ import java.time.LocalDateTime;
  * @param houseNumber house number (may include suffix such as "21a")
  * @param postalCode  postal code
  * @param city        city name
+ * @param latitude    latitude in degrees (WGS 84); null if the location is unknown
+ * @param longitude   longitude in degrees (WGS 84); null if the location is unknown
+ * @param osmNodeId   the OpenStreetMap node the POS was imported from; null if it was not imported
+ * @param osmVersion  the version of the OpenStreetMap node the POS was last imported from; null if unknown
  */
 @Builder(toBuilder = true)
 public record Pos(
         @Nullable Long id, // null when the POS has not been created yet
         @Nullable LocalDateTime createdAt, // set on POS creation
         @Nullable LocalDateTime updatedAt, // set on POS creation and update
+        @Nullable Long version, // incremented on every update
         @NonNull String name,
         @NonNull String description,
         @NonNull PosType type,
@@ -39,7 +45,11 @@ public record Pos(
         @NonNull String street,
         @NonNull String houseNumber,
         @NonNull Integer postalCode,
-        @NonNull String city
+        @NonNull String city,
+        @Nullable Double latitude, // set together with the longitude
+        @Nullable Double longitude,
+        @Nullable Long osmNodeId, // set by imports from OpenStreetMap
+        @Nullable Long osmVersion
 ) implements Serializable { // serializable to allow cloning (see TestFixtures class).
     @Serial
     private static final long serialVersionUID = 1L;
@@ -0,0 +1,27 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import lombok.Builder;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Criteria for filtering POS. A POS matches the filter if it matches all criteria that are set.
+ *
+ * @param campus     the campus of the POS; null to match any campus
+ * @param type       the type of the POS; null to match any type
+ * @param postalCode the postal code of the POS; null to match any postal code
+ * @param city       the city of the POS (exact match); null to match any city
+ */
+@Builder
+public record PosFilter(
+        @Nullable CampusType campus,
+        @Nullable PosType type,
+        @Nullable Integer postalCode,
+        @Nullable String city
+) {
+    /**
+     * @return true if no criterion is set, i.e., all POS match the filter
+     */
+    public boolean isEmpty() {
+        return campus == null && type == null && postalCode == null && city == null;
+    }
+}
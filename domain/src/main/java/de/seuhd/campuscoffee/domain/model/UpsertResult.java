@@ -0,0 +1,38 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Outcome of creating or updating a single item as part of a batch.
+ * Exactly one of {@code item} and {@code error} is set.
+ *
+ * @param status the outcome of the upsert
+ * @param item   the persisted item; null if the upsert failed
+ * @param error  the reason why the upsert failed; null if it succeeded
+ * @param <T>    the type of the item (e.g., {@link Pos} or {@link User})
+ */
+public record UpsertResult<T>(
+        @NonNull UpsertStatus status,
+        @Nullable T item,
+        @Nullable String error
+) {
+    public static <T> @NonNull UpsertResult<T> created(@NonNull T item) {
+        return new UpsertResult<>(UpsertStatus.CREATED, item, null);
+    }
+
+    public static <T> @NonNull UpsertResult<T> updated(@NonNull T item) {
+        return new UpsertResult<>(UpsertStatus.UPDATED, item, null);
+    }
+
+    public static <T> @NonNull UpsertResult<T> failure(@NonNull UpsertStatus status, @NonNull String error) {
+        return new UpsertResult<>(status, null, error);
+    }
+
+    /**
+     * @return true if the item was created or updated
+     */
+    public boolean succeeded() {
+        return item != null;
+    }
+}
@@ -0,0 +1,14 @@
+package de.seuhd.campuscoffee.domain.model;
+
+/**
+ * Outcome of creating or updating a single item as part of a batch.
+ */
+public enum UpsertStatus {
+    CREATED,
+    UPDATED,
+    DUPLICATE, // a unique value of the item already exists
+    NOT_FOUND, // the item to update does not exist
+    VERSION_CONFLICT, // the item to update has been modified since its version
+    INVALID,
+    FAILED // an unexpected error occurred (e.g., a lock timeout); the item may be retried
+}
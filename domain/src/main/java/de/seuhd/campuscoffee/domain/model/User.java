@@ -10,6 +10,7 @@ public record User (
         Long id,
         java.time.LocalDateTime createdAt,
         java.time.LocalDateTime updatedAt,
+        Long version, // incremented on every update
         String loginName,
         String emailAddress,
         String firstName,
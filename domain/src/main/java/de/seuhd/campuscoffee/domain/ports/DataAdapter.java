@@ -0,0 +1,21 @@
+package de.seuhd.campuscoffee.domain.ports;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Qualifies the adapter of the data layer that implements a port.
+ * Decorators of a port in the domain layer (e.g., caches) are the primary beans of the port;
+ * they inject the adapter they decorate with this qualifier instead of relying on its bean name.
+ */
+@Qualifier
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.FIELD, ElementType.PARAMETER, ElementType.METHOD})
+public @interface DataAdapter {
+}
@@ -4,10 +4,14 @@ import de.seuhd.campuscoffee.domain.model.OsmNode;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
 import org.jspecify.annotations.NonNull;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * Port for importing Point of Sale data from OpenStreetMap.
  * This interface defines the contract for fetching OSM node data.
  * Implementations should handle the external API communication.
+ * Implementations may serve recently fetched nodes from a cache, also while the OSM API is unavailable.
  */
 public interface OsmDataService {
     /**
@@ -16,6 +20,40 @@ public interface OsmDataService {
      * @param nodeId the OpenStreetMap node ID to fetch
      * @return the OSM node data with tags
      * @throws NotFoundException if the node doesn't exist or can't be fetched
+     * @throws de.seuhd.campuscoffee.domain.exceptions.ServiceUnavailableException if the OSM API keeps failing or
+     *         timing out, or if requests are rejected while it is unavailable
+     * @throws de.seuhd.campuscoffee.domain.exceptions.CapacityExceededException if too many requests to the OSM API
+     *         are in flight
      */
     @NonNull OsmNode fetchNode(@NonNull Long nodeId);
+
+    /**
+     * Fetches several OpenStreetMap nodes with as few requests as possible.
+     * Nodes that do not exist or lack required fields are not contained in the result, but they do not prevent
+     * the other nodes from being fetched; use {@link #fetchNode(Long)} to find out why a specific node is missing.
+     *
+     * @param nodeIds the OpenStreetMap node IDs to fetch; the IDs are sent in the request URL,
+     *                so callers should split long lists
+     * @return the fetched OSM nodes by their node ID; never null, but may be empty
+     * @throws de.seuhd.campuscoffee.domain.exceptions.ServiceUnavailableException if the OSM API is unavailable
+     *         (see {@link #fetchNode(Long)}) or fails a request for another reason than a missing node
+     * @throws de.seuhd.campuscoffee.domain.exceptions.CapacityExceededException if too many requests to the OSM API
+     *         are in flight
+     */
+    @NonNull Map<Long, OsmNode> fetchNodes(@NonNull List<Long> nodeIds);
+
+    /**
+     * Fetches the current versions of several OpenStreetMap nodes (see {@link #fetchNodes(List)}).
+     * In contrast to {@link #fetchNodes(List)}, cached nodes are never served instead of the API's response,
+     * so callers can rely on the result to detect edits of the nodes.
+     *
+     * @param nodeIds the OpenStreetMap node IDs to fetch; the IDs are sent in the request URL,
+     *                so callers should split long lists
+     * @return the fetched OSM nodes by their node ID; never null, but may be empty
+     * @throws de.seuhd.campuscoffee.domain.exceptions.ServiceUnavailableException if the OSM API is unavailable
+     *         or fails a request for another reason than a missing node
+     * @throws de.seuhd.campuscoffee.domain.exceptions.CapacityExceededException if too many requests to the OSM API
+     *         are in flight
+     */
+    @NonNull Map<Long, OsmNode> fetchCurrentNodes(@NonNull List<Long> nodeIds);
 }
@@ -0,0 +1,44 @@
+package de.seuhd.campuscoffee.domain.ports;
+
+import de.seuhd.campuscoffee.domain.exceptions.CapacityExceededException;
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.OsmImportJob;
+import org.jspecify.annotations.NonNull;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service interface for asynchronous imports of Points of Sale from OpenStreetMap nodes.
+ * Jobs are queued and processed in the background by a limited number of workers, so callers do not wait for
+ * the OSM API; they poll the job for its progress instead.
+ * This is a port in the hexagonal architecture pattern, implemented by the domain layer
+ * and consumed by the API layer. The nodes are imported through the {@link PosService} port.
+ */
+public interface OsmImportJobService {
+
+    /**
+     * Submits a job that imports Points of Sale from OpenStreetMap nodes
+     * (see {@link PosService#importFromOsmNodes(List, CampusType)}).
+     *
+     * @param nodeIds    the OpenStreetMap node IDs to import; must not be null or empty and must not contain more
+     *                   than {@link PosService#MAX_BATCH_SIZE} IDs
+     * @param campusType the campus type to assign to the imported POS; must not be null
+     * @return the queued job; never null
+     * @throws IllegalArgumentException  if no node IDs or more than {@link PosService#MAX_BATCH_SIZE} node IDs
+     *                                   are given
+     * @throws CapacityExceededException if the queue of waiting jobs is full
+     */
+    @NonNull OsmImportJob submit(@NonNull List<Long> nodeIds, @NonNull CampusType campusType);
+
+    /**
+     * Retrieves the current state of a job.
+     * Finished jobs are only retained for a limited time.
+     *
+     * @param id the ID of the job; must not be null
+     * @return a snapshot of the job; never null
+     * @throws NotFoundException if no job with the given ID exists (anymore)
+     */
+    @NonNull OsmImportJob getById(@NonNull UUID id);
+}
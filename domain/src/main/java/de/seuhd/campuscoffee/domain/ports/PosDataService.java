@@ -1,10 +1,15 @@
 package de.seuhd.campuscoffee.domain.ports;
 
 import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosFilter;
+import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.VersionConflictException;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Port interface for POS data operations.
@@ -28,6 +33,55 @@ public interface PosDataService {
      */
     @NonNull List<Pos> getAll();
 
+    /**
+     * Retrieves the version of the POS collection from the data store.
+     * The version advances with every write of POS, also with writes of other application instances and writes
+     * that bypass this port, and it becomes visible together with the written POS.
+     *
+     * @return the current version of the POS collection
+     */
+    long getCollectionVersion();
+
+    /**
+     * Retrieves a page of POS entities ordered by ID using keyset pagination.
+     * Only POS with an ID greater than {@code after} are returned, so the cost of a page does not depend on its position.
+     *
+     * @param after the ID of the last POS of the previous page; null to start with the first POS
+     * @param limit the maximum number of POS to return; must be positive
+     * @return the POS of the requested page in ascending ID order; never null, but may be empty
+     */
+    @NonNull List<Pos> getPage(@Nullable Long after, int limit);
+
+    /**
+     * Retrieves the POS entities that match the given filter in ascending ID order, optionally as a page
+     * (see {@link #getPage(Long, int)}).
+     *
+     * @param filter the criteria the POS must match; must not be null
+     * @param after  the ID of the last POS of the previous page; null to start with the first POS
+     * @param limit  the maximum number of POS to return; null to return all matching POS
+     * @return the matching POS in ascending ID order; never null, but may be empty
+     */
+    @NonNull List<Pos> getFiltered(@NonNull PosFilter filter, @Nullable Long after, @Nullable Integer limit);
+
+    /**
+     * Retrieves a page of the POS imported from OpenStreetMap (i.e., with an OSM node ID) using keyset pagination
+     * (see {@link #getPage(Long, int)}).
+     *
+     * @param after the ID of the last POS of the previous page; null to start with the first POS
+     * @param limit the maximum number of POS to return; must be positive
+     * @return the imported POS of the requested page in ascending ID order; never null, but may be empty
+     */
+    @NonNull List<Pos> getOsmImportedPage(@Nullable Long after, int limit);
+
+    /**
+     * Streams all POS entities in ascending ID order to the given consumer.
+     * Rows are read through a database cursor and handed over one at a time,
+     * so memory usage does not grow with the number of POS in the data store.
+     *
+     * @param consumer the consumer that receives each POS as a domain object; must not be null
+     */
+    void streamAll(@NonNull Consumer<Pos> consumer);
+
     /**
      * Retrieves a single POS entity by its unique name and returns it as a domain object.
      *
@@ -50,13 +104,29 @@ public interface PosDataService {
      * Creates a new POS or updates an existing one.
      * If the POS has an ID and exists in the data store, it will be updated.
      * If the POS has no ID (null), a new POS will be created.
+     * If the POS to update has a version, it is only updated if the stored POS still has this version.
      *
      * @param pos the POS to create or update; must not be null
-     * @return the persisted POS entity with updated timestamps and ID as a domain object; never null
+     * @return the persisted POS entity with updated timestamps, version, and ID as a domain object; never null
      * @throws NotFoundException if attempting to update a POS that does not exist
+     * @throws VersionConflictException if the stored POS has a different version than the POS to update
      */
     @NonNull Pos upsert(@NonNull Pos pos);
 
+    /**
+     * Creates or updates several POS at once.
+     * All POS are written in a single transaction using JDBC batches, so either all of them are persisted or none.
+     * Like with {@link #upsert(Pos)}, POS to update that have a version are only updated if the stored POS still
+     * has this version.
+     *
+     * @param posList the POS to create or update; must not be null
+     * @return the persisted POS in the same order as the given list; never null
+     * @throws NotFoundException if attempting to update a POS that does not exist
+     * @throws DuplicationException if one of the POS has a name that already exists
+     * @throws VersionConflictException if one of the stored POS has a different version than the POS to update
+     */
+    @NonNull List<Pos> upsertAll(@NonNull List<Pos> posList);
+
     /**
      * Deletes a POS by its unique identifier.
      *
@@ -64,4 +134,14 @@ public interface PosDataService {
      * @throws NotFoundException if no POS exists with the given ID
      */
     void delete(@NonNull Long id);
+
+    /**
+     * Deletes a POS by its unique identifier if it still has the given version.
+     *
+     * @param id      the unique identifier of the POS to delete; must not be null
+     * @param version the version the POS must have; must not be null
+     * @throws NotFoundException if no POS exists with the given ID
+     * @throws VersionConflictException if the POS has a different version
+     */
+    void delete(@NonNull Long id, @NonNull Long version);
 }
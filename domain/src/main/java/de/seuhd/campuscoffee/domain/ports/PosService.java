@@ -3,11 +3,18 @@ package de.seuhd.campuscoffee.domain.ports;
 import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
 import de.seuhd.campuscoffee.domain.exceptions.MissingFieldException;
+import de.seuhd.campuscoffee.domain.exceptions.VersionConflictException;
 import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.OsmImportResult;
+import de.seuhd.campuscoffee.domain.model.OsmSyncResult;
 import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosFilter;
+import de.seuhd.campuscoffee.domain.model.UpsertResult;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for POS (Point of Sale) operations.
@@ -17,6 +24,51 @@ import java.util.List;
  * data operations through the {@link PosDataService} port.
  */
 public interface PosService {
+    /**
+     * The number of POS returned per page if the client does not specify a limit.
+     */
+    int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * The maximum number of POS that can be requested per page.
+     */
+    int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * The maximum number of POS that can be created or updated with a single batch.
+     */
+    int MAX_BATCH_SIZE = 1000;
+
+    /**
+     * The search radius in meters for nearby POS if the client does not specify one.
+     */
+    int DEFAULT_NEARBY_RADIUS = 1000;
+
+    /**
+     * The maximum search radius in meters for nearby POS.
+     */
+    int MAX_NEARBY_RADIUS = 10_000;
+
+    /**
+     * The number of nearby POS returned if the client does not specify a limit.
+     */
+    int DEFAULT_NEARBY_LIMIT = 10;
+
+    /**
+     * The maximum number of nearby POS that can be requested.
+     */
+    int MAX_NEARBY_LIMIT = 100;
+
+    /**
+     * The number of search results returned if the client does not specify a limit.
+     */
+    int DEFAULT_SEARCH_LIMIT = 10;
+
+    /**
+     * The maximum number of search results that can be requested.
+     */
+    int MAX_SEARCH_LIMIT = 100;
+
     /**
      * Clears all POS data.
      * This operation removes all Points of Sale from the system.
@@ -32,6 +84,75 @@ public interface PosService {
      */
     @NonNull List<Pos> getAll();
 
+    /**
+     * Returns the version of the POS collection, which changes whenever POS are created, updated, or deleted
+     * (see {@link PosDataService#getCollectionVersion()}). Retrieving the version is a single-row lookup,
+     * so it can be used to answer conditional requests for the collection cheaply.
+     *
+     * @return an opaque version string; never null
+     */
+    @NonNull String getCollectionVersion();
+
+    /**
+     * Retrieves a page of Points of Sale ordered by ID.
+     * Pages are addressed by the ID of the last POS of the previous page (keyset pagination),
+     * which keeps the cost of a page independent of its position.
+     *
+     * @param after the ID of the last POS of the previous page; null to retrieve the first page
+     * @param limit the maximum number of POS to return; must be between 1 and {@link #MAX_PAGE_SIZE}
+     * @return the POS of the requested page in ascending ID order; never null, but may be empty
+     * @throws IllegalArgumentException if the limit is out of range
+     */
+    @NonNull List<Pos> getPage(@Nullable Long after, int limit);
+
+    /**
+     * Retrieves the Points of Sale that match the given filter in ascending ID order, optionally as a page
+     * (see {@link #getPage(Long, int)}). The filter is evaluated by the data store.
+     *
+     * @param filter the criteria the POS must match; must not be null
+     * @param after  the ID of the last POS of the previous page; null to start with the first POS
+     * @param limit  the maximum number of POS to return (between 1 and {@link #MAX_PAGE_SIZE});
+     *               null to return all matching POS
+     * @return the matching POS in ascending ID order; never null, but may be empty
+     * @throws IllegalArgumentException if the limit is out of range
+     */
+    @NonNull List<Pos> getFiltered(@NonNull PosFilter filter, @Nullable Long after, @Nullable Integer limit);
+
+    /**
+     * Retrieves the Points of Sale within a radius around a location, closest first.
+     * The search is served from an in-memory spatial index that is updated on every write through this service,
+     * so it does not access the database (except for loading the index on the first search).
+     * POS without coordinates are never returned.
+     *
+     * @param latitude  the latitude of the location in degrees (WGS 84)
+     * @param longitude the longitude of the location in degrees (WGS 84)
+     * @param radius    the search radius in meters (greater than 0 and at most {@link #MAX_NEARBY_RADIUS})
+     * @param limit     the maximum number of POS to return (between 1 and {@link #MAX_NEARBY_LIMIT})
+     * @return the POS within the radius ordered by distance; never null, but may be empty
+     * @throws IllegalArgumentException if a parameter is out of range
+     */
+    @NonNull List<Pos> getNearby(double latitude, double longitude, double radius, int limit);
+
+    /**
+     * Searches Points of Sale by the words in their name, description, street, and city, best matches first.
+     * The search ignores case and diacritics (umlauts may be spelled out, e.g., "ae" for "ä") and tolerates typos.
+     * Like {@link #getNearby(double, double, double, int)}, it is served from an in-memory index that is updated
+     * on every write through this service.
+     *
+     * @param query the search query; must not be blank
+     * @param limit the maximum number of POS to return (between 1 and {@link #MAX_SEARCH_LIMIT})
+     * @return the matching POS ordered by relevance; never null, but may be empty
+     * @throws IllegalArgumentException if the query is blank or the limit is out of range
+     */
+    @NonNull List<Pos> search(@NonNull String query, int limit);
+
+    /**
+     * Streams all Points of Sale in ascending ID order to the given consumer without loading them into memory at once.
+     *
+     * @param consumer the consumer that receives each POS; must not be null
+     */
+    void streamAll(@NonNull Consumer<Pos> consumer);
+
     /**
      * Retrieves a specific Point of Sale by its unique identifier.
      *
@@ -57,6 +178,8 @@ public interface PosService {
      *   <li>If the POS has no ID (null), a new POS is created</li>
      *   <li>If the POS has an ID, and it exists, the existing POS is updated</li>
      * </ul>
+     * If the POS to update has a version, it is only updated if it has not been modified since
+     * (optimistic concurrency control); otherwise, it is updated regardless of its version.
      * <p>
      * Business rules enforced:
      * <ul>
@@ -69,9 +192,22 @@ public interface PosService {
      * @return the persisted POS entity with populated ID and timestamps; never null
      * @throws NotFoundException if attempting to update a POS that does not exist
      * @throws DuplicationException if a POS with the same name already exists
+     * @throws VersionConflictException if the POS to update has been modified since the given version
      */
     @NonNull Pos upsert(@NonNull Pos pos);
 
+    /**
+     * Creates or updates several POS at once (see {@link #upsert(Pos)}).
+     * All POS are written in a single transaction. If this fails because of a POS that cannot be persisted
+     * (e.g., a duplicate name), the other POS are still persisted and the failure is reported in the result.
+     *
+     * @param posList the POS to create or update; must not be null and must not contain more than
+     *                {@link #MAX_BATCH_SIZE} POS
+     * @return one result per POS in the order of the given list; never null
+     * @throws IllegalArgumentException if the batch contains more than {@link #MAX_BATCH_SIZE} POS
+     */
+    @NonNull List<UpsertResult<Pos>> upsertAll(@NonNull List<Pos> posList);
+
     /**
      * Imports a Point of Sale from an OpenStreetMap node.
      * Fetches POS data from OpenStreetMap using the {@link OsmDataService}, converts it to a POS entity,
@@ -91,9 +227,37 @@ public interface PosService {
      * @throws NotFoundException if the OSM node with the given ID doesn't exist or cannot be fetched
      * @throws MissingFieldException if the OSM node lacks required fields for creating a valid POS
      * @throws DuplicationException if a POS with the same name already exists
+     * @throws de.seuhd.campuscoffee.domain.exceptions.ServiceUnavailableException if the OSM API is unavailable
+     * @throws de.seuhd.campuscoffee.domain.exceptions.CapacityExceededException if too many requests to the OSM API
+     *         are in flight
      */
     @NonNull Pos importFromOsmNode(@NonNull Long nodeId, @NonNull CampusType campusType);
 
+    /**
+     * Imports several Points of Sale from OpenStreetMap nodes.
+     * The nodes are fetched concurrently and the resulting POS are persisted in batches.
+     * A node that cannot be imported (e.g., because it does not exist or lacks required fields)
+     * does not abort the import of the other nodes; its failure is reported in the result instead.
+     *
+     * @param nodeIds the OpenStreetMap node IDs to import; must not be null and must not contain more than
+     *                {@link #MAX_BATCH_SIZE} IDs
+     * @param campusType the campus type to assign to the imported POS; must not be null
+     * @return one result per node ID in the order of the given list; never null
+     * @throws IllegalArgumentException if more than {@link #MAX_BATCH_SIZE} node IDs are given
+     */
+    @NonNull List<OsmImportResult> importFromOsmNodes(@NonNull List<Long> nodeIds, @NonNull CampusType campusType);
+
+    /**
+     * Re-imports the POS whose OpenStreetMap node has been edited since the POS was last imported.
+     * The current versions of the nodes of all imported POS are fetched in multi-node requests (bypassing
+     * cached nodes), and only the POS whose node has a different version are converted and persisted in batches.
+     * Re-imported POS keep their ID and campus; local changes to the other fields are overwritten.
+     * POS whose node cannot be fetched or converted are left unchanged and counted as failed.
+     *
+     * @return the number of checked, unchanged, updated, and failed POS; never null
+     */
+    @NonNull OsmSyncResult syncWithOsm();
+
     /**
      * Deletes a Point of Sale by its unique identifier.
      *
@@ -101,4 +265,14 @@ public interface PosService {
      * @throws NotFoundException if no POS exists with the given ID
      */
     void delete(@NonNull Long id);
+
+    /**
+     * Deletes a Point of Sale by its unique identifier if it has not been modified since the given version.
+     *
+     * @param id      the unique identifier of the POS to delete; must not be null
+     * @param version the version of the POS known to the caller; must not be null
+     * @throws NotFoundException if no POS exists with the given ID
+     * @throws VersionConflictException if the POS has been modified since the given version
+     */
+    void delete(@NonNull Long id, @NonNull Long version);
 }
@@ -38,7 +38,7 @@ public interface UserDataService {
     @NonNull User getById(@NonNull Long id);
 
     /**
-     * Retrieves a single user entity by its unique login name and returns it as a domain object.
+     * Retrieves a single user entity by its unique login name (ignoring case) and returns it as a domain object.
      *
      * @param loginName the login name of the user to retrieve; must not be null
      * @return the user with the specified login name; never null
@@ -46,17 +46,60 @@ public interface UserDataService {
      */
     @NonNull User getByLoginName(@NonNull String loginName);
 
+    /**
+     * Retrieves a single user entity by its unique email address (ignoring case) and returns it as a domain object.
+     *
+     * @param emailAddress the email address of the user to retrieve; must not be null
+     * @return the user with the specified email address; never null
+     * @throws de.seuhd.campuscoffee.domain.exceptions.NotFoundException if no user exists with the given email address
+     */
+    @NonNull User getByEmailAddress(@NonNull String emailAddress);
+
+    /**
+     * Retrieves the users whose login name starts with the given prefix (ignoring case), ordered by login name.
+     *
+     * @param prefix the prefix of the login names; must not be null
+     * @param limit  the maximum number of users to return
+     * @return the matching users; never null, but may be empty
+     */
+    @NonNull List<User> getByLoginNamePrefix(@NonNull String prefix, int limit);
+
+    /**
+     * Retrieves the users whose email address starts with the given prefix (ignoring case), ordered by email address.
+     *
+     * @param prefix the prefix of the email addresses; must not be null
+     * @param limit  the maximum number of users to return
+     * @return the matching users; never null, but may be empty
+     */
+    @NonNull List<User> getByEmailAddressPrefix(@NonNull String prefix, int limit);
+
     /**
      * Creates a new user or updates an existing one.
      * If the user has an ID and exists in the data store, it will be updated.
      * If the user has no ID (null), a new user will be created.
+     * If the user to update has a version, they are only updated if the stored user still has this version.
      *
      * @param user the user to create or update; must not be null
-     * @return the persisted user entity with updated timestamps and ID as a domain object; never null
+     * @return the persisted user entity with updated timestamps, version, and ID as a domain object; never null
      * @throws de.seuhd.campuscoffee.domain.exceptions.NotFoundException if attempting to update a user that does not exist
+     * @throws de.seuhd.campuscoffee.domain.exceptions.VersionConflictException if the stored user has a different
+     *         version than the user to update
      */
     @NonNull User upsert(@NonNull User user);
 
+    /**
+     * Creates or updates several users at once.
+     * All users are written in a single transaction using JDBC batches, so either all of them are persisted or none.
+     * In contrast to {@link #upsert(User)}, the versions of the given users are not checked.
+     *
+     * @param users the users to create or update; must not be null
+     * @return the persisted users in the same order as the given list; never null
+     * @throws de.seuhd.campuscoffee.domain.exceptions.NotFoundException if attempting to update a user that does not exist
+     * @throws de.seuhd.campuscoffee.domain.exceptions.DuplicationException if one of the users has a login name or
+     *         email address that already exists
+     */
+    @NonNull List<User> upsertAll(@NonNull List<User> users);
+
     /**
      * Deletes a user by their unique identifier.
      *
@@ -64,4 +107,14 @@ public interface UserDataService {
      * @throws de.seuhd.campuscoffee.domain.exceptions.NotFoundException if no user exists with the given ID
      */
     void delete(@NonNull Long id);
+
+    /**
+     * Deletes a user by their unique identifier if they still have the given version.
+     *
+     * @param id      the unique identifier of the user to delete; must not be null
+     * @param version the version the user must have; must not be null
+     * @throws de.seuhd.campuscoffee.domain.exceptions.NotFoundException if no user exists with the given ID
+     * @throws de.seuhd.campuscoffee.domain.exceptions.VersionConflictException if the user has a different version
+     */
+    void delete(@NonNull Long id, @NonNull Long version);
 }
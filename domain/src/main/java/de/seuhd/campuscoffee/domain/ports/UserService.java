@@ -2,6 +2,8 @@ package de.seuhd.campuscoffee.domain.ports;
 
 import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.VersionConflictException;
+import de.seuhd.campuscoffee.domain.model.UpsertResult;
 import de.seuhd.campuscoffee.domain.model.User;
 import org.jspecify.annotations.NonNull;
 
@@ -15,6 +17,21 @@ import java.util.List;
  * data operations through the {@link UserDataService} port.
  */
 public interface UserService {
+    /**
+     * The maximum number of users that can be created or updated with a single batch.
+     */
+    int MAX_BATCH_SIZE = 1000;
+
+    /**
+     * The number of users returned by prefix lookups if the client does not specify a limit.
+     */
+    int DEFAULT_PREFIX_LIMIT = 10;
+
+    /**
+     * The maximum number of users that can be requested with a prefix lookup.
+     */
+    int MAX_PREFIX_LIMIT = 100;
+
     /**
      * Clears all user data.
      * This operation removes all users from the system.
@@ -40,7 +57,7 @@ public interface UserService {
     @NonNull User getById(@NonNull Long id);
 
     /**
-     * Retrieves a specific user by their unique login name.
+     * Retrieves a specific user by their unique login name, ignoring case.
      *
      * @param loginName the unique login name of the user to retrieve; must not be null
      * @return the user entity with the specified login name; never null
@@ -48,6 +65,37 @@ public interface UserService {
      */
     @NonNull User getByLoginName(@NonNull String loginName);
 
+    /**
+     * Retrieves a specific user by their unique email address, ignoring case.
+     *
+     * @param emailAddress the unique email address of the user to retrieve; must not be null
+     * @return the user entity with the specified email address; never null
+     * @throws NotFoundException if no user exists with the given email address
+     */
+    @NonNull User getByEmailAddress(@NonNull String emailAddress);
+
+    /**
+     * Retrieves the users whose login name starts with the given prefix, ignoring case (e.g., for autocompletion).
+     * The lookup is served by an index, so it does not scan all users.
+     *
+     * @param prefix the prefix of the login names; must not be blank
+     * @param limit  the maximum number of users to return (between 1 and {@link #MAX_PREFIX_LIMIT})
+     * @return the matching users ordered by login name; never null, but may be empty
+     * @throws IllegalArgumentException if the prefix is blank or the limit is out of range
+     */
+    @NonNull List<User> getByLoginNamePrefix(@NonNull String prefix, int limit);
+
+    /**
+     * Retrieves the users whose email address starts with the given prefix, ignoring case
+     * (see {@link #getByLoginNamePrefix(String, int)}).
+     *
+     * @param prefix the prefix of the email addresses; must not be blank
+     * @param limit  the maximum number of users to return (between 1 and {@link #MAX_PREFIX_LIMIT})
+     * @return the matching users ordered by email address; never null, but may be empty
+     * @throws IllegalArgumentException if the prefix is blank or the limit is out of range
+     */
+    @NonNull List<User> getByEmailAddressPrefix(@NonNull String prefix, int limit);
+
     /**
      * Creates a new user or updates an existing one.
      * This method performs an "upsert" operation:
@@ -55,11 +103,13 @@ public interface UserService {
      *   <li>If the user has no ID (null), a new user is created</li>
      *   <li>If the user has an ID, and it exists, the existing user is updated</li>
      * </ul>
+     * If the user to update has a version, they are only updated if they have not been modified since
+     * (optimistic concurrency control); otherwise, they are updated regardless of their version.
      * <p>
      * Business rules enforced:
      * <ul>
-     *   <li>Login names must be unique (enforced by database constraint)</li>
-     *   <li>Email addresses must be unique (enforced by database constraint)</li>
+     *   <li>Login names must be unique regardless of case (enforced by database constraint)</li>
+     *   <li>Email addresses must be unique regardless of case (enforced by database constraint)</li>
      *   <li>All required fields must be present and valid</li>
      *   <li>Timestamps (createdAt, updatedAt) are managed by the {@link UserDataService}.</li>
      * </ul>
@@ -68,9 +118,22 @@ public interface UserService {
      * @return the persisted user entity with populated ID and timestamps; never null
      * @throws NotFoundException if attempting to update a user that does not exist
      * @throws DuplicationException if a user with the same login name or email address already exists
+     * @throws VersionConflictException if the user to update has been modified since the given version
      */
     @NonNull User upsert(@NonNull User user);
 
+    /**
+     * Creates or updates several users at once (see {@link #upsert(User)}).
+     * All users are written in a single transaction. If this fails because of a user that cannot be persisted
+     * (e.g., a duplicate login name), the other users are still persisted and the failure is reported in the result.
+     *
+     * @param users the users to create or update; must not be null and must not contain more than
+     *              {@link #MAX_BATCH_SIZE} users
+     * @return one result per user in the order of the given list; never null
+     * @throws IllegalArgumentException if the batch contains more than {@link #MAX_BATCH_SIZE} users
+     */
+    @NonNull List<UpsertResult<User>> upsertAll(@NonNull List<User> users);
+
     /**
      * Deletes a user by their unique identifier.
      *
@@ -78,4 +141,14 @@ public interface UserService {
      * @throws NotFoundException if no user exists with the given ID
      */
     void delete(@NonNull Long id);
+
+    /**
+     * Deletes a user by their unique identifier if they have not been modified since the given version.
+     *
+     * @param id      the unique identifier of the user to delete; must not be null
+     * @param version the version of the user known to the caller; must not be null
+     * @throws NotFoundException if no user exists with the given ID
+     * @throws VersionConflictException if the user has been modified since the given version
+     */
+    void delete(@NonNull Long id, @NonNull Long version);
 }
@@ -45,18 +45,21 @@ public class TestFixtures {
                     .name("Schmelzpunkt").description("Great waffles")
                     .type(PosType.CAFE).campus(CampusType.ALTSTADT)
                     .street("Hauptstraße").houseNumber("90").postalCode(69117).city("Heidelberg")
+                    .latitude(49.4108).longitude(8.7035)
                     .build(),
             Pos.builder()
                     .id(1L).createdAt(DATE_TIME).updatedAt(DATE_TIME)
                     .name("Bäcker Görtz ").description("Walking distance to lecture hall")
                     .type(PosType.BAKERY).campus(CampusType.INF)
                     .street("Berliner Str.").houseNumber("43").postalCode(69120).city("Heidelberg")
+                    .latitude(49.4197).longitude(8.6785)
                     .build(),
             Pos.builder()
                     .id(1L).createdAt(DATE_TIME).updatedAt(DATE_TIME)
                     .name("Café Botanik").description("Outdoor seating available")
                     .type(PosType.CAFETERIA).campus(CampusType.INF)
                     .street("Im Neuenheimer Feld").houseNumber("304").postalCode(69120).city("Heidelberg")
+                    .latitude(49.4166).longitude(8.6706)
                     .build(),
             Pos.builder()
                     .id(1L).createdAt(DATE_TIME).updatedAt(DATE_TIME)
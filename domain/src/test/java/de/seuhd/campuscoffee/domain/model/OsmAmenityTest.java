@@ -0,0 +1,43 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OsmAmenityTest {
+
+    @ParameterizedTest
+    @EnumSource(OsmAmenity.class)
+    void fromOsmValueFindsAllAmenities(OsmAmenity amenity) {
+        assertThat(OsmAmenity.fromOsmValue(amenity.name().toLowerCase(Locale.ROOT))).contains(amenity);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"CAFE", "Cafe", "cAfE"})
+    void fromOsmValueIsCaseInsensitive(String osmValue) {
+        assertThat(OsmAmenity.fromOsmValue(osmValue)).contains(OsmAmenity.CAFE);
+    }
+
+    @Test
+    void fromOsmValueIsIndependentOfDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr")); // maps 'I' to the dotless 'ı'
+            assertThat(OsmAmenity.fromOsmValue("ICE_CREAM")).contains(OsmAmenity.ICE_CREAM);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"library", "", "cafe "})
+    void fromOsmValueWithUnsupportedValue(String osmValue) {
+        assertThat(OsmAmenity.fromOsmValue(osmValue)).isEmpty();
+        assertThat(OsmAmenity.fromOsmValue(null)).isEmpty();
+    }
+}
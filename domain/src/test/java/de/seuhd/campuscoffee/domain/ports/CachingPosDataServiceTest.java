@@ -0,0 +1,212 @@
+package de.seuhd.campuscoffee.domain.ports;
+
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.VersionConflictException;
+import de.seuhd.campuscoffee.domain.impl.CachingPosDataService;
+import de.seuhd.campuscoffee.domain.impl.PosCacheProperties;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingPosDataServiceTest {
+
+    @Mock
+    private PosDataService posDataService;
+
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    private CachingPosDataService cachingPosDataService;
+
+    @BeforeEach
+    void setUp() {
+        PosCacheProperties properties = new PosCacheProperties(true, 100, Duration.ofMinutes(5));
+        cachingPosDataService = new CachingPosDataService(posDataService, properties, meterRegistry);
+    }
+
+    @Test
+    void getPosByIdIsServedFromCache() {
+        // given
+        Pos pos = TestFixtures.getPosList().getFirst();
+        Objects.requireNonNull(pos.id());
+        when(posDataService.getById(pos.id())).thenReturn(pos);
+
+        // when
+        cachingPosDataService.getById(pos.id());
+        Pos retrievedPos = cachingPosDataService.getById(pos.id());
+
+        // then
+        verify(posDataService, times(1)).getById(pos.id());
+        assertThat(retrievedPos)
+                .usingRecursiveComparison()
+                .isEqualTo(pos);
+    }
+
+    @Test
+    void getPosByNameNotFoundIsNotCached() {
+        // given
+        when(posDataService.getByName("Unknown")).thenThrow(new NotFoundException(Pos.class, "name", "Unknown"));
+
+        // when, then
+        assertThrows(NotFoundException.class, () -> cachingPosDataService.getByName("Unknown"));
+        assertThrows(NotFoundException.class, () -> cachingPosDataService.getByName("Unknown"));
+        verify(posDataService, times(2)).getByName("Unknown");
+    }
+
+    @Test
+    void upsertPosInvalidatesCachedEntries() {
+        // given
+        Pos pos = TestFixtures.getPosList().getFirst();
+        Objects.requireNonNull(pos.id());
+        Pos updatedPos = pos.toBuilder().name("Renamed").build();
+        when(posDataService.getById(pos.id())).thenReturn(pos, updatedPos);
+        when(posDataService.getByName(pos.name())).thenReturn(pos);
+        when(posDataService.upsert(updatedPos)).thenReturn(updatedPos);
+        cachingPosDataService.getById(pos.id());
+        cachingPosDataService.getByName(pos.name());
+
+        // when
+        cachingPosDataService.upsert(updatedPos);
+
+        // then
+        assertThat(cachingPosDataService.getById(pos.id()).name()).isEqualTo("Renamed");
+        cachingPosDataService.getByName(pos.name());
+        verify(posDataService, times(2)).getById(pos.id());
+        verify(posDataService, times(2)).getByName(pos.name());
+    }
+
+    @Test
+    void posLoadedDuringWriteIsNotCached() {
+        // given
+        Pos pos = TestFixtures.getPosList().getFirst();
+        Objects.requireNonNull(pos.id());
+        Pos updatedPos = pos.toBuilder().name("Renamed").build();
+        when(posDataService.upsert(updatedPos)).thenReturn(updatedPos);
+        when(posDataService.getById(pos.id()))
+                .thenAnswer(invocation -> {
+                    // the POS is updated after the load has read it, but before it is cached
+                    cachingPosDataService.upsert(updatedPos);
+                    return pos;
+                })
+                .thenReturn(updatedPos);
+
+        // when
+        cachingPosDataService.getById(pos.id());
+        Pos retrievedPos = cachingPosDataService.getById(pos.id());
+
+        // then
+        verify(posDataService, times(2)).getById(pos.id());
+        assertThat(retrievedPos.name()).isEqualTo("Renamed");
+    }
+
+    @Test
+    void renamedPosIsNotFoundByCachedName() {
+        // given
+        Pos pos = TestFixtures.getPosList().getFirst();
+        Objects.requireNonNull(pos.id());
+        Pos renamedPos = pos.toBuilder().name("Renamed").build();
+        when(posDataService.getByName(pos.name()))
+                .thenReturn(pos)
+                .thenThrow(new NotFoundException(Pos.class, "name", pos.name()));
+        when(posDataService.upsert(renamedPos)).thenReturn(renamedPos);
+        when(posDataService.getById(pos.id())).thenReturn(renamedPos);
+        cachingPosDataService.getByName(pos.name());
+
+        // when
+        cachingPosDataService.upsert(renamedPos);
+
+        // then
+        assertThrows(NotFoundException.class, () -> cachingPosDataService.getByName(pos.name()));
+        verify(posDataService, times(2)).getByName(pos.name());
+    }
+
+    @Test
+    void deletePosInvalidatesCachedEntries() {
+        // given
+        Pos pos = TestFixtures.getPosList().getFirst();
+        Objects.requireNonNull(pos.id());
+        when(posDataService.getById(pos.id()))
+                .thenReturn(pos)
+                .thenThrow(new NotFoundException(Pos.class, pos.id()));
+        cachingPosDataService.getById(pos.id());
+
+        // when
+        cachingPosDataService.delete(pos.id());
+
+        // then
+        verify(posDataService).delete(pos.id());
+        assertThrows(NotFoundException.class, () -> cachingPosDataService.getById(pos.id()));
+    }
+
+    @Test
+    void conflictingUpsertInvalidatesCachedEntry() {
+        // given
+        Pos pos = TestFixtures.getPosList().getFirst();
+        Objects.requireNonNull(pos.id());
+        Pos concurrentlyUpdatedPos = pos.toBuilder().description("Updated by another instance").build();
+        Pos outdatedPos = pos.toBuilder().description("Lost update").build();
+        when(posDataService.getById(pos.id())).thenReturn(pos, concurrentlyUpdatedPos);
+        when(posDataService.upsert(outdatedPos)).thenThrow(new VersionConflictException(Pos.class, pos.id(), pos.version()));
+        cachingPosDataService.getById(pos.id());
+
+        // when
+        assertThrows(VersionConflictException.class, () -> cachingPosDataService.upsert(outdatedPos));
+
+        // then
+        assertThat(cachingPosDataService.getById(pos.id())).isEqualTo(concurrentlyUpdatedPos);
+        verify(posDataService, times(2)).getById(pos.id());
+    }
+
+    @Test
+    void failedBatchUpsertInvalidatesCachedEntries() {
+        // given
+        Pos pos = TestFixtures.getPosList().getFirst();
+        Objects.requireNonNull(pos.id());
+        Pos deletedPos = TestFixtures.getPosList().get(1);
+        Objects.requireNonNull(deletedPos.id());
+        when(posDataService.getById(pos.id())).thenReturn(pos);
+        when(posDataService.upsertAll(List.of(pos, deletedPos))).thenThrow(new NotFoundException(Pos.class, deletedPos.id()));
+        cachingPosDataService.getById(pos.id());
+
+        // when
+        assertThrows(NotFoundException.class, () -> cachingPosDataService.upsertAll(List.of(pos, deletedPos)));
+
+        // then
+        cachingPosDataService.getById(pos.id());
+        verify(posDataService, times(2)).getById(pos.id());
+    }
+
+    @Test
+    void conflictingDeleteInvalidatesCachedEntry() {
+        // given
+        Pos pos = TestFixtures.getPosList().getFirst().toBuilder().version(1L).build();
+        Objects.requireNonNull(pos.id());
+        Objects.requireNonNull(pos.version());
+        when(posDataService.getById(pos.id())).thenReturn(pos);
+        doThrow(new VersionConflictException(Pos.class, pos.id(), pos.version()))
+                .when(posDataService).delete(pos.id(), pos.version());
+        cachingPosDataService.getById(pos.id());
+
+        // when
+        assertThrows(VersionConflictException.class, () -> cachingPosDataService.delete(pos.id(), pos.version()));
+
+        // then
+        cachingPosDataService.getById(pos.id());
+        verify(posDataService, times(2)).getById(pos.id());
+    }
+}
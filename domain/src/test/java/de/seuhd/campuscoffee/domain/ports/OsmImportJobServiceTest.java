@@ -0,0 +1,168 @@
+package de.seuhd.campuscoffee.domain.ports;
+
+import de.seuhd.campuscoffee.domain.exceptions.CapacityExceededException;
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.impl.OsmImportJobProperties;
+import de.seuhd.campuscoffee.domain.impl.OsmImportJobServiceImpl;
+import de.seuhd.campuscoffee.domain.impl.OsmImportProperties;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.OsmImportJob;
+import de.seuhd.campuscoffee.domain.model.OsmImportJobStatus;
+import de.seuhd.campuscoffee.domain.model.OsmImportResult;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OsmImportJobServiceTest {
+
+    @Mock
+    private PosService posService;
+
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OsmImportJobServiceImpl osmImportJobService;
+
+    @BeforeEach
+    void setUp() {
+        when(meterRegistryProvider.getIfAvailable(any())).thenReturn(meterRegistry);
+        // chunks of two nodes, a single worker, and room for one waiting job
+        osmImportJobService = new OsmImportJobServiceImpl(posService, new OsmImportProperties(1, 2, 2),
+                new OsmImportJobProperties(1, 1, Duration.ofHours(1)), meterRegistryProvider,
+                new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        osmImportJobService.destroy();
+    }
+
+    @Test
+    void importJobReportsResultsPerNode() throws InterruptedException {
+        // given
+        Pos pos = TestFixtures.getPosList().getFirst();
+        when(posService.importFromOsmNodes(List.of(1L, 2L), CampusType.ALTSTADT))
+                .thenReturn(List.of(OsmImportResult.success(1L, pos), OsmImportResult.failure(2L, "Not found")));
+        when(posService.importFromOsmNodes(List.of(3L), CampusType.ALTSTADT))
+                .thenReturn(List.of(OsmImportResult.success(3L, pos)));
+
+        // when
+        OsmImportJob submittedJob = osmImportJobService.submit(List.of(1L, 2L, 3L), CampusType.ALTSTADT);
+        OsmImportJob finishedJob = awaitFinished(submittedJob.id());
+
+        // then
+        assertThat(submittedJob.status()).isEqualTo(OsmImportJobStatus.QUEUED);
+        assertThat(finishedJob.status()).isEqualTo(OsmImportJobStatus.COMPLETED);
+        assertThat(finishedJob.processedCount()).isEqualTo(3);
+        assertThat(finishedJob.failedCount()).isEqualTo(1);
+        assertThat(finishedJob.results())
+                .extracting(OsmImportResult::nodeId)
+                .containsExactly(1L, 2L, 3L);
+        assertThat(meterRegistry.get("osm.import.jobs").tag("status", "COMPLETED").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void importJobFailsOnUnexpectedError() throws InterruptedException {
+        // given
+        when(posService.importFromOsmNodes(anyList(), any())).thenThrow(new IllegalStateException("Database down"));
+
+        // when
+        OsmImportJob job = awaitFinished(osmImportJobService.submit(List.of(1L), CampusType.INF).id());
+
+        // then
+        assertThat(job.status()).isEqualTo(OsmImportJobStatus.FAILED);
+        assertThat(job.error()).isEqualTo("Database down");
+        assertThat(job.results()).isNull();
+    }
+
+    @Test
+    void importJobsAreRejectedWhenQueueIsFull() throws InterruptedException {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        when(posService.importFromOsmNodes(anyList(), any())).thenAnswer(invocation -> {
+            release.await();
+            return List.of(OsmImportResult.failure(1L, "Not found"));
+        });
+        OsmImportJob runningJob = osmImportJobService.submit(List.of(1L), CampusType.INF);
+        awaitStatus(runningJob.id(), OsmImportJobStatus.RUNNING); // the worker took the job from the queue
+        OsmImportJob queuedJob = osmImportJobService.submit(List.of(1L), CampusType.INF);
+
+        // when, then
+        assertThrows(CapacityExceededException.class, () -> osmImportJobService.submit(List.of(1L), CampusType.INF));
+        assertThat(meterRegistry.get("osm.import.jobs.rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("osm.import.jobs.queued").gauge().value()).isEqualTo(1);
+        release.countDown();
+        assertThat(awaitFinished(runningJob.id()).status()).isEqualTo(OsmImportJobStatus.COMPLETED);
+        assertThat(awaitFinished(queuedJob.id()).status()).isEqualTo(OsmImportJobStatus.COMPLETED);
+    }
+
+    @Test
+    void importJobsWithTooManyNodesAreRejected() {
+        // given
+        List<Long> nodeIds = Collections.nCopies(PosService.MAX_BATCH_SIZE + 1, 1L);
+
+        // when, then
+        assertThrows(IllegalArgumentException.class, () -> osmImportJobService.submit(nodeIds, CampusType.INF));
+        verify(posService, never()).importFromOsmNodes(anyList(), any());
+    }
+
+    @Test
+    void getUnknownImportJob() {
+        // when, then
+        assertThrows(NotFoundException.class, () -> osmImportJobService.getById(UUID.randomUUID()));
+        assertThrows(IllegalArgumentException.class, () -> osmImportJobService.submit(List.of(), CampusType.INF));
+        verify(posService, never()).importFromOsmNodes(anyList(), any());
+    }
+
+    /**
+     * Polls a job until it has completed or failed.
+     */
+    private OsmImportJob awaitFinished(UUID id) throws InterruptedException {
+        OsmImportJob job = await(id, polledJob -> polledJob.finishedAt() != null);
+        assertThat(job.finishedAt()).isNotNull();
+        return job;
+    }
+
+    /**
+     * Polls a job until it has the given status.
+     */
+    private void awaitStatus(UUID id, OsmImportJobStatus status) throws InterruptedException {
+        assertThat(await(id, polledJob -> polledJob.status() == status).status()).isEqualTo(status);
+    }
+
+    private OsmImportJob await(UUID id, Predicate<OsmImportJob> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        OsmImportJob job = osmImportJobService.getById(id);
+        while (!condition.test(job) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = osmImportJobService.getById(id);
+        }
+        return job;
+    }
+}
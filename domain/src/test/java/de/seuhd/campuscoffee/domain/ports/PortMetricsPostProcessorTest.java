@@ -0,0 +1,104 @@
+package de.seuhd.campuscoffee.domain.ports;
+
+import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.impl.PortMetricsPostProcessor;
+import de.seuhd.campuscoffee.domain.impl.UserServiceImpl;
+import de.seuhd.campuscoffee.domain.model.User;
+import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class PortMetricsPostProcessorTest {
+
+    @Mock
+    private UserDataService userDataService;
+
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        // the registry is only resolved once a port is called
+        lenient().when(meterRegistryProvider.getIfAvailable(any())).thenReturn(meterRegistry);
+        PortMetricsPostProcessor postProcessor = new PortMetricsPostProcessor(meterRegistryProvider);
+        userService = (UserService) postProcessor.postProcessAfterInitialization(
+                new UserServiceImpl(userDataService), "userServiceImpl");
+    }
+
+    @Test
+    void portCallsAreTimedByOutcome() {
+        // given
+        User user = TestFixtures.getUserList().getFirst();
+        Objects.requireNonNull(user.id());
+        when(userDataService.getById(user.id()))
+                .thenReturn(user)
+                .thenThrow(new NotFoundException(User.class, user.id()));
+
+        // when
+        userService.getById(user.id());
+        assertThrows(NotFoundException.class, () -> userService.getById(user.id()));
+
+        // then
+        assertThat(getTimer("getById", "success").count()).isEqualTo(1);
+        assertThat(getTimer("getById", "not_found").count()).isEqualTo(1);
+    }
+
+    @Test
+    void failedPortCallsAreTaggedWithOutcome() {
+        // given
+        User user = TestFixtures.getUserList().getFirst();
+        when(userDataService.upsert(user)).thenThrow(new DuplicationException(User.class, "loginName",
+                user.loginName()));
+
+        // when
+        assertThrows(DuplicationException.class, () -> userService.upsert(user));
+        assertThrows(IllegalArgumentException.class, () -> userService.getByLoginNamePrefix(" ", 10));
+
+        // then
+        assertThat(getTimer("upsert", "duplicate").count()).isEqualTo(1);
+        assertThat(getTimer("getByLoginNamePrefix", "validation").count()).isEqualTo(1);
+    }
+
+    @Test
+    void beansWithoutPortsAreNotProxied() {
+        // given
+        PortMetricsPostProcessor postProcessor = new PortMetricsPostProcessor(meterRegistryProvider);
+        Object bean = new Object();
+
+        // when
+        Object processedBean = postProcessor.postProcessAfterInitialization(bean, "bean");
+
+        // then
+        assertThat(processedBean).isSameAs(bean);
+    }
+
+    private Timer getTimer(String method, String outcome) {
+        return meterRegistry.get("port.calls")
+                .tag("port", "UserService")
+                .tag("class", "UserServiceImpl")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .timer();
+    }
+}
@@ -1,21 +1,41 @@
 package de.seuhd.campuscoffee.domain.ports;
 
+import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
+import de.seuhd.campuscoffee.domain.exceptions.MissingFieldException;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.ServiceUnavailableException;
+import de.seuhd.campuscoffee.domain.exceptions.VersionConflictException;
+import de.seuhd.campuscoffee.domain.impl.OsmImportProperties;
+import de.seuhd.campuscoffee.domain.impl.PosIndexProperties;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.OsmAmenity;
+import de.seuhd.campuscoffee.domain.model.OsmImportResult;
+import de.seuhd.campuscoffee.domain.model.OsmNode;
+import de.seuhd.campuscoffee.domain.model.OsmSyncResult;
 import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosFilter;
+import de.seuhd.campuscoffee.domain.model.UpsertResult;
+import de.seuhd.campuscoffee.domain.model.UpsertStatus;
 import de.seuhd.campuscoffee.domain.tests.TestFixtures;
 import de.seuhd.campuscoffee.domain.impl.PosServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -25,9 +45,17 @@ public class PosServiceTest {
     @Mock
     private PosDataService posDataService;
 
-    @InjectMocks
+    @Mock
+    private OsmDataService osmDataService;
+
     private PosServiceImpl posService;
 
+    @BeforeEach
+    void setUp() {
+        posService = new PosServiceImpl(posDataService, osmDataService, new OsmImportProperties(2, 10, 2),
+                new PosIndexProperties(Duration.ZERO));
+    }
+
     @Test
     void getAllPosRetrievesExpectedPos() {
         // given
@@ -78,11 +106,12 @@ public class PosServiceTest {
         // given
         Pos pos = TestFixtures.getPosList().getFirst();
         Objects.requireNonNull(pos.id());
-        when(posDataService.getById(pos.id())).thenThrow(new NotFoundException(Pos.class, pos.id()));
+        when(posDataService.upsert(pos)).thenThrow(new NotFoundException(Pos.class, pos.id()));
 
         // when, then
         assertThrows(NotFoundException.class, () -> posService.upsert(pos));
-        verify(posDataService).getById(pos.id());
+        verify(posDataService).upsert(pos);
+        verify(posDataService, never()).getById(anyLong()); // the existence check is part of the update
     }
 
 
@@ -99,6 +128,21 @@ public class PosServiceTest {
         verify(posDataService).upsert(pos);
     }
 
+    @Test
+    void collectionVersionIsReadFromDataStore() {
+        // given
+        when(posDataService.getCollectionVersion()).thenReturn(7L, 8L);
+
+        // when
+        String version = posService.getCollectionVersion();
+        String versionAfterWrite = posService.getCollectionVersion();
+
+        // then
+        assertEquals("7", version);
+        assertEquals("8", versionAfterWrite); // also written by other instances, so it is not kept in memory
+        verify(posDataService, times(2)).getCollectionVersion();
+    }
+
     @Test
     void getPosByName() {
         // given
@@ -114,5 +158,475 @@ public class PosServiceTest {
                 .isEqualTo(pos);
         verify(posDataService).getByName(pos.name());
     }
-}
 
+    @Test
+    void getPosPage() {
+        // given
+        List<Pos> page = TestFixtures.getPosList().subList(0, 2);
+        when(posDataService.getPage(1L, 2)).thenReturn(page);
+
+        // when
+        List<Pos> retrievedPage = posService.getPage(1L, 2);
+
+        // then
+        verify(posDataService).getPage(1L, 2);
+        assertThat(retrievedPage)
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(page);
+    }
+
+    @Test
+    void getFilteredPos() {
+        // given
+        PosFilter filter = PosFilter.builder().campus(CampusType.INF).build();
+        List<Pos> filteredPos = TestFixtures.getPosList().stream()
+                .filter(pos -> pos.campus() == CampusType.INF)
+                .toList();
+        when(posDataService.getFiltered(filter, null, null)).thenReturn(filteredPos);
+
+        // when
+        List<Pos> retrievedPos = posService.getFiltered(filter, null, null);
+
+        // then
+        verify(posDataService).getFiltered(filter, null, null);
+        assertThat(retrievedPos).isEqualTo(filteredPos);
+        assertThrows(IllegalArgumentException.class,
+                () -> posService.getFiltered(filter, null, PosService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void getNearbyPosUsesSpatialIndex() {
+        // given
+        List<Pos> posList = TestFixtures.getPosList().stream()
+                .map(pos -> pos.toBuilder().id(pos.name().hashCode() & 0xFFFFL).build()) // fixtures share an ID
+                .toList();
+        Pos schmelzpunkt = posList.get(0);
+        Pos baecker = posList.get(1);
+        Pos botanik = posList.get(2);
+        when(posDataService.getAll()).thenReturn(posList);
+
+        // when
+        List<Pos> nearBotanik = posService.getNearby(49.4160, 8.6710, 1000, 10);
+        List<Pos> nearOldTown = posService.getNearby(49.4100, 8.7000, 500, 10);
+
+        // then
+        assertThat(nearBotanik).containsExactly(botanik, baecker); // ordered by distance, other POS out of range
+        assertThat(nearOldTown).containsExactly(schmelzpunkt);
+        verify(posDataService, times(1)).getAll(); // loaded once, then served from memory
+        assertThrows(IllegalArgumentException.class, () -> posService.getNearby(91, 0, 1000, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> posService.getNearby(0, 0, PosService.MAX_NEARBY_RADIUS + 1, 10));
+    }
+
+    @Test
+    void getNearbyPosReflectsWrites() {
+        // given
+        Pos pos = TestFixtures.getPosList().getFirst();
+        Objects.requireNonNull(pos.id());
+        Pos movedPos = pos.toBuilder().latitude(49.4166).longitude(8.6706).build();
+        when(posDataService.getAll()).thenReturn(List.of(pos));
+        when(posDataService.upsert(movedPos)).thenReturn(movedPos);
+        assertThat(posService.getNearby(pos.latitude(), pos.longitude(), 100, 10)).containsExactly(pos);
+
+        // when
+        posService.upsert(movedPos);
+
+        // then
+        assertThat(posService.getNearby(pos.latitude(), pos.longitude(), 100, 10)).isEmpty();
+        assertThat(posService.getNearby(49.4166, 8.6706, 100, 10)).containsExactly(movedPos);
+        posService.delete(pos.id());
+        assertThat(posService.getNearby(49.4166, 8.6706, 100, 10)).isEmpty();
+    }
+
+    @Test
+    void getNearbyPosReflectsWritesOfOtherInstances() {
+        // given
+        Pos pos = TestFixtures.getPosList().getFirst();
+        Pos movedPos = pos.toBuilder().latitude(49.4166).longitude(8.6706).build();
+        when(posDataService.getCollectionVersion()).thenReturn(1L, 1L, 2L);
+        when(posDataService.getAll()).thenReturn(List.of(pos), List.of(movedPos));
+        assertThat(posService.getNearby(pos.latitude(), pos.longitude(), 100, 10)).containsExactly(pos);
+
+        // when
+        List<Pos> unchangedPos = posService.getNearby(pos.latitude(), pos.longitude(), 100, 10);
+        List<Pos> reloadedPos = posService.getNearby(49.4166, 8.6706, 100, 10);
+
+        // then
+        assertThat(unchangedPos).containsExactly(pos);
+        assertThat(reloadedPos).containsExactly(movedPos);
+        verify(posDataService, times(2)).getAll(); // reloaded once the collection version has changed
+    }
+
+    @Test
+    void getNearbyPosDoesNotRestoreDeletedPos() {
+        // given
+        Pos pos = TestFixtures.getPosList().getFirst();
+        Objects.requireNonNull(pos.id());
+        when(posDataService.getCollectionVersion()).thenReturn(1L, 1L, 2L);
+        when(posDataService.getAll()).thenReturn(List.of(pos)); // also read by the reload before the deletion
+        when(posDataService.upsert(pos)).thenReturn(pos);
+        assertThat(posService.getNearby(pos.latitude(), pos.longitude(), 100, 10)).containsExactly(pos);
+
+        // when
+        posService.delete(pos.id());
+        posService.upsert(pos); // a concurrent update that finishes after the deletion
+
+        // then
+        assertThat(posService.getNearby(pos.latitude(), pos.longitude(), 100, 10)).isEmpty();
+        assertThat(posService.getNearby(pos.latitude(), pos.longitude(), 100, 10)).isEmpty();
+        verify(posDataService, times(2)).getAll();
+    }
+
+    @Test
+    void searchPosToleratesTyposAndUmlauts() {
+        // given
+        List<Pos> posList = TestFixtures.getPosList().stream()
+                .map(pos -> pos.toBuilder().id(pos.name().hashCode() & 0xFFFFL).build()) // fixtures share an ID
+                .toList();
+        Pos baecker = posList.get(1);
+        when(posDataService.getAll()).thenReturn(posList);
+
+        // when, then
+        assertThat(posService.search("Bäcker Görtz", 10)).first().isEqualTo(baecker);
+        assertThat(posService.search("backer gortz", 10)).first().isEqualTo(baecker);
+        assertThat(posService.search("BAECKER", 10)).first().isEqualTo(baecker);
+        assertThat(posService.search("waffels", 10)).containsExactly(posList.getFirst()); // typo in description
+        assertThat(posService.search("xyz", 10)).isEmpty();
+        assertThrows(IllegalArgumentException.class, () -> posService.search(" ", 10));
+        verify(posDataService, times(1)).getAll();
+    }
+
+    @Test
+    void searchPosReflectsWrites() {
+        // given
+        Pos pos = TestFixtures.getPosList().getFirst();
+        Objects.requireNonNull(pos.id());
+        Pos renamedPos = pos.toBuilder().name("Kaffeehaus").build();
+        when(posDataService.getAll()).thenReturn(List.of(pos));
+        when(posDataService.upsert(renamedPos)).thenReturn(renamedPos);
+        assertThat(posService.search("Schmelzpunkt", 10)).containsExactly(pos);
+
+        // when
+        posService.upsert(renamedPos);
+
+        // then
+        assertThat(posService.search("Schmelzpunkt", 10)).isEmpty();
+        assertThat(posService.search("Kaffeehaus", 10)).containsExactly(renamedPos);
+        posService.delete(pos.id());
+        assertThat(posService.search("Kaffeehaus", 10)).isEmpty();
+    }
+
+    @Test
+    void searchPosReflectsPosWrittenThroughDataService() {
+        // given
+        Pos pos = TestFixtures.getPosList().getFirst();
+        Pos writtenPos = TestFixtures.getPosList().get(1).toBuilder().name("Kaffeehaus").build();
+        when(posDataService.getCollectionVersion()).thenReturn(1L, 2L);
+        when(posDataService.getAll()).thenReturn(List.of(pos), List.of(pos, writtenPos));
+        assertThat(posService.search("Kaffeehaus", 10)).isEmpty();
+
+        // when, e.g., by another application instance
+        List<Pos> foundPos = posService.search("Kaffeehaus", 10);
+
+        // then
+        assertThat(foundPos).containsExactly(writtenPos);
+    }
+
+    @Test
+    void searchPosDoesNotRestoreDeletedPos() {
+        // given
+        Pos pos = TestFixtures.getPosList().getFirst();
+        Objects.requireNonNull(pos.id());
+        Pos outdatedPos = pos.toBuilder().version(1L).build();
+        when(posDataService.getAll()).thenReturn(List.of(pos.toBuilder().version(2L).build()));
+        when(posDataService.upsert(outdatedPos)).thenReturn(outdatedPos);
+        assertThat(posService.search("Schmelzpunkt", 10)).hasSize(1);
+
+        // when
+        posService.delete(pos.id());
+        posService.upsert(outdatedPos); // a concurrent update that finishes after the deletion
+
+        // then
+        assertThat(posService.search("Schmelzpunkt", 10)).isEmpty();
+    }
+
+    @Test
+    void getPosPageWithInvalidLimit() {
+        // when, then
+        assertThrows(IllegalArgumentException.class, () -> posService.getPage(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> posService.getPage(null, PosService.MAX_PAGE_SIZE + 1));
+        verify(posDataService, never()).getPage(any(), anyInt());
+    }
+
+    @Test
+    void upsertAllPosReportsStatusPerPos() {
+        // given
+        Pos existingPos = TestFixtures.getPosList().getFirst();
+        Pos newPos = TestFixtures.getPosFixturesForInsertion().get(1);
+        when(posDataService.upsertAll(List.of(existingPos, newPos))).thenReturn(List.of(existingPos, newPos));
+
+        // when
+        List<UpsertResult<Pos>> results = posService.upsertAll(List.of(existingPos, newPos));
+
+        // then
+        verify(posDataService).upsertAll(anyList());
+        verify(posDataService, never()).upsert(any(Pos.class));
+        assertThat(results).extracting(UpsertResult::status).containsExactly(UpsertStatus.UPDATED, UpsertStatus.CREATED);
+    }
+
+    @Test
+    void upsertAllPosFallsBackToSingleUpsertsForFailedBatch() {
+        // given
+        Pos existingPos = TestFixtures.getPosList().getFirst();
+        Objects.requireNonNull(existingPos.id());
+        Pos duplicatePos = TestFixtures.getPosFixturesForInsertion().get(1);
+        Pos newPos = duplicatePos.toBuilder().name("New Café").build();
+        when(posDataService.upsertAll(anyList())).thenThrow(new DuplicationException(Pos.class, "name", duplicatePos.name()));
+        when(posDataService.upsert(existingPos)).thenThrow(new NotFoundException(Pos.class, existingPos.id()));
+        when(posDataService.upsert(duplicatePos)).thenThrow(new DuplicationException(Pos.class, "name", duplicatePos.name()));
+        when(posDataService.upsert(newPos)).thenReturn(newPos);
+
+        // when
+        List<UpsertResult<Pos>> results = posService.upsertAll(List.of(existingPos, duplicatePos, newPos));
+
+        // then
+        assertThat(results).extracting(UpsertResult::status)
+                .containsExactly(UpsertStatus.NOT_FOUND, UpsertStatus.DUPLICATE, UpsertStatus.CREATED);
+        assertThat(results.get(1).error()).contains(duplicatePos.name());
+    }
+
+    @Test
+    void upsertAllPosReportsUnexpectedFailuresPerPos() {
+        // given
+        Pos existingPos = TestFixtures.getPosList().getFirst();
+        Pos newPos = TestFixtures.getPosFixturesForInsertion().get(1);
+        when(posDataService.upsertAll(anyList())).thenThrow(new IllegalStateException("lock timeout"));
+        when(posDataService.upsert(existingPos)).thenReturn(existingPos);
+        when(posDataService.upsert(newPos)).thenThrow(new IllegalStateException("lock timeout"));
+
+        // when
+        List<UpsertResult<Pos>> results = posService.upsertAll(List.of(existingPos, newPos));
+
+        // then
+        assertThat(results).extracting(UpsertResult::status).containsExactly(UpsertStatus.UPDATED, UpsertStatus.FAILED);
+        assertThat(results.get(1).error()).doesNotContain("lock timeout"); // internal details are only logged
+    }
+
+    @Test
+    void upsertAllPosRejectsTooLargeBatch() {
+        // given
+        List<Pos> posList = Collections.nCopies(PosService.MAX_BATCH_SIZE + 1,
+                TestFixtures.getPosFixturesForInsertion().getFirst());
+
+        // when, then
+        assertThrows(IllegalArgumentException.class, () -> posService.upsertAll(posList));
+        verify(posDataService, never()).upsertAll(anyList());
+    }
+
+    @Test
+    void importFromOsmNodesReportsFailuresPerNode() {
+        // given
+        when(osmDataService.fetchNode(1L)).thenReturn(getOsmNode(1L, "Café One"));
+        when(osmDataService.fetchNode(2L)).thenThrow(new MissingFieldException(OsmNode.class, 2L, "name"));
+        when(osmDataService.fetchNode(3L)).thenReturn(getOsmNode(3L, "Café Three"));
+        when(posDataService.upsertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        List<OsmImportResult> results = posService.importFromOsmNodes(List.of(1L, 2L, 3L), CampusType.ALTSTADT);
+
+        // then
+        verify(posDataService).upsertAll(anyList());
+        assertThat(results).extracting(OsmImportResult::nodeId).containsExactly(1L, 2L, 3L);
+        assertThat(results).extracting(OsmImportResult::succeeded).containsExactly(true, false, true);
+        assertThat(results.get(1).error()).contains("name");
+        assertThat(results.get(2).pos()).isNotNull();
+        assertEquals("Café Three", results.get(2).pos().name());
+    }
+
+    @Test
+    void importFromOsmNodesFallsBackToSingleUpsertsForFailedBatch() {
+        // given
+        when(osmDataService.fetchNode(anyLong())).thenAnswer(invocation ->
+                getOsmNode(invocation.getArgument(0), "Café " + invocation.getArgument(0)));
+        when(posDataService.upsertAll(anyList())).thenThrow(new DuplicationException(Pos.class, "name", "Café 1"));
+        when(posDataService.upsert(any(Pos.class))).thenAnswer(invocation -> {
+            Pos pos = invocation.getArgument(0);
+            if (pos.name().equals("Café 1")) {
+                throw new DuplicationException(Pos.class, "name", pos.name());
+            }
+            return pos;
+        });
+
+        // when
+        List<OsmImportResult> results = posService.importFromOsmNodes(List.of(1L, 2L), CampusType.INF);
+
+        // then
+        verify(posDataService, times(2)).upsert(any(Pos.class));
+        assertThat(results).extracting(OsmImportResult::succeeded).containsExactly(false, true);
+    }
+
+    @Test
+    void importFromOsmNodesReportsUnexpectedPersistenceFailuresPerNode() {
+        // given
+        when(osmDataService.fetchNode(anyLong())).thenAnswer(invocation ->
+                getOsmNode(invocation.getArgument(0), "Café " + invocation.getArgument(0)));
+        when(posDataService.upsertAll(anyList())).thenThrow(new IllegalStateException("Constraint violated"));
+        when(posDataService.upsert(any(Pos.class))).thenAnswer(invocation -> {
+            Pos pos = invocation.getArgument(0);
+            if (pos.name().equals("Café 2")) {
+                throw new IllegalStateException("Constraint violated");
+            }
+            return pos;
+        });
+
+        // when
+        List<OsmImportResult> results = posService.importFromOsmNodes(List.of(1L, 2L), CampusType.INF);
+
+        // then
+        assertThat(results).extracting(OsmImportResult::succeeded).containsExactly(true, false);
+        assertThat(results.get(1).error()).isEqualTo("Constraint violated");
+    }
+
+    @Test
+    void importFromOsmNodesRejectsTooManyNodes() {
+        // given
+        List<Long> nodeIds = Collections.nCopies(PosService.MAX_BATCH_SIZE + 1, 1L);
+
+        // when, then
+        assertThrows(IllegalArgumentException.class, () -> posService.importFromOsmNodes(nodeIds, CampusType.INF));
+        verifyNoInteractions(osmDataService);
+    }
+
+    @Test
+    void importFromOsmNodesFetchesSeveralNodesPerRequest() {
+        // given
+        when(osmDataService.fetchNodes(List.of(1L, 2L, 3L))).thenReturn(Map.of(
+                1L, getOsmNode(1L, "Café One"),
+                3L, getOsmNode(3L, "Café Three")
+        ));
+        when(osmDataService.fetchNode(2L)).thenThrow(new NotFoundException(OsmNode.class, 2L));
+        when(posDataService.upsertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        List<OsmImportResult> results = posService.importFromOsmNodes(List.of(1L, 2L, 3L), CampusType.ALTSTADT);
+
+        // then
+        verify(osmDataService).fetchNodes(List.of(1L, 2L, 3L));
+        verify(osmDataService).fetchNode(2L); // only the node missing from the response is fetched on its own
+        verifyNoMoreInteractions(osmDataService);
+        assertThat(results).extracting(OsmImportResult::succeeded).containsExactly(true, false, true);
+    }
+
+    @Test
+    void syncWithOsmReimportsOnlyPosOfEditedNodes() {
+        // given
+        List<Pos> posList = TestFixtures.getPosList();
+        Pos unchangedPos = posList.get(0).toBuilder().id(1L).osmNodeId(11L).osmVersion(1L).build();
+        Pos editedPos = posList.get(1).toBuilder().id(2L).osmNodeId(12L).osmVersion(1L).build();
+        Pos missingPos = posList.get(2).toBuilder().id(3L).osmNodeId(13L).osmVersion(1L).build();
+        when(posDataService.getOsmImportedPage(null, 20)).thenReturn(List.of(unchangedPos, editedPos, missingPos));
+        when(osmDataService.fetchCurrentNodes(List.of(11L, 12L, 13L))).thenReturn(Map.of(
+                11L, getOsmNode(11L, "Café Eleven", 1L),
+                12L, getOsmNode(12L, "Café Twelve", 2L)
+        ));
+        when(posDataService.upsertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        OsmSyncResult result = posService.syncWithOsm();
+
+        // then
+        assertEquals(new OsmSyncResult(3, 1, 1, 1), result);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Pos>> upsertedPosList = ArgumentCaptor.forClass(List.class);
+        verify(posDataService).upsertAll(upsertedPosList.capture());
+        assertThat(upsertedPosList.getValue()).singleElement().satisfies(pos -> {
+            assertEquals(2L, pos.id());
+            assertEquals("Café Twelve", pos.name());
+            assertEquals(editedPos.campus(), pos.campus());
+            assertEquals(12L, pos.osmNodeId());
+            assertEquals(2L, pos.osmVersion());
+            assertEquals(editedPos.version(), pos.version());
+        });
+    }
+
+    @Test
+    void syncWithOsmDoesNotOverwriteConcurrentlyEditedPos() {
+        // given
+        Pos editedPos = TestFixtures.getPosList().getFirst().toBuilder().id(1L).version(3L).osmNodeId(11L).osmVersion(1L)
+                .build();
+        when(posDataService.getOsmImportedPage(null, 20)).thenReturn(List.of(editedPos));
+        when(osmDataService.fetchCurrentNodes(List.of(11L))).thenReturn(Map.of(11L, getOsmNode(11L, "Café Eleven", 2L)));
+        when(posDataService.upsertAll(anyList())).thenThrow(new VersionConflictException(Pos.class, 1L, 3L));
+        when(posDataService.upsert(any(Pos.class))).thenThrow(new VersionConflictException(Pos.class, 1L, 3L));
+
+        // when
+        OsmSyncResult result = posService.syncWithOsm();
+
+        // then
+        assertEquals(new OsmSyncResult(1, 0, 0, 1), result);
+        verify(posDataService).upsert(argThat(pos -> Long.valueOf(3L).equals(pos.version())));
+    }
+
+    @Test
+    void syncWithOsmCountsMissingNodesAsFailed() {
+        // given
+        List<Pos> posList = TestFixtures.getPosList();
+        Pos existingPos = posList.get(0).toBuilder().id(1L).osmNodeId(11L).osmVersion(1L).build();
+        Pos deletedPos = posList.get(1).toBuilder().id(2L).osmNodeId(12L).osmVersion(1L).build();
+        when(posDataService.getOsmImportedPage(null, 20)).thenReturn(List.of(existingPos, deletedPos));
+        when(osmDataService.fetchCurrentNodes(List.of(11L, 12L))).thenReturn(Map.of(11L, getOsmNode(11L, "Café Eleven", 1L)));
+
+        // when
+        OsmSyncResult result = posService.syncWithOsm();
+
+        // then
+        assertEquals(new OsmSyncResult(2, 1, 0, 1), result);
+        verify(posDataService, never()).upsertAll(anyList());
+    }
+
+    @Test
+    void syncWithOsmCountsNodesOfFailedRequestsAsFailed() {
+        // given
+        List<Pos> posList = TestFixtures.getPosList();
+        Pos firstPos = posList.get(0).toBuilder().id(1L).osmNodeId(11L).osmVersion(1L).build();
+        Pos secondPos = posList.get(1).toBuilder().id(2L).osmNodeId(12L).osmVersion(1L).build();
+        when(posDataService.getOsmImportedPage(null, 20)).thenReturn(List.of(firstPos, secondPos));
+        when(osmDataService.fetchCurrentNodes(List.of(11L, 12L)))
+                .thenThrow(new ServiceUnavailableException("The OpenStreetMap API failed the request with status 400."));
+
+        // when
+        OsmSyncResult result = posService.syncWithOsm();
+
+        // then
+        assertEquals(new OsmSyncResult(2, 0, 0, 2), result);
+        verify(osmDataService).fetchCurrentNodes(List.of(11L, 12L)); // the request is not split
+        verifyNoMoreInteractions(osmDataService);
+    }
+
+    private static OsmNode getOsmNode(Long nodeId, String name, Long version) {
+        return OsmNode.builder()
+                .nodeId(nodeId)
+                .name(name)
+                .description("n/a")
+                .amenity(OsmAmenity.CAFE)
+                .street("Hauptstraße")
+                .houseNumber("1")
+                .postcode("69117")
+                .city("Heidelberg")
+                .version(version)
+                .build();
+    }
+
+    private static OsmNode getOsmNode(Long nodeId, String name) {
+        return OsmNode.builder()
+                .nodeId(nodeId)
+                .name(name)
+                .description("n/a")
+                .amenity(OsmAmenity.CAFE)
+                .street("Hauptstraße")
+                .houseNumber("1")
+                .postcode("69117")
+                .city("Heidelberg")
+                .build();
+    }
+}